@@ -15,6 +15,13 @@ android {
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
 
+        // Export Room schemas so each version can be migrated and verified
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
+
         // Load .env file
         val envFile = rootProject.file(".env")
         if (envFile.exists()) {
@@ -46,10 +53,18 @@ android {
             )
         }
     }
+    sourceSets {
+        // MigrationTestHelper reads the exported schemas as test assets
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        // android.util.Log calls in code under JVM unit tests are no-ops
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -59,6 +74,9 @@ dependencies {
     implementation(libs.activity)
     implementation(libs.constraintlayout)
     implementation(libs.room.runtime)
+    implementation(libs.lifecycle.livedata)
+    implementation(libs.lifecycle.viewmodel)
+    implementation(libs.work.runtime)
     annotationProcessor(libs.room.compiler)
 
     // ML Kit Text Recognition for OCR
@@ -73,8 +91,13 @@ dependencies {
     implementation("com.google.code.gson:gson:2.10.1")
 
     testImplementation(libs.junit)
+    // EXPLAIN QUERY PLAN checks against the exported Room schema
+    testImplementation("org.xerial:sqlite-jdbc:3.45.1.0")
+    // Local HTTP server for the HttpClients tests (same OkHttp version Retrofit brings in)
+    testImplementation("com.squareup.okhttp3:mockwebserver:3.14.9")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.room.testing)
     implementation("com.github.PhilJay:MPAndroidChart:v3.1.0")
     implementation("io.github.cdimascio:dotenv-java:3.0.0")
     implementation("com.airbnb.android:lottie:6.3.0")
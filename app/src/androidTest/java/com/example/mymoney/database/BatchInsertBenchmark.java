@@ -0,0 +1,74 @@
+package com.example.mymoney.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mymoney.database.dao.TransactionDao;
+import com.example.mymoney.database.entity.Transaction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * One commit per row ({@link TransactionDao#insert}) vs one transaction per batch
+ * ({@link TransactionDao#insertAll}) for 10, 1k and 50k rows on a file-backed database, with the
+ * wallet balance and rollup triggers in place. Timings go to logcat, tag BatchInsertBenchmark.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class BatchInsertBenchmark {
+
+    private static final String TAG = "BatchInsertBenchmark";
+    private static final String DB_NAME = "batch-insert-benchmark";
+    private static final int[] SIZES = {10, 1_000, 50_000};
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Test
+    public void insertAll_isFasterThanRowByRow_andKeepsBalances() {
+        StringBuilder report = new StringBuilder("Insert (row by row vs batch):");
+        for (int size : SIZES) {
+            List<Transaction> transactions = BenchmarkDatabase.transactions(size, size);
+            double[] balances = BenchmarkDatabase.expectedBalances(transactions);
+
+            long rowByRowMs = timeInsert(transactions, balances, false);
+            long batchMs = timeInsert(transactions, balances, true);
+            report.append("\n  ").append(size).append(" rows: ")
+                    .append(rowByRowMs).append(" ms vs ").append(batchMs).append(" ms");
+        }
+        Log.i(TAG, report.toString());
+    }
+
+    private long timeInsert(List<Transaction> transactions, double[] balances, boolean batch) {
+        AppDatabase db = BenchmarkDatabase.create(context, DB_NAME);
+        try {
+            TransactionDao dao = db.transactionDao();
+            long start = SystemClock.elapsedRealtime();
+            if (batch) {
+                dao.insertAll(transactions);
+            } else {
+                for (Transaction transaction : transactions) dao.insert(transaction);
+            }
+            long elapsedMs = SystemClock.elapsedRealtime() - start;
+
+            assertEquals(transactions.size(), BenchmarkDatabase.countTransactions(db));
+            for (int wallet = 1; wallet <= BenchmarkDatabase.WALLETS; wallet++) {
+                assertEquals("balance of wallet " + wallet, balances[wallet],
+                        db.walletDao().getWalletById(wallet).getBalance(), 0.005);
+            }
+            assertEquals("rollup drift", 0, TransactionRollups.verify(db));
+            return elapsedMs;
+        } finally {
+            BenchmarkDatabase.delete(context, db, DB_NAME);
+        }
+    }
+}
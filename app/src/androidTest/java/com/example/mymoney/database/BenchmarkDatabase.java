@@ -0,0 +1,115 @@
+package com.example.mymoney.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+
+import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.database.entity.User;
+import com.example.mymoney.database.entity.Wallet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * File-backed AppDatabase for the instrumented benchmarks: the app's triggers,
+ * one user, {@link #WALLETS} wallets and the default expense/income categories (ids
+ * 1..{@link #EXPENSE_CATEGORIES}, then the income ones).
+ */
+final class BenchmarkDatabase {
+
+    static final int USER_ID = 1;
+    static final int WALLETS = 2;
+    static final int EXPENSE_CATEGORIES = 14;
+    static final int INCOME_CATEGORIES = 4;
+
+    private static final long TWO_YEARS_MS = 2L * 365 * 24 * 60 * 60 * 1000;
+
+    private BenchmarkDatabase() {
+    }
+
+    static AppDatabase create(Context context, String name) {
+        context.deleteDatabase(name);
+        AppDatabase db = Room.databaseBuilder(context, AppDatabase.class, name)
+                .addCallback(AppDatabase.TRIGGERS)
+                .build();
+        seed(db);
+        return db;
+    }
+
+    /** The user, wallets and categories every benchmark expects. */
+    static void seed(AppDatabase db) {
+        db.runInTransaction(() -> {
+            User user = new User();
+            user.setUsername("benchmark_user");
+            db.userDao().insert(user);
+
+            for (int i = 1; i <= WALLETS; i++) {
+                Wallet wallet = new Wallet();
+                wallet.setName("Wallet " + i);
+                wallet.setType("cash");
+                wallet.setCurrency("VND");
+                wallet.setUserId(USER_ID);
+                wallet.setActive(true);
+                db.walletDao().insert(wallet);
+            }
+            for (int i = 1; i <= EXPENSE_CATEGORIES + INCOME_CATEGORIES; i++) {
+                Category category = new Category();
+                category.setName(i == EXPENSE_CATEGORIES || i == EXPENSE_CATEGORIES + INCOME_CATEGORIES
+                        ? "Others" : "Category " + i);
+                category.setType(i <= EXPENSE_CATEGORIES ? "expense" : "income");
+                category.setIcon("ic_more_apps");
+                db.categoryDao().insert(category);
+            }
+        });
+    }
+
+    static void delete(Context context, AppDatabase db, String name) {
+        db.close();
+        context.deleteDatabase(name);
+    }
+
+    /**
+     * Random transactions over the last two years, 1 in 10 income; deterministic for a seed.
+     */
+    static List<Transaction> transactions(int count, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean income = random.nextInt(10) == 0;
+            Transaction transaction = new Transaction();
+            transaction.setWalletId(1 + i % WALLETS);
+            transaction.setUserId(USER_ID);
+            transaction.setCategoryId(income
+                    ? EXPENSE_CATEGORIES + 1 + random.nextInt(INCOME_CATEGORIES)
+                    : 1 + random.nextInt(EXPENSE_CATEGORIES));
+            transaction.setType(income ? "income" : "expense");
+            transaction.setAmount(1_000 * (1 + random.nextInt(500)));
+            transaction.setDescription("Benchmark " + i);
+            transaction.setCreatedAt(now - (long) (random.nextDouble() * TWO_YEARS_MS));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    static long countTransactions(AppDatabase db) {
+        try (Cursor cursor = db.query("SELECT COUNT(*) FROM `transaction`", null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    /** Sum of signed amounts per wallet id (index 0 unused). */
+    static double[] expectedBalances(List<Transaction> transactions) {
+        double[] balances = new double[WALLETS + 1];
+        for (Transaction transaction : transactions) {
+            double amount = transaction.getAmount();
+            balances[transaction.getWalletId()] += "income".equals(transaction.getType()) ? amount : -amount;
+        }
+        return balances;
+    }
+}
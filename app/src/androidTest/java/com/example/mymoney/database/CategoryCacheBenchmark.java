@@ -0,0 +1,153 @@
+package com.example.mymoney.database;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mymoney.R;
+import com.example.mymoney.adapter.TransactionAdapter;
+import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.model.CategoryTypeTotal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Binding a 10k-row transaction list: category lookup per row from the database (the old bind
+ * path) vs {@link CategoryCache}, and the per-row cost of {@link TransactionAdapter} binds on the
+ * main thread (p50 / p95 / max against the 16 ms frame budget), plus name lookups that match
+ * several categories. Results go to logcat, tag CategoryCacheBenchmark.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class CategoryCacheBenchmark {
+
+    private static final String TAG = "CategoryCacheBenchmark";
+    private static final String DB_NAME = "category-cache-benchmark";
+    private static final int ROWS = 10_000;
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+    private final Context context = instrumentation.getTargetContext();
+    private AppDatabase db;
+    private List<Transaction> transactions;
+
+    @Before
+    public void setUp() {
+        db = BenchmarkDatabase.create(context, DB_NAME);
+        db.transactionDao().insertAll(BenchmarkDatabase.transactions(ROWS, 6));
+        transactions = db.transactionDao().getTransactionsByUserId(BenchmarkDatabase.USER_ID);
+    }
+
+    @After
+    public void tearDown() {
+        BenchmarkDatabase.delete(context, db, DB_NAME);
+    }
+
+    @Test
+    public void lookup_cacheVsQueryPerRow() {
+        long start = System.nanoTime();
+        String[] queried = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            queried[i] = db.categoryDao().getCategoryById(transactions.get(i).getCategoryId()).getName();
+        }
+        long queryUs = (System.nanoTime() - start) / 1000;
+
+        CategoryCache cache = CategoryCache.getInstance(db);
+        start = System.nanoTime();
+        cache.ensureLoaded();
+        String[] cached = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            Category category = cache.get(transactions.get(i).getCategoryId());
+            cached[i] = category != null ? category.getName() : null;
+        }
+        long cacheUs = (System.nanoTime() - start) / 1000;
+
+        assertTrue(Arrays.equals(queried, cached));
+        Log.i(TAG, "Category of " + ROWS + " rows: query per row " + queryUs / 1000.0
+                + " ms, cache (incl. load) " + cacheUs / 1000.0 + " ms");
+    }
+
+    @Test
+    public void getAllByName_everyCategoryWithTheName() {
+        CategoryCache cache = CategoryCache.getInstance(db);
+        cache.ensureLoaded();
+        // "Others" is both the last expense and the last income category
+        List<Integer> ids = new ArrayList<>();
+        for (Category category : cache.getAllByName("others")) ids.add(category.getId());
+        Collections.sort(ids);
+        assertEquals(Arrays.asList(BenchmarkDatabase.EXPENSE_CATEGORIES,
+                BenchmarkDatabase.EXPENSE_CATEGORIES + BenchmarkDatabase.INCOME_CATEGORIES), ids);
+        assertTrue(cache.getAllByName("no such category").isEmpty());
+
+        // The chatbot's grouped totals over both IDs cover the rows of both categories
+        double expected = 0;
+        for (Transaction t : transactions) {
+            if (ids.contains(t.getCategoryId())) expected += t.getAmount();
+        }
+        double total = 0;
+        for (int wallet = 1; wallet <= BenchmarkDatabase.WALLETS; wallet++) {
+            for (CategoryTypeTotal row : db.transactionDao()
+                    .getCategoryTotalsByWalletAndDateRange(wallet, 0, Long.MAX_VALUE, ids)) {
+                total += row.total;
+            }
+        }
+        assertEquals(expected, total, 0.005);
+    }
+
+    @Test
+    public void bind_tenThousandRows() throws InterruptedException {
+        CategoryCache.getInstance(db).ensureLoaded();
+        TransactionAdapter adapter = new TransactionAdapter(db, null);
+        // Through RecyclerView.Adapter: the view holder type is private to the adapter package
+        @SuppressWarnings("unchecked")
+        RecyclerView.Adapter<RecyclerView.ViewHolder> rows =
+                (RecyclerView.Adapter<RecyclerView.ViewHolder>) (RecyclerView.Adapter<?>) adapter;
+        CountDownLatch submitted = new CountDownLatch(1);
+        instrumentation.runOnMainSync(() -> adapter.submitList(transactions, submitted::countDown));
+        assertTrue(submitted.await(10, TimeUnit.SECONDS));
+
+        long[] bindNs = new long[ROWS];
+        String[] shown = new String[ROWS];
+        instrumentation.runOnMainSync(() -> {
+            FrameLayout parent = new FrameLayout(new ContextThemeWrapper(context, R.style.Theme_MyMoney));
+            RecyclerView.ViewHolder holder = rows.createViewHolder(parent, 0);
+            TextView categoryView = holder.itemView.findViewById(R.id.transaction_category);
+            for (int i = 0; i < ROWS; i++) {
+                long start = System.nanoTime();
+                rows.bindViewHolder(holder, i);
+                bindNs[i] = System.nanoTime() - start;
+                shown[i] = categoryView.getText().toString();
+            }
+        });
+
+        for (int i = 0; i < ROWS; i++) {
+            Category category = db.categoryDao().getCategoryById(transactions.get(i).getCategoryId());
+            assertEquals("row " + i, category.getName(), shown[i]);
+        }
+        Arrays.sort(bindNs);
+        Log.i(TAG, "Bind of " + ROWS + " rows: p50 " + bindNs[ROWS / 2] / 1000 + " µs, p95 "
+                + bindNs[ROWS * 95 / 100] / 1000 + " µs, max " + bindNs[ROWS - 1] / 1000 + " µs");
+        assertTrue("p95 bind exceeds a frame", bindNs[ROWS * 95 / 100] < TimeUnit.MILLISECONDS.toNanos(16));
+    }
+}
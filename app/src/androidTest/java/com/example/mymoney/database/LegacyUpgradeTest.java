@@ -0,0 +1,81 @@
+package com.example.mymoney.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mymoney.database.entity.Transaction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A database from a version before schema export (v1-v15) is reset by Room's destructive
+ * migration, which does not call onCreate: the triggers must still be there afterwards.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LegacyUpgradeTest {
+
+    private static final String DB_NAME = "legacy-upgrade-test";
+
+    private static final Set<String> TRIGGERS = new HashSet<>(Arrays.asList(
+            "trg_daily_total_insert", "trg_daily_total_delete", "trg_daily_total_update",
+            "trg_transaction_local_day_insert", "trg_transaction_local_day_update",
+            "trg_wallet_balance_insert", "trg_wallet_balance_delete", "trg_wallet_balance_update",
+            "trg_stats_cache_insert", "trg_stats_cache_delete", "trg_stats_cache_update",
+            "trg_stats_cache_wallet_delete"));
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Test
+    public void destructiveMigrationFromLegacyVersion_createsTriggers() {
+        context.deleteDatabase(DB_NAME);
+        int legacyVersion = DatabaseMigrations.LEGACY_VERSIONS[DatabaseMigrations.LEGACY_VERSIONS.length - 1];
+        SQLiteDatabase legacy = context.openOrCreateDatabase(DB_NAME, Context.MODE_PRIVATE, null);
+        legacy.execSQL("CREATE TABLE `transaction` (`id` INTEGER PRIMARY KEY, `amount` REAL)");
+        legacy.setVersion(legacyVersion);
+        legacy.close();
+
+        // Same migration setup and trigger callback as AppDatabase.getInstance
+        AppDatabase db = Room.databaseBuilder(context, AppDatabase.class, DB_NAME)
+                .addMigrations(DatabaseMigrations.ALL)
+                .fallbackToDestructiveMigrationFrom(DatabaseMigrations.LEGACY_VERSIONS)
+                .addCallback(AppDatabase.TRIGGERS)
+                .build();
+        try {
+            Set<String> triggers = new HashSet<>();
+            try (Cursor cursor = db.query("SELECT name FROM sqlite_master WHERE type = 'trigger'", null)) {
+                while (cursor.moveToNext()) triggers.add(cursor.getString(0));
+            }
+            assertTrue("missing triggers, found " + triggers, triggers.containsAll(TRIGGERS));
+
+            // And they work: balance, rollup and local day follow a write
+            BenchmarkDatabase.seed(db);
+            List<Transaction> transactions = BenchmarkDatabase.transactions(100, 15);
+            db.transactionDao().insertAll(transactions);
+            double[] balances = BenchmarkDatabase.expectedBalances(transactions);
+            for (int wallet = 1; wallet <= BenchmarkDatabase.WALLETS; wallet++) {
+                assertEquals("balance of wallet " + wallet, balances[wallet],
+                        db.walletDao().getWalletById(wallet).getBalance(), 0.005);
+            }
+            assertEquals("rollup groups out of sync", 0, TransactionRollups.verify(db));
+            for (Transaction row : db.transactionDao().getTransactionsByUserId(BenchmarkDatabase.USER_ID)) {
+                assertEquals(TransactionRollups.localEpochDay(row.getCreatedAt()), row.getEpochDay());
+            }
+        } finally {
+            BenchmarkDatabase.delete(context, db, DB_NAME);
+        }
+    }
+}
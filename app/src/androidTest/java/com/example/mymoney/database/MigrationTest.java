@@ -0,0 +1,156 @@
+package com.example.mymoney.database;
+
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mymoney.database.entity.DailyCategoryTotal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Upgrades a v16 database holding 100k transactions through every {@link DatabaseMigrations}
+ * step, validating each resulting schema against app/schemas and timing each step (logcat,
+ * tag MigrationTest).
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TAG = "MigrationTest";
+    private static final String TEST_DB = "migration-test";
+
+    private static final int TRANSACTIONS = 100_000;
+    private static final int WALLETS = 2;
+    private static final int EXPENSE_CATEGORIES = 14;
+    private static final int INCOME_CATEGORIES = 4;
+    private static final long TWO_YEARS_MS = 2L * 365 * 24 * 60 * 60 * 1000;
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    @Test
+    public void migrate16To21_keepsLedgerAndDerivedTables() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 16);
+        double[] balances = seedVersion16(db);
+        db.close();
+
+        StringBuilder report = new StringBuilder("Upgrade of " + TRANSACTIONS + " transactions:");
+        for (Migration migration : DatabaseMigrations.ALL) {
+            long start = SystemClock.elapsedRealtime();
+            db = helper.runMigrationsAndValidate(TEST_DB, migration.endVersion, true, migration);
+            long elapsedMs = SystemClock.elapsedRealtime() - start;
+            report.append("\n  ").append(migration.startVersion).append(" -> ").append(migration.endVersion)
+                    .append(": ").append(elapsedMs).append(" ms");
+
+            assertEquals(TRANSACTIONS, queryLong(db, "SELECT COUNT(*) FROM `transaction`"));
+            if (migration.endVersion >= 18) assertRollupMatchesTransactions(db);
+            if (migration.endVersion >= 19) assertWalletBalances(db, balances);
+            if (migration.endVersion >= 21) assertLocalDays(db);
+            db.close();
+        }
+        Log.i(TAG, report.toString());
+    }
+
+    /** @return expected balance per wallet id (index 0 unused) */
+    private static double[] seedVersion16(SupportSQLiteDatabase db) {
+        double[] balances = new double[WALLETS + 1];
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT INTO user (id, username, created_at) VALUES (1, 'default_user', 0)");
+            for (int wallet = 1; wallet <= WALLETS; wallet++) {
+                db.execSQL("INSERT INTO wallet (id, name, type, currency, balance, is_active, created_at, updated_at, user_id) "
+                        + "VALUES (?, ?, 'cash', 'VND', 0, 1, 0, 0, 1)", new Object[]{wallet, "Wallet " + wallet});
+            }
+            for (int category = 1; category <= EXPENSE_CATEGORIES + INCOME_CATEGORIES; category++) {
+                db.execSQL("INSERT INTO category (id, name, type) VALUES (?, ?, ?)", new Object[]{
+                        category, "Category " + category, category <= EXPENSE_CATEGORIES ? "expense" : "income"});
+            }
+
+            SupportSQLiteStatement insert = db.compileStatement("INSERT INTO `transaction` "
+                    + "(wallet_id, category_id, user_id, amount, is_recurring, created_at, updated_at, type) "
+                    + "VALUES (?, ?, 1, ?, 0, ?, ?, ?)");
+            Random random = new Random(16);
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                int wallet = 1 + i % WALLETS;
+                boolean income = random.nextInt(10) == 0;
+                int category = income
+                        ? EXPENSE_CATEGORIES + 1 + random.nextInt(INCOME_CATEGORIES)
+                        : 1 + random.nextInt(EXPENSE_CATEGORIES);
+                double amount = 1_000 * (1 + random.nextInt(500));
+                long createdAt = now - (long) (random.nextDouble() * TWO_YEARS_MS);
+
+                insert.bindLong(1, wallet);
+                insert.bindLong(2, category);
+                insert.bindDouble(3, amount);
+                insert.bindLong(4, createdAt);
+                insert.bindLong(5, createdAt);
+                insert.bindString(6, income ? "income" : "expense");
+                insert.executeInsert();
+                balances[wallet] += income ? amount : -amount;
+            }
+            // v16 kept wallet.balance up to date from app code
+            for (int wallet = 1; wallet <= WALLETS; wallet++) {
+                db.execSQL("UPDATE wallet SET balance = ? WHERE id = ?", new Object[]{balances[wallet], wallet});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return balances;
+    }
+
+    private static void assertRollupMatchesTransactions(SupportSQLiteDatabase db) {
+        String raw = "SELECT wallet_id, type, " + DailyCategoryTotal.DAY_OF_CREATED_AT + " AS day, "
+                + "category_id, user_id, SUM(amount) AS total, COUNT(*) AS tx_count "
+                + "FROM `transaction` GROUP BY wallet_id, type, day, category_id, user_id";
+        assertEquals("rollup groups", queryLong(db, "SELECT COUNT(*) FROM (" + raw + ")"),
+                queryLong(db, "SELECT COUNT(*) FROM daily_category_total"));
+        assertEquals("rollup groups that differ from the raw rows", 0, queryLong(db,
+                "SELECT COUNT(*) FROM (" + raw + ") r LEFT JOIN daily_category_total d "
+                        + "ON d.wallet_id = r.wallet_id AND d.type = r.type AND d.day = r.day "
+                        + "AND d.category_id = r.category_id AND d.user_id = r.user_id "
+                        + "WHERE d.total IS NULL OR ABS(d.total - r.total) > 0.005 OR d.tx_count != r.tx_count"));
+    }
+
+    private static void assertWalletBalances(SupportSQLiteDatabase db, double[] expected) {
+        try (Cursor cursor = db.query("SELECT w.id, w.balance, w.opening_balance + IFNULL(SUM("
+                + "CASE WHEN t.type = 'income' THEN t.amount ELSE -t.amount END), 0) "
+                + "FROM wallet w LEFT JOIN `transaction` t ON t.wallet_id = w.id GROUP BY w.id")) {
+            assertEquals(WALLETS, cursor.getCount());
+            while (cursor.moveToNext()) {
+                int wallet = cursor.getInt(0);
+                assertEquals("balance of wallet " + wallet, expected[wallet], cursor.getDouble(1), 0.005);
+                assertEquals("ledger of wallet " + wallet, cursor.getDouble(1), cursor.getDouble(2), 0.005);
+            }
+        }
+    }
+
+    private static void assertLocalDays(SupportSQLiteDatabase db) {
+        assertEquals("rows with a wrong epoch_day / year_month", 0, queryLong(db,
+                "SELECT COUNT(*) FROM `transaction` WHERE epoch_day != " + DailyCategoryTotal.DAY_OF_CREATED_AT
+                        + " OR year_month != " + TransactionRollups.YEAR_MONTH_OF_EPOCH_DAY));
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
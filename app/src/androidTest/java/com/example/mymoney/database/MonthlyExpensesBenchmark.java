@@ -0,0 +1,128 @@
+package com.example.mymoney.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mymoney.MonthTotal;
+import com.example.mymoney.database.entity.Transaction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The stored epoch_day / year_month columns: stamped by the triggers on insert and on created_at
+ * updates, and the monthly expense query on them vs strftime on every row's created_at, at 10k
+ * and 100k rows. Both must give the same per-month totals. Timings go to logcat, tag
+ * MonthlyExpensesBenchmark.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class MonthlyExpensesBenchmark {
+
+    private static final String TAG = "MonthlyExpensesBenchmark";
+    private static final String DB_NAME = "monthly-expenses-benchmark";
+    private static final int[] SIZES = {10_000, 100_000};
+    private static final int WALLET_ID = 1;
+    private static final int RUNS = 10;
+
+    // The statistics query before the columns existed (local months, so totals are comparable)
+    private static final String STRFTIME_QUERY =
+            "SELECT strftime('%m', created_at / 1000, 'unixepoch', 'localtime') AS month, SUM(amount) " +
+            "FROM `transaction` " +
+            "WHERE type = 'expense' AND user_id = ? AND wallet_id = ? AND created_at BETWEEN ? AND ? " +
+            "GROUP BY month ORDER BY month";
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Test
+    public void triggers_stampLocalDayOnInsertAndUpdate() {
+        AppDatabase db = BenchmarkDatabase.create(context, DB_NAME);
+        try {
+            db.transactionDao().insertAll(BenchmarkDatabase.transactions(1_000, 19));
+            List<Transaction> rows = db.transactionDao().getTransactionsByUserId(BenchmarkDatabase.USER_ID);
+            assertEquals(1_000, rows.size());
+            for (Transaction row : rows) {
+                assertStamped(row);
+            }
+
+            // Moving a transaction to another day re-stamps it, even through a full-row @Update
+            Transaction moved = rows.get(0);
+            moved.setCreatedAt(moved.getCreatedAt() - 40L * 24 * 60 * 60 * 1000);
+            db.transactionDao().update(moved);
+            assertStamped(db.transactionDao().getTransactionById(moved.getId()));
+
+            assertEquals("rollup groups out of sync", 0, TransactionRollups.verify(db));
+        } finally {
+            BenchmarkDatabase.delete(context, db, DB_NAME);
+        }
+    }
+
+    @Test
+    public void yearMonthQuery_matchesStrftime() {
+        StringBuilder report = new StringBuilder("Monthly expenses of a year (strftime per row vs year_month):");
+        LocalDate today = LocalDate.now();
+        long startDay = today.withDayOfYear(1).toEpochDay();
+        long endDay = today.withDayOfYear(today.lengthOfYear()).toEpochDay();
+        long startMs = TransactionRollups.startOfLocalDay(startDay);
+        long endMs = TransactionRollups.startOfLocalDay(endDay + 1) - 1;
+
+        for (int size : SIZES) {
+            AppDatabase db = BenchmarkDatabase.create(context, DB_NAME);
+            try {
+                db.transactionDao().insertAll(BenchmarkDatabase.transactions(size, size));
+
+                Map<String, Double> before = null;
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) before = strftimeTotals(db, startMs, endMs);
+                long beforeUs = (System.nanoTime() - start) / 1000 / RUNS;
+
+                List<MonthTotal> after = null;
+                start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    after = db.transactionDao().getMonthlyExpensesByYear(
+                            BenchmarkDatabase.USER_ID, WALLET_ID, startDay, endDay);
+                }
+                long afterUs = (System.nanoTime() - start) / 1000 / RUNS;
+
+                assertEquals("months", before.size(), after.size());
+                for (MonthTotal row : after) {
+                    assertEquals("month " + row.month, before.get(row.month), row.total, 0.005);
+                }
+                report.append("\n  ").append(size).append(" rows: ")
+                        .append(beforeUs / 1000.0).append(" ms vs ").append(afterUs / 1000.0).append(" ms");
+            } finally {
+                BenchmarkDatabase.delete(context, db, DB_NAME);
+            }
+        }
+        Log.i(TAG, report.toString());
+    }
+
+    private static void assertStamped(Transaction row) {
+        long day = TransactionRollups.localEpochDay(row.getCreatedAt());
+        assertEquals("epoch_day of " + row.getId(), day, row.getEpochDay());
+        assertEquals("year_month of " + row.getId(), TransactionRollups.yearMonth(day), row.getYearMonth());
+    }
+
+    private static Map<String, Double> strftimeTotals(AppDatabase db, long startMs, long endMs) {
+        Map<String, Double> totals = new HashMap<>();
+        try (Cursor cursor = db.query(STRFTIME_QUERY,
+                new Object[]{BenchmarkDatabase.USER_ID, WALLET_ID, startMs, endMs})) {
+            while (cursor.moveToNext()) {
+                totals.put(cursor.getString(0), cursor.getDouble(1));
+            }
+        }
+        return totals;
+    }
+}
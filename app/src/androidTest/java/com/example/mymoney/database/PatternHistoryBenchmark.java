@@ -0,0 +1,122 @@
+package com.example.mymoney.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.model.MonthCategoryTotal;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Spending pattern history for the current month and the 6 before it, as SpendingPatternAnalyzer
+ * loads it: one transaction query per month plus a SUM per month (before) vs one grouped query
+ * on the daily rollup (now), at 1k, 50k and 500k rows. Both must give the same per-category
+ * monthly totals. Timings go to logcat, tag PatternHistoryBenchmark.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class PatternHistoryBenchmark {
+
+    private static final String TAG = "PatternHistoryBenchmark";
+    private static final String DB_NAME = "pattern-history-benchmark";
+    private static final int[] SIZES = {1_000, 50_000, 500_000};
+    private static final int MONTHS = 6; // SpendingPatternAnalyzer.MONTHS_TO_ANALYZE
+    private static final int WALLET_ID = 1;
+    private static final int RUNS = 5;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Test
+    public void groupedRollupQuery_matchesPerMonthQueries() {
+        StringBuilder report = new StringBuilder("Pattern history (per-month queries vs grouped rollup):");
+        for (int size : SIZES) {
+            AppDatabase db = BenchmarkDatabase.create(context, DB_NAME);
+            try {
+                db.transactionDao().insertAll(BenchmarkDatabase.transactions(size, size));
+
+                List<Map<Integer, Double>> before = null;
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) before = loadPerMonth(db);
+                long beforeUs = (System.nanoTime() - start) / 1000 / RUNS;
+
+                List<Map<Integer, Double>> after = null;
+                start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) after = loadGrouped(db);
+                long afterUs = (System.nanoTime() - start) / 1000 / RUNS;
+
+                for (int offset = 0; offset <= MONTHS; offset++) {
+                    Map<Integer, Double> expected = before.get(offset);
+                    Map<Integer, Double> actual = after.get(offset);
+                    assertEquals("categories of month -" + offset, expected.keySet(), actual.keySet());
+                    for (Map.Entry<Integer, Double> entry : expected.entrySet()) {
+                        assertEquals("month -" + offset + ", category " + entry.getKey(),
+                                entry.getValue(), actual.get(entry.getKey()), 0.005);
+                    }
+                }
+                report.append("\n  ").append(size).append(" rows: ")
+                        .append(beforeUs / 1000.0).append(" ms vs ").append(afterUs / 1000.0).append(" ms");
+            } finally {
+                BenchmarkDatabase.delete(context, db, DB_NAME);
+            }
+        }
+        Log.i(TAG, report.toString());
+    }
+
+    /**
+     * The previous loader: every expense row of each month grouped in Java, plus a SUM query per
+     * month for the monthly comparison. Index = months before the current one.
+     */
+    private static List<Map<Integer, Double>> loadPerMonth(AppDatabase db) {
+        LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+        List<Map<Integer, Double>> months = new ArrayList<>();
+        for (int offset = 0; offset <= MONTHS; offset++) {
+            LocalDate first = firstOfMonth.minusMonths(offset);
+            long startMs = startOf(first);
+            long endMs = startOf(first.plusMonths(1)) - 1;
+
+            Map<Integer, Double> byCategory = new HashMap<>();
+            for (Transaction t : db.transactionDao().getTransactionsByWalletAndDateRange(WALLET_ID, startMs, endMs)) {
+                if ("expense".equals(t.getType())) {
+                    byCategory.merge(t.getCategoryId(), t.getAmount(), Double::sum);
+                }
+            }
+            db.transactionDao().getTotalExpenseBetweenForWallet(startMs, endMs, WALLET_ID);
+            months.add(byCategory);
+        }
+        return months;
+    }
+
+    /** The current loader: one GROUP BY (year, month, category) over the daily rollup. */
+    private static List<Map<Integer, Double>> loadGrouped(AppDatabase db) {
+        LocalDate today = LocalDate.now();
+        List<MonthCategoryTotal> rows = db.dailyCategoryTotalDao().getMonthlyExpensesByCategory(WALLET_ID,
+                today.withDayOfMonth(1).minusMonths(MONTHS).toEpochDay(), today.toEpochDay());
+
+        List<Map<Integer, Double>> months = new ArrayList<>();
+        for (int offset = 0; offset <= MONTHS; offset++) months.add(new HashMap<>());
+        for (MonthCategoryTotal row : rows) {
+            int offset = (today.getYear() - row.year) * 12 + (today.getMonthValue() - row.month);
+            if (offset >= 0 && offset <= MONTHS) months.get(offset).put(row.categoryId, row.total);
+        }
+        return months;
+    }
+
+    private static long startOf(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
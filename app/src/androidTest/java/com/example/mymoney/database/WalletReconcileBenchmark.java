@@ -0,0 +1,66 @@
+package com.example.mymoney.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mymoney.database.entity.Transaction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Cost of {@link WalletBalances#reconcile} (run on every database open) on wallets holding 10k,
+ * 100k and 500k transactions: the check when balances are consistent, and the repair after every
+ * wallet balance was corrupted. Timings go to logcat, tag WalletReconcileBenchmark.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class WalletReconcileBenchmark {
+
+    private static final String TAG = "WalletReconcileBenchmark";
+    private static final String DB_NAME = "wallet-reconcile-benchmark";
+    private static final int[] SIZES = {10_000, 100_000, 500_000};
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Test
+    public void reconcile_checkAndRepair() {
+        StringBuilder report = new StringBuilder("Reconcile (check when consistent / repair of every wallet):");
+        for (int size : SIZES) {
+            AppDatabase db = BenchmarkDatabase.create(context, DB_NAME);
+            try {
+                List<Transaction> transactions = BenchmarkDatabase.transactions(size, size);
+                double[] balances = BenchmarkDatabase.expectedBalances(transactions);
+                db.transactionDao().insertAll(transactions);
+
+                long start = System.nanoTime();
+                assertEquals("wallets repaired while consistent", 0, WalletBalances.reconcile(db));
+                long checkUs = (System.nanoTime() - start) / 1000;
+
+                // Simulate drift left by an old app version or a write that bypassed the triggers
+                db.getOpenHelper().getWritableDatabase().execSQL("UPDATE wallet SET balance = balance + 12345");
+                start = System.nanoTime();
+                assertEquals("wallets repaired", BenchmarkDatabase.WALLETS, WalletBalances.reconcile(db));
+                long repairUs = (System.nanoTime() - start) / 1000;
+
+                for (int wallet = 1; wallet <= BenchmarkDatabase.WALLETS; wallet++) {
+                    assertEquals("balance of wallet " + wallet, balances[wallet],
+                            db.walletDao().getWalletById(wallet).getBalance(), 0.005);
+                }
+                report.append("\n  ").append(size).append(" rows: ")
+                        .append(checkUs / 1000.0).append(" ms / ").append(repairUs / 1000.0).append(" ms");
+            } finally {
+                BenchmarkDatabase.delete(context, db, DB_NAME);
+            }
+        }
+        Log.i(TAG, report.toString());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.mymoney.utils;
+
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Allocations and time of {@link TransactionFormatter} over 10k transaction rows, against the
+ * String.format / SimpleDateFormat calls it replaced, plus its "%,.2f" compatibility.
+ * Results go to logcat, tag TransactionFormatterBenchmark.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TransactionFormatterBenchmark {
+
+    private static final String TAG = "TransactionFormatterBenchmark";
+    private static final int ROWS = 10_000;
+    // Rows a list re-binds while the user scrolls back and forth (fits every cache)
+    private static final int VISIBLE_WINDOW = 500;
+    private static final long TWO_YEARS_MS = 2L * 365 * 24 * 60 * 60 * 1000;
+    private static final String CURRENCY = "VND";
+
+    private final long[] createdAt = new long[ROWS];
+    private final double[] amounts = new double[ROWS];
+    private final boolean[] expense = new boolean[ROWS];
+
+    @Before
+    public void setUp() {
+        Random random = new Random(16);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < ROWS; i++) {
+            createdAt[i] = now - (long) (random.nextDouble() * TWO_YEARS_MS);
+            amounts[i] = 1_000 * (1 + random.nextInt(500));
+            expense[i] = random.nextInt(10) != 0;
+        }
+    }
+
+    @Test
+    public void amount_matchesStringFormat() {
+        TransactionFormatter formatter = TransactionFormatter.get();
+        double[] values = {0, 0.004, 0.005, 0.015, 0.125, 0.375, 0.5, 1.005, 2.675, 10.115,
+                99.995, 1_000, 1_234_567.895, 12_345_678.9};
+        for (double value : values) {
+            String formatted = String.format(Locale.getDefault(), "%,.2f", value);
+            assertEquals("-" + formatted + " " + CURRENCY, formatter.amount(value, true, CURRENCY));
+            assertEquals("+" + formatted + " " + CURRENCY, formatter.amount(value, false, CURRENCY));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void tenThousandRows_groupingAndRebindAllocateNothing() {
+        TransactionFormatter formatter = TransactionFormatter.get().syncTimeZone();
+        long sink = 0;
+
+        // Day grouping of every row: longs only
+        Debug.startAllocCounting();
+        Debug.resetThreadAllocCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) sink += formatter.epochDay(createdAt[i]);
+        long groupNs = System.nanoTime() - start;
+        int groupAllocs = Debug.getThreadAllocCount();
+
+        // First bind of every row fills the caches
+        Debug.resetThreadAllocCount();
+        start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) sink += bind(formatter, i);
+        long firstBindNs = System.nanoTime() - start;
+        int firstBindAllocs = Debug.getThreadAllocCount();
+
+        // Scrolling back over rows already shown returns the cached strings (two warm-up passes:
+        // the first may hit a cache clear half way)
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < VISIBLE_WINDOW; i++) sink += bind(formatter, i);
+        }
+        Debug.resetThreadAllocCount();
+        start = System.nanoTime();
+        for (int pass = 0; pass < ROWS / VISIBLE_WINDOW; pass++) {
+            for (int i = 0; i < VISIBLE_WINDOW; i++) sink += bind(formatter, i);
+        }
+        long rebindNs = System.nanoTime() - start;
+        int rebindAllocs = Debug.getThreadAllocCount();
+
+        // What each bind used to do
+        Debug.resetThreadAllocCount();
+        start = System.nanoTime();
+        java.text.SimpleDateFormat dateFormat = new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
+        for (int i = 0; i < ROWS; i++) {
+            sink += dateFormat.format(new java.util.Date(createdAt[i])).length();
+            sink += String.format(Locale.getDefault(), "%s%,.2f %s",
+                    expense[i] ? "-" : "+", amounts[i], CURRENCY).length();
+        }
+        long formatNs = System.nanoTime() - start;
+        int formatAllocs = Debug.getThreadAllocCount();
+        Debug.stopAllocCounting();
+
+        Log.i(TAG, ROWS + " rows (sink " + sink + "):"
+                + "\n  group by day: " + groupAllocs + " allocs, " + groupNs / 1000 + " µs"
+                + "\n  first bind: " + firstBindAllocs + " allocs, " + firstBindNs / 1000 + " µs"
+                + "\n  rebind: " + rebindAllocs + " allocs, " + rebindNs / 1000 + " µs"
+                + "\n  String.format + SimpleDateFormat: " + formatAllocs + " allocs, " + formatNs / 1000 + " µs");
+        assertEquals("allocations while grouping by day", 0, groupAllocs);
+        assertEquals("allocations while re-binding cached rows", 0, rebindAllocs);
+    }
+
+    /** The strings a transaction row binds. */
+    private long bind(TransactionFormatter formatter, int row) {
+        return formatter.dateTime(createdAt[row]).length()
+                + formatter.amount(amounts[row], expense[row], CURRENCY).length();
+    }
+}
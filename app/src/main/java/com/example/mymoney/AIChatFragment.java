@@ -23,10 +23,19 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.chatbot.ChatAdapter;
 import com.example.mymoney.chatbot.ChatMessage;
+import com.example.mymoney.chatbot.ChatRequest;
 import com.example.mymoney.chatbot.ChatbotService;
+import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.TransactionRollups;
+import com.example.mymoney.utils.AppExecutors;
+import com.example.mymoney.utils.HttpClients;
+import com.example.mymoney.utils.LatencyTimer;
 import com.example.mymoney.utils.TestDataGenerator;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class AIChatFragment extends Fragment {
@@ -45,6 +54,10 @@ public class AIChatFragment extends Fragment {
     private int currentUserId = -1;
     private int currentWalletId = -1;
 
+    // Answer in progress (UI thread only)
+    private ChatRequest activeRequest;
+    private ReplyCallback activeReply;
+
 
     @Nullable
     @Override
@@ -222,30 +235,28 @@ public class AIChatFragment extends Fragment {
      * Show dialog to generate or clear test data
      */
     private void showTestDataDialog() {
-        String[] options = {
-                "📅 Tạo dữ liệu (bao gồm tháng này)",
-                "📆 Tạo dữ liệu (không bao gồm tháng này)",
-                "🗑️ Xóa tất cả dữ liệu test"
-        };
+        List<String> options = new ArrayList<>();
+        List<Runnable> actions = new ArrayList<>();
+        options.add("📅 Tạo dữ liệu (bao gồm tháng này)");
+        actions.add(() -> generateTestData(false));
+        options.add("📆 Tạo dữ liệu (không bao gồm tháng này)");
+        actions.add(() -> generateTestData(true));
+        options.add("🗑️ Xóa tất cả dữ liệu test");
+        actions.add(this::clearTestData);
+
+        // Diagnostic tools: debug builds only
+        if (BuildConfig.DEBUG) {
+            // Rebuild / verify daily rollups
+            options.add("🔁 Dựng lại & kiểm tra bảng tổng hợp");
+            actions.add(this::rebuildRollups);
+            // Cache hit/miss, pools, latencies
+            options.add("📈 Thống kê cache & hiệu năng");
+            actions.add(this::showPerformanceStats);
+        }
 
         new AlertDialog.Builder(requireContext())
                 .setTitle("🧪 Dữ liệu Test")
-                .setItems(options, (dialog, which) -> {
-                    switch (which) {
-                        case 0:
-                            // Generate with current month
-                            generateTestData(false);
-                            break;
-                        case 1:
-                            // Generate without current month
-                            generateTestData(true);
-                            break;
-                        case 2:
-                            // Clear data
-                            clearTestData();
-                            break;
-                    }
-                })
+                .setItems(options.toArray(new String[0]), (dialog, which) -> actions.get(which).run())
                 .setNegativeButton("Hủy", null)
                 .show();
     }
@@ -304,6 +315,56 @@ public class AIChatFragment extends Fragment {
         });
     }
 
+    /**
+     * Rebuild the daily rollup table from raw transactions and verify it
+     */
+    private void rebuildRollups() {
+        ChatMessage loadingMessage = new ChatMessage("🔄 Đang dựng lại bảng tổng hợp...", false);
+        chatAdapter.addMessage(loadingMessage);
+        scrollToBottom();
+
+        AppDatabase db = AppDatabase.getInstance(requireContext());
+        AppExecutors.getInstance().diskIO(this, () -> {
+            int driftBefore = TransactionRollups.verify(db);
+            long start = System.currentTimeMillis();
+            TransactionRollups.rebuild(db);
+            long elapsed = System.currentTimeMillis() - start;
+            int driftAfter = TransactionRollups.verify(db);
+
+            String message = "✅ Đã dựng lại bảng tổng hợp trong " + elapsed + " ms\n" +
+                    "• Sai lệch trước: " + driftBefore + " nhóm\n" +
+                    "• Sai lệch sau: " + driftAfter + " nhóm";
+            if (getActivity() != null) {
+                getActivity().runOnUiThread(() -> {
+                    chatAdapter.removeLastMessage();
+                    chatAdapter.addMessage(new ChatMessage(message, false));
+                    scrollToBottom();
+                });
+            }
+        });
+    }
+
+    /**
+     * Debug: chatbot context cache hit/miss counters, executor pools, measured latencies
+     * and HTTP latency histograms.
+     */
+    private void showPerformanceStats() {
+        String stats = "🧠 Cache ngữ cảnh tài chính\n" + ChatbotService.getContextCacheStats() +
+                "\n\n🧵 Thread pools\n" + AppExecutors.getInstance().getStats() +
+                "\n\n⏱️ Độ trễ\n" + emptyAsDash(LatencyTimer.getStats()) +
+                "\n\n🌐 HTTP\n" + emptyAsDash(HttpClients.getInstance().getStats());
+
+        new AlertDialog.Builder(requireContext())
+                .setTitle("📈 Thống kê hiệu năng")
+                .setMessage(stats)
+                .setPositiveButton("OK", null)
+                .show();
+    }
+
+    private static String emptyAsDash(String text) {
+        return text.isEmpty() ? "—" : text;
+    }
+
     /**
      * Clear test data
      */
@@ -437,41 +498,18 @@ public class AIChatFragment extends Fragment {
      * Send message to LLM only (used after quick response)
      */
     private void sendMessageToLLM(String message) {
+        cancelActiveReply();
+
         // Add loading indicator
         ChatMessage loadingMessage = new ChatMessage(true);
         chatAdapter.addMessage(loadingMessage);
         scrollToBottom();
 
-        int userId = MainActivity.getCurrentUserId();
-        int walletId = MainActivity.getSelectedWalletId();
-
-        chatbotService.generateFinancialAdvice(userId, walletId, message, new ChatbotService.ChatbotCallback() {
+        requestReply(message, new ReplyCallback("🤖 ", loadingMessage) {
             @Override
-            public void onSuccess(String response) {
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        // Remove loading indicator
-                        chatAdapter.removeLastMessage();
-
-                        // Add bot response
-                        ChatMessage botMessage = new ChatMessage("🤖 " + response, false);
-                        chatAdapter.addMessage(botMessage);
-                        scrollToBottom();
-                    });
-                }
-            }
-
-            @Override
-            public void onError(String error) {
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        // Remove loading indicator
-                        chatAdapter.removeLastMessage();
-
-                        // Show error
-                        Toast.makeText(requireContext(), error, Toast.LENGTH_SHORT).show();
-                    });
-                }
+            protected void onFailed(String error) {
+                // Show error
+                Toast.makeText(requireContext(), error, Toast.LENGTH_SHORT).show();
             }
         });
     }
@@ -498,6 +536,9 @@ public class AIChatFragment extends Fragment {
             return;
         }
 
+        // A new question replaces the one still being answered
+        cancelActiveReply();
+
         // Add user message
         ChatMessage userMessage = new ChatMessage(message, true);
         chatAdapter.addMessage(userMessage);
@@ -511,46 +552,143 @@ public class AIChatFragment extends Fragment {
         chatAdapter.addMessage(loadingMessage);
         scrollToBottom();
 
-        // Get AI response (wallet-specific)
+        requestReply(message, new ReplyCallback("", loadingMessage) {
+            @Override
+            protected void onFailed(String error) {
+                // Add error message
+                ChatMessage errorMessage = new ChatMessage(
+                        "Xin lỗi, đã có lỗi xảy ra. Vui lòng thử lại sau.",
+                        false
+                );
+                chatAdapter.addMessage(errorMessage);
+                scrollToBottom();
+
+                Toast.makeText(requireContext(), error, Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    /** Asks the chatbot (wallet-specific); the request stays active until answered or cancelled. */
+    private void requestReply(String message, ReplyCallback reply) {
         int userId = MainActivity.getCurrentUserId();
         int walletId = MainActivity.getSelectedWalletId(); // 🔹 Pass wallet ID
 
-        chatbotService.generateFinancialAdvice(userId, walletId, message, new ChatbotService.ChatbotCallback() {
-            @Override
-            public void onSuccess(String response) {
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        // Remove loading indicator
-                        chatAdapter.removeLastMessage();
+        activeReply = reply;
+        activeRequest = chatbotService.generateFinancialAdvice(userId, walletId, message, reply);
+    }
 
-                        // Add bot response
-                        ChatMessage botMessage = new ChatMessage(response, false);
-                        chatAdapter.addMessage(botMessage);
-                        scrollToBottom();
-                    });
-                }
+    /**
+     * Cancels the answer in progress, if any (its backend calls included), so the next message
+     * never waits on or races with it. UI thread only.
+     */
+    private void cancelActiveReply() {
+        if (activeRequest != null) {
+            activeRequest.cancel();
+            activeRequest = null;
+        }
+        if (activeReply != null) {
+            activeReply.stop();
+            activeReply = null;
+        }
+    }
+
+    /**
+     * Shows a generated answer. A streamed answer replaces the loading bubble with the bot
+     * message on its first token and then grows in place; the final text gets a latency footer
+     * (time to first token and total). Once answered, failed or stopped, later callbacks are
+     * ignored (checked on the UI thread, where {@link #stop()} runs).
+     */
+    private abstract class ReplyCallback implements ChatbotService.ChatbotCallback {
+        private final String prefix;
+        private final ChatMessage loadingMessage;
+        private ChatMessage liveMessage;  // UI thread only
+        private boolean done;             // UI thread only
+        private volatile long firstTokenMs = -1;
+        private volatile long totalMs = -1;
+
+        ReplyCallback(String prefix, ChatMessage loadingMessage) {
+            this.prefix = prefix;
+            this.loadingMessage = loadingMessage;
+        }
+
+        /** The request failed; called on the UI thread after the loading bubble was removed. */
+        protected abstract void onFailed(String error);
+
+        @Override
+        public void onPartial(String textSoFar) {
+            if (getActivity() != null) {
+                getActivity().runOnUiThread(() -> {
+                    if (!done) showReply(textSoFar, null);
+                });
             }
+        }
 
-            @Override
-            public void onError(String error) {
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        // Remove loading indicator
-                        chatAdapter.removeLastMessage();
+        @Override
+        public void onTimings(long firstTokenMs, long totalMs) {
+            this.firstTokenMs = firstTokenMs;
+            this.totalMs = totalMs;
+        }
 
-                        // Add error message
-                        ChatMessage errorMessage = new ChatMessage(
-                                "Xin lỗi, đã có lỗi xảy ra. Vui lòng thử lại sau.",
-                                false
-                        );
-                        chatAdapter.addMessage(errorMessage);
-                        scrollToBottom();
+        @Override
+        public void onSuccess(String response) {
+            if (getActivity() != null) {
+                getActivity().runOnUiThread(() -> {
+                    if (done) return;
+                    done = true;
+                    showReply(response, formatLatency(firstTokenMs, totalMs));
+                });
+            }
+        }
 
-                        Toast.makeText(requireContext(), error, Toast.LENGTH_SHORT).show();
-                    });
-                }
+        @Override
+        public void onError(String error) {
+            if (getActivity() != null) {
+                getActivity().runOnUiThread(() -> {
+                    if (done) return;
+                    done = true;
+                    // Remove loading indicator
+                    chatAdapter.removeMessage(loadingMessage);
+                    onFailed(error);
+                });
             }
-        });
+        }
+
+        /** The user moved on: drop the loading bubble, or mark the partial answer as stopped. */
+        void stop() {
+            if (done) return;
+            done = true;
+            if (liveMessage == null) {
+                chatAdapter.removeMessage(loadingMessage);
+            } else {
+                liveMessage.setLatencyInfo("⏹ Đã dừng");
+                chatAdapter.updateMessage(liveMessage);
+            }
+        }
+
+        private void showReply(String text, String latencyInfo) {
+            if (liveMessage == null) {
+                // Remove loading indicator
+                chatAdapter.removeMessage(loadingMessage);
+
+                liveMessage = new ChatMessage(prefix + text, false);
+                liveMessage.setLatencyInfo(latencyInfo);
+                chatAdapter.addMessage(liveMessage);
+            } else {
+                liveMessage.setMessage(prefix + text);
+                liveMessage.setLatencyInfo(latencyInfo);
+                chatAdapter.updateMessage(liveMessage);
+            }
+            scrollToBottom();
+        }
+    }
+
+    private static String formatLatency(long firstTokenMs, long totalMs) {
+        if (totalMs < 0) return null;
+        if (firstTokenMs < 0) {
+            return String.format(Locale.getDefault(), "⏱ Tổng %.1f s", totalMs / 1000.0);
+        }
+        return String.format(Locale.getDefault(), "⏱ Chữ đầu tiên %.1f s · Tổng %.1f s",
+                firstTokenMs / 1000.0, totalMs / 1000.0);
     }
 
     private void scrollToBottom() {
@@ -584,6 +722,8 @@ public class AIChatFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        // Leaving the chat: stop the answer in progress
+        cancelActiveReply();
         // Remove insets listener
         if (getView() != null) {
             ViewCompat.setOnApplyWindowInsetsListener(getView(), null);
@@ -16,6 +16,7 @@ import androidx.fragment.app.Fragment;
 
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.entity.Wallet;
+import com.example.mymoney.utils.AppExecutors;
 
 public class AddWalletFragment extends Fragment {
 
@@ -166,13 +167,14 @@ public class AddWalletFragment extends Fragment {
             wallet.setType(walletType);
             wallet.setCurrency(selectedCurrency);
             wallet.setBalance(balance);
+            wallet.setOpeningBalance(balance);
             wallet.setDescription(note);
             wallet.setActive(true);
             wallet.setUserId(MainActivity.getCurrentUserId());
             
             // Insert wallet in background thread
             AppDatabase db = AppDatabase.getInstance(getContext());
-            new Thread(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     long walletId = db.walletDao().insert(wallet);
 
@@ -196,7 +198,7 @@ public class AddWalletFragment extends Fragment {
                         });
                     }
                 }
-            }).start();
+            });
         }
     }
 }
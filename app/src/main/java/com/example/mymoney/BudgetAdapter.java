@@ -9,6 +9,8 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.database.entity.Budget;
@@ -16,19 +18,58 @@ import com.example.mymoney.database.entity.Budget;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
-public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetViewHolder> {
+public class BudgetAdapter extends ListAdapter<BudgetAdapter.BudgetItem, BudgetAdapter.BudgetViewHolder> {
+
+    /**
+     * One budget card: the budget with its spent amount and category tag, so the diff sees
+     * a change in any of them
+     */
+    public static final class BudgetItem {
+        final Budget budget;
+        final double spent;
+        final String categoryName;  // null for global budgets
+
+        BudgetItem(Budget budget, double spent, String categoryName) {
+            this.budget = budget;
+            this.spent = spent;
+            this.categoryName = categoryName;
+        }
+    }
+
+    private static final DiffUtil.ItemCallback<BudgetItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<BudgetItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull BudgetItem oldItem, @NonNull BudgetItem newItem) {
+            return oldItem.budget.getId() == newItem.budget.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull BudgetItem oldItem, @NonNull BudgetItem newItem) {
+            Budget a = oldItem.budget;
+            Budget b = newItem.budget;
+            return oldItem.spent == newItem.spent
+                    && Objects.equals(oldItem.categoryName, newItem.categoryName)
+                    && a.getUpdatedAt() == b.getUpdatedAt()
+                    && a.getBudgetAmount() == b.getBudgetAmount()
+                    && a.getAlertThreshold() == b.getAlertThreshold()
+                    && Objects.equals(a.getName(), b.getName())
+                    && Objects.equals(a.getBudgetType(), b.getBudgetType())
+                    && Objects.equals(a.getCategoryId(), b.getCategoryId())
+                    && Objects.equals(a.getStartDate(), b.getStartDate())
+                    && Objects.equals(a.getEndDate(), b.getEndDate());
+        }
+    };
 
     private final Context context;
-    private final List<Budget> budgetList;
     private final OnBudgetClickListener listener;
     private final OnBudgetDeleteListener deleteListener;
-    private final java.util.Map<Integer, Double> spentAmountsMap;
-    private java.util.Map<Integer, String> categoryNamesMap;  // categoryId -> categoryName
     private final DecimalFormat df = new DecimalFormat("#,###");
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd", Locale.getDefault());
     private final SimpleDateFormat dateParseFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.getDefault());
@@ -41,21 +82,25 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
         void onBudgetDelete(Budget budget);
     }
 
-    public BudgetAdapter(Context context, List<Budget> budgetList, OnBudgetClickListener listener, OnBudgetDeleteListener deleteListener, java.util.Map<Integer, Double> spentAmountsMap) {
+    public BudgetAdapter(Context context, OnBudgetClickListener listener, OnBudgetDeleteListener deleteListener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.budgetList = budgetList;
         this.listener = listener;
         this.deleteListener = deleteListener;
-        this.spentAmountsMap = spentAmountsMap;
-        this.categoryNamesMap = new java.util.HashMap<>();
+        setHasStableIds(true);
     }
 
     /**
-     * Set category names map for displaying category tags on budget cards
+     * Shows {@code budgets} with their spent amounts (budgetId -> spent) and category tags
+     * (categoryId -> name). Only the cards that changed are re-bound.
      */
-    public void setCategoryNamesMap(java.util.Map<Integer, String> categoryNamesMap) {
-        this.categoryNamesMap = categoryNamesMap;
-        notifyDataSetChanged();
+    public void submit(List<Budget> budgets, Map<Integer, Double> spentAmounts, Map<Integer, String> categoryNames) {
+        List<BudgetItem> items = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            String categoryName = budget.getCategoryId() != null ? categoryNames.get(budget.getCategoryId()) : null;
+            items.add(new BudgetItem(budget, spentAmounts.getOrDefault(budget.getId(), 0.0), categoryName));
+        }
+        submitList(items);
     }
 
     // Public static helper method to calculate period range for a budget
@@ -150,13 +195,12 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
 
     @Override
     public void onBindViewHolder(@NonNull BudgetViewHolder holder, int position) {
-        Budget budget = budgetList.get(position);
-        holder.bind(budget, listener);
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return budgetList.size();
+    public long getItemId(int position) {
+        return getItem(position).budget.getId();
     }
 
     class BudgetViewHolder extends RecyclerView.ViewHolder {
@@ -179,23 +223,32 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
             ivAlertIcon = itemView.findViewById(R.id.iv_alert_icon);
             ivChart = itemView.findViewById(R.id.iv_budget_chart);
             btnDelete = itemView.findViewById(R.id.btn_delete_budget);
+
+            itemView.setOnClickListener(v -> {
+                int position = getAdapterPosition();
+                if (listener != null && position != RecyclerView.NO_POSITION) {
+                    listener.onBudgetClick(getItem(position).budget);
+                }
+            });
+            btnDelete.setOnClickListener(v -> {
+                int position = getAdapterPosition();
+                if (deleteListener != null && position != RecyclerView.NO_POSITION) {
+                    deleteListener.onBudgetDelete(getItem(position).budget);
+                }
+            });
         }
 
-        public void bind(Budget budget, OnBudgetClickListener listener) {
+        public void bind(BudgetItem item) {
+            Budget budget = item.budget;
             tvBudgetName.setText(budget.getName());
 
             String periodType = budget.getBudgetType();
             tvPeriodType.setText(capitalizeFirst(periodType));
 
             // Show category tag if it's a category-specific budget
-            if (budget.getCategoryId() != null && categoryNamesMap != null) {
-                String categoryName = categoryNamesMap.get(budget.getCategoryId());
-                if (categoryName != null && !categoryName.isEmpty()) {
-                    tvBudgetCategory.setText(categoryName);
-                    tvBudgetCategory.setVisibility(View.VISIBLE);
-                } else {
-                    tvBudgetCategory.setVisibility(View.GONE);
-                }
+            if (item.categoryName != null && !item.categoryName.isEmpty()) {
+                tvBudgetCategory.setText(item.categoryName);
+                tvBudgetCategory.setVisibility(View.VISIBLE);
             } else {
                 tvBudgetCategory.setVisibility(View.GONE);
             }
@@ -204,18 +257,13 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
             String dateRange = calculateDateRange(budget);
             tvDateRange.setText(dateRange);
 
-            // Get pre-calculated spent amount from map
-            double spent = spentAmountsMap.getOrDefault(budget.getId(), 0.0);
+            // Pre-calculated spent amount
+            double spent = item.spent;
             double total = budget.getBudgetAmount();
 
             // Get currency from MainActivity
             String currency = MainActivity.getSelectedWalletCurrency();
 
-            // Debug logging
-            android.util.Log.d("BudgetAdapter", "Binding budget: " + budget.getName() +
-                    " (ID: " + budget.getId() + ") | Spent from map: " + spent + " " + currency +
-                    " | Map size: " + spentAmountsMap.size());
-
             tvSpent.setText(df.format(spent) + " " + currency);
             tvTotal.setText(df.format(total) + " " + currency);
 
@@ -226,6 +274,7 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
             if (spent == 0) {
                 tvStatus.setText("Not Started");
                 tvStatus.setTextColor(itemView.getContext().getColor(R.color.red_expense));
+                ivAlertIcon.setVisibility(View.GONE);
             } else if (progress >= 100) {
                 tvStatus.setText("Exceeded");
                 tvStatus.setTextColor(itemView.getContext().getColor(R.color.red_expense));
@@ -239,13 +288,6 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.BudgetView
                 tvStatus.setTextColor(itemView.getContext().getColor(R.color.green_income));
                 ivAlertIcon.setVisibility(View.GONE);
             }
-
-            itemView.setOnClickListener(v -> listener.onBudgetClick(budget));
-            btnDelete.setOnClickListener(v -> {
-                if (deleteListener != null) {
-                    deleteListener.onBudgetDelete(budget);
-                }
-            });
         }
 
         private String calculateDateRange(Budget budget) {
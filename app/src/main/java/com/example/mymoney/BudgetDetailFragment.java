@@ -11,6 +11,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LiveData;
 
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.dao.BudgetDao;
@@ -21,7 +22,6 @@ import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
 public class BudgetDetailFragment extends Fragment {
 
@@ -36,6 +36,7 @@ public class BudgetDetailFragment extends Fragment {
 
     private BudgetDao budgetDao;
     private TransactionDao transactionDao;
+    private LiveData<Double> spentSource;
     private Budget currentBudget;
     private Calendar currentPeriodStart;
     private Calendar currentPeriodEnd;
@@ -75,12 +76,6 @@ public class BudgetDetailFragment extends Fragment {
         budgetDao = AppDatabase.getInstance(requireContext()).budgetDao();
         transactionDao = AppDatabase.getInstance(requireContext()).transactionDao();
 
-        // Load budget data
-        int budgetId = getArguments() != null ? getArguments().getInt(ARG_BUDGET_ID, -1) : -1;
-        if (budgetId != -1) {
-            loadBudgetData(budgetId);
-        }
-
         // Button listeners
         btnPreviousPeriod.setOnClickListener(v -> navigatePeriod(-1));
         btnNextPeriod.setOnClickListener(v -> navigatePeriod(1));
@@ -91,17 +86,27 @@ public class BudgetDetailFragment extends Fragment {
         return view;
     }
 
-    private void loadBudgetData(int budgetId) {
-        Executors.newSingleThreadExecutor().execute(() -> {
-            currentBudget = budgetDao.getBudgetById(budgetId);
-
-            requireActivity().runOnUiThread(() -> {
-                if (currentBudget != null) {
-                    displayBudgetInfo();
-                    calculateCurrentPeriod();
-                    updatePeriodDisplay();
-                }
-            });
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Load budget data
+        int budgetId = getArguments() != null ? getArguments().getInt(ARG_BUDGET_ID, -1) : -1;
+        if (budgetId != -1) {
+            observeBudget(budgetId);
+        }
+    }
+
+    private void observeBudget(int budgetId) {
+        budgetDao.observeBudgetById(budgetId).observe(getViewLifecycleOwner(), budget -> {
+            if (budget == null) return;
+            currentBudget = budget;
+            displayBudgetInfo();
+            // Keep the period the user navigated to when the budget is re-emitted
+            if (currentPeriodStart == null) {
+                calculateCurrentPeriod();
+            }
+            updatePeriodDisplay();
         });
     }
 
@@ -190,36 +195,36 @@ public class BudgetDetailFragment extends Fragment {
         long daysLeft = diffMillis / (1000 * 60 * 60 * 24);
         tvDaysLeft.setText(daysLeft + "d left");
 
-        // Load transaction data for current period
-        loadTransactionData();
+        // Observe spending for current period
+        observeSpending();
     }
 
-    private void loadTransactionData() {
+    private void observeSpending() {
         long startMillis = currentPeriodStart.getTimeInMillis();
-        long endMillis = currentPeriodEnd.getTimeInMillis();
-
-        Executors.newSingleThreadExecutor().execute(() -> {
-            // TODO: Query transactions for current period
-            double totalSpent = transactionDao.getTotalExpenseSince(startMillis);
-
-            requireActivity().runOnUiThread(() -> {
-                double budgetAmount = currentBudget.getBudgetAmount();
-
-                // Update spent amount
-                tvSpentAmount.setText(df.format(totalSpent) + " / " + df.format(budgetAmount));
-
-                // Calculate and update progress
-                int progress = budgetAmount > 0 ? (int) ((totalSpent / budgetAmount) * 100) : 0;
-                if (progress > 100) progress = 100;
-                progressCircular.setProgress(progress);
-                tvProgressPercentage.setText(progress + "%");
-
-                // Calculate daily average
-                Calendar today = Calendar.getInstance();
-                long daysPassed = (today.getTimeInMillis() - startMillis) / (1000 * 60 * 60 * 24) + 1;
-                double dailyAvg = daysPassed > 0 ? totalSpent / daysPassed : 0;
-                tvDailyAverage.setText("Daily:" + formatShortAmount(dailyAvg));
-            });
+
+        // Switch to the new period's query; Room re-runs it whenever transactions change
+        if (spentSource != null) {
+            spentSource.removeObservers(getViewLifecycleOwner());
+        }
+        // TODO: Query transactions for current period
+        spentSource = transactionDao.observeTotalExpenseSince(startMillis);
+        spentSource.observe(getViewLifecycleOwner(), totalSpent -> {
+            double budgetAmount = currentBudget.getBudgetAmount();
+
+            // Update spent amount
+            tvSpentAmount.setText(df.format(totalSpent) + " / " + df.format(budgetAmount));
+
+            // Calculate and update progress
+            int progress = budgetAmount > 0 ? (int) ((totalSpent / budgetAmount) * 100) : 0;
+            if (progress > 100) progress = 100;
+            progressCircular.setProgress(progress);
+            tvProgressPercentage.setText(progress + "%");
+
+            // Calculate daily average
+            Calendar today = Calendar.getInstance();
+            long daysPassed = (today.getTimeInMillis() - startMillis) / (1000 * 60 * 60 * 24) + 1;
+            double dailyAvg = daysPassed > 0 ? totalSpent / daysPassed : 0;
+            tvDailyAverage.setText("Daily:" + formatShortAmount(dailyAvg));
         });
     }
 
@@ -15,16 +15,17 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.mymoney.budget.BudgetNotificationService;
-import com.example.mymoney.budget.BudgetRuleEngine;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.dao.BudgetDao;
 import com.example.mymoney.database.dao.CategoryDao;
 import com.example.mymoney.database.entity.Budget;
 import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.utils.AppExecutors;
+import com.example.mymoney.viewmodel.BudgetViewModel;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
 
 import java.util.ArrayList;
@@ -32,7 +33,6 @@ import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 public class BudgetFragment extends Fragment {
 
@@ -44,10 +44,9 @@ public class BudgetFragment extends Fragment {
     private BudgetDao budgetDao;
     private CategoryDao categoryDao;
     private BudgetAdapter adapter;
-    private List<Budget> budgetList = new ArrayList<>();
     private Map<Integer, Double> spentAmountsMap = new HashMap<>();
     private int lastWalletId = -1;
-    private BudgetNotificationService notificationService;
+    private BudgetViewModel viewModel;
 
     // For category spinner in dialog
     private List<Category> expenseCategories = new ArrayList<>();
@@ -66,20 +65,27 @@ public class BudgetFragment extends Fragment {
         budgetDao = AppDatabase.getInstance(requireContext()).budgetDao();
         categoryDao = AppDatabase.getInstance(requireContext()).categoryDao();
 
-        // Initialize notification service
-        notificationService = new BudgetNotificationService(requireContext());
+        // Budgets + spent amounts are cached in the activity-scoped ViewModel
+        viewModel = new ViewModelProvider(requireActivity()).get(BudgetViewModel.class);
 
         // Setup RecyclerView
         setupRecyclerView();
 
-        // Load budgets
-        loadBudgets();
-
         // Button listeners
         btnAddBudget.setOnClickListener(v -> showCreateBudgetDialog());
         return view;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        viewModel.getState().observe(getViewLifecycleOwner(), this::render);
+
+        // Load budgets, and reload whenever budgets or spending change
+        viewModel.dataChanges().observe(getViewLifecycleOwner(), version -> loadBudgets());
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -95,14 +101,12 @@ public class BudgetFragment extends Fragment {
      * Public method to refresh data (called by MainActivity when wallet changes)
      */
     public void refreshData() {
-        lastWalletId = MainActivity.getSelectedWalletId();
         loadBudgets();
     }
 
     private void setupRecyclerView() {
         adapter = new BudgetAdapter(
                 requireContext(),
-                budgetList,
                 budget -> {
                     // Budget clicked - detail screen removed for now
                     Toast.makeText(requireContext(), budget.getName() + ": $" +
@@ -113,8 +117,7 @@ public class BudgetFragment extends Fragment {
                 budget -> {
                     // Delete budget
                     showDeleteConfirmDialog(budget);
-                },
-                spentAmountsMap
+                }
         );
 
         rvBudgets.setLayoutManager(new LinearLayoutManager(requireContext()));
@@ -122,79 +125,21 @@ public class BudgetFragment extends Fragment {
     }
 
     private void loadBudgets() {
-        Executors.newSingleThreadExecutor().execute(() -> {
-            // Load budgets for current wallet
-            int currentWalletId = MainActivity.getSelectedWalletId();
-            List<Budget> budgets;
-            if (currentWalletId > 0) {
-                budgets = budgetDao.getBudgetsByWalletId(currentWalletId);
-            } else {
-                budgets = budgetDao.getAllBudgets();
-            }
-
-            // Pre-calculate expenses for each budget (filtered by wallet and category)
-            Map<Integer, Double> expensesMap = new HashMap<>();
-            AppDatabase db = AppDatabase.getInstance(requireContext());
-            for (Budget budget : budgets) {
-                long[] periodRange = BudgetAdapter.calculatePeriodRange(budget);
-                int walletId = budget.getWalletId();
-                Integer categoryId = budget.getCategoryId();
-
-                double spent;
-                if (categoryId != null && categoryId > 0) {
-                    // Category-specific budget - only count expenses for this category
-                    spent = db.transactionDao().getTotalExpenseBetweenForWalletAndCategory(
-                            periodRange[0], periodRange[1], walletId, categoryId);
-                } else {
-                    // Global budget - count all expenses
-                    spent = db.transactionDao().getTotalExpenseBetweenForWallet(
-                            periodRange[0], periodRange[1], walletId);
-                }
-                expensesMap.put(budget.getId(), spent);
-
-                // Debug logging
-                String categoryInfo = (categoryId != null && categoryId > 0) ?
-                        " CategoryID: " + categoryId : " (Global)";
-                android.util.Log.d("BudgetFragment", "Budget: " + budget.getName() +
-                        " (ID: " + budget.getId() + ", Type: " + budget.getBudgetType() +
-                        ", WalletID: " + walletId + categoryInfo + ")" +
-                        " | Period: " + new java.text.SimpleDateFormat("MM/dd/yyyy HH:mm:ss", java.util.Locale.getDefault()).format(new java.util.Date(periodRange[0])) +
-                        " to " + new java.text.SimpleDateFormat("MM/dd/yyyy HH:mm:ss", java.util.Locale.getDefault()).format(new java.util.Date(periodRange[1])) +
-                        " | Spent: $" + spent);
-            }
-
-            // Run rule-based analysis and check for notifications
-            if (!budgets.isEmpty()) {
-                BudgetRuleEngine.BudgetAnalysisResult analysisResult =
-                        BudgetRuleEngine.analyzeBudgets(budgets, expensesMap);
-                notificationService.checkAndNotify(analysisResult);
-            }
+        lastWalletId = MainActivity.getSelectedWalletId();
+        viewModel.load(lastWalletId);
+    }
 
-            // Build category names map for display
-            Map<Integer, String> categoryNamesMap = new HashMap<>();
-            List<Category> allCategories = categoryDao.getAllCategories();
-            for (Category category : allCategories) {
-                categoryNamesMap.put(category.getId(), category.getName());
-            }
+    private void render(BudgetViewModel.State state) {
+        spentAmountsMap = state.spentAmounts;
+        adapter.submit(state.budgets, state.spentAmounts, state.categoryNames);
 
-            final Map<Integer, String> finalCategoryNamesMap = categoryNamesMap;
-            requireActivity().runOnUiThread(() -> {
-                budgetList.clear();
-                budgetList.addAll(budgets);
-                spentAmountsMap.clear();
-                spentAmountsMap.putAll(expensesMap);
-                adapter.setCategoryNamesMap(finalCategoryNamesMap);
-                adapter.notifyDataSetChanged();
-
-                if (budgets.isEmpty()) {
-                    layoutEmptyState.setVisibility(View.VISIBLE);
-                    rvBudgets.setVisibility(View.GONE);
-                } else {
-                    layoutEmptyState.setVisibility(View.GONE);
-                    rvBudgets.setVisibility(View.VISIBLE);
-                }
-            });
-        });
+        if (state.budgets.isEmpty()) {
+            layoutEmptyState.setVisibility(View.VISIBLE);
+            rvBudgets.setVisibility(View.GONE);
+        } else {
+            layoutEmptyState.setVisibility(View.GONE);
+            rvBudgets.setVisibility(View.VISIBLE);
+        }
     }
 
     private void showCreateBudgetDialog() {
@@ -354,13 +299,12 @@ public class BudgetFragment extends Fragment {
                     budget.setCategoryId(null); // Global budget (no specific category)
                 }
 
-                Executors.newSingleThreadExecutor().execute(() -> {
+                AppExecutors.getInstance().diskIO().execute(() -> {
                     try {
                         budgetDao.insert(budget);
                         requireActivity().runOnUiThread(() -> {
                             Toast.makeText(requireContext(), "Budget created successfully", Toast.LENGTH_SHORT).show();
                             dialog.dismiss();
-                            loadBudgets();
                         });
                     } catch (Exception e) {
                         requireActivity().runOnUiThread(() -> {
@@ -381,11 +325,10 @@ public class BudgetFragment extends Fragment {
                 .setTitle("Delete Budget")
                 .setMessage("Are you sure you want to delete \"" + budget.getName() + "\"?")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    Executors.newSingleThreadExecutor().execute(() -> {
+                    AppExecutors.getInstance().diskIO().execute(() -> {
                         budgetDao.delete(budget);
                         requireActivity().runOnUiThread(() -> {
                             Toast.makeText(requireContext(), "Budget deleted", Toast.LENGTH_SHORT).show();
-                            loadBudgets();
                         });
                     });
                 })
@@ -397,7 +340,7 @@ public class BudgetFragment extends Fragment {
      * Load expense categories for the spinner
      */
     private void loadCategoriesForSpinner(Spinner spinner) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             List<Category> categories = categoryDao.getAllExpenseCategories();
 
             requireActivity().runOnUiThread(() -> {
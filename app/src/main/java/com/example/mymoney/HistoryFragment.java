@@ -19,14 +19,17 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.adapter.TransactionAdapter;
 import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.TransactionFilter;
 import com.example.mymoney.database.entity.Category;
 import com.example.mymoney.database.entity.Transaction;
-import com.example.mymoney.database.entity.Wallet;
+import com.example.mymoney.utils.AppExecutors;
+import com.example.mymoney.viewmodel.HistoryViewModel;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -42,7 +45,13 @@ public class HistoryFragment extends Fragment {
     private EditText searchEditText;
     private ImageView filterIcon;
 
-    private List<Transaction> allTransactions = new ArrayList<>();
+    // Loaded pages, search index and results live in the activity-scoped ViewModel
+    private HistoryViewModel viewModel;
+
+    // Search: debounced keystrokes, newest query wins
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+    private final android.os.Handler searchHandler = new android.os.Handler(android.os.Looper.getMainLooper());
+    private Runnable pendingSearch;
 
     // Filter state
     private String filterType = "all"; // "all", "expense", "income"
@@ -73,21 +82,53 @@ public class HistoryFragment extends Fragment {
         searchEditText = view.findViewById(R.id.search_edit_text);
         filterIcon = view.findViewById(R.id.filter_icon);
 
+        viewModel = new ViewModelProvider(requireActivity()).get(HistoryViewModel.class);
+        TransactionFilter previousFilter = viewModel.getFilter();
+        if (previousFilter != null) {
+            // Restore the filter chosen before the tab was switched
+            filterType = previousFilter.getType();
+            filterCategoryId = previousFilter.getCategoryId();
+            filterStartDate = previousFilter.getStartDate();
+            filterEndDate = previousFilter.getEndDate();
+        }
+
         // Set up RecyclerView
         setupRecyclerView();
 
         // Set up search functionality
         setupSearch();
 
-        // Load transactions
-        loadTransactions();
+        viewModel.getTransactions().observe(getViewLifecycleOwner(), this::render);
+
+        // Load transactions now and again whenever transactions/categories are written
+        viewModel.dataChanges().observe(getViewLifecycleOwner(), version -> onDataChanged());
+    }
+
+    /**
+     * Reloads the current view of the data: the paged list, or the active search results
+     */
+    private void onDataChanged() {
+        String query = searchEditText.getText() != null ? searchEditText.getText().toString() : "";
+        if (query.trim().isEmpty()) {
+            loadTransactions();
+        } else {
+            filterTransactions(query);
+        }
+    }
+
+    /**
+     * The adapter diffs the new snapshot against what it shows, so a new page only inserts its
+     * rows and a single edited transaction only re-binds that row
+     */
+    private void render(HistoryViewModel.ListState state) {
+        adapter.setTransactions(state.items);
     }
 
     @Override
-    public void onResume() {
-        super.onResume();
-        // Reload transactions when fragment becomes visible
-        loadTransactions();
+    public void onDestroyView() {
+        super.onDestroyView();
+        viewModel.cancelSearch();
+        searchHandler.removeCallbacksAndMessages(null);
     }
 
     private void setupRecyclerView() {
@@ -107,8 +148,7 @@ public class HistoryFragment extends Fragment {
 
                                 @Override
                                 public void onEdit(Transaction editedTransaction) {
-                                    // Refresh data after edit
-                                    loadTransactions();
+                                    // Saving the edit invalidates the observed tables
                                 }
                             }
                     );
@@ -116,6 +156,9 @@ public class HistoryFragment extends Fragment {
                 }
         );
         transactionsRecyclerView.setAdapter(adapter);
+
+        // Keyset paging: only the pages the user scrolls to are loaded
+        viewModel.attachTo(transactionsRecyclerView);
     }
 
     private void setupSearch() {
@@ -126,7 +169,7 @@ public class HistoryFragment extends Fragment {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                filterTransactions(s.toString());
+                scheduleSearch(s.toString());
             }
 
             @Override
@@ -142,88 +185,39 @@ public class HistoryFragment extends Fragment {
     private void loadTransactions() {
         android.util.Log.d("HistoryFragment", "loadTransactions() called - Current user: " + MainActivity.getCurrentUserId() + ", Selected wallet: " + MainActivity.getSelectedWalletId());
 
-        new Thread(() -> {
-            try {
-                AppDatabase db = AppDatabase.getInstance(requireContext());
-                int walletId = MainActivity.getSelectedWalletId();
-
-                // If no wallet selected, get all transactions for user
-                List<Transaction> transactions;
-                if (walletId == -1) {
-                    transactions = db.transactionDao().getTransactionsByUserId(MainActivity.getCurrentUserId());
-                    android.util.Log.d("HistoryFragment", "Loading all transactions for user " + MainActivity.getCurrentUserId() + ": " + transactions.size() + " found");
-                } else {
-                    transactions = db.transactionDao().getTransactionsByWalletId(walletId);
-                    android.util.Log.d("HistoryFragment", "Loading transactions for wallet " + walletId + ": " + transactions.size() + " found");
-                }
+        // Filter dialog state is pushed into SQL; if no wallet selected, page through all of the user's wallets
+        TransactionFilter filter = new TransactionFilter()
+                .setWalletId(MainActivity.getSelectedWalletId())
+                .setUserId(MainActivity.getCurrentUserId())
+                .setType(filterType)
+                .setCategoryId(filterCategoryId)
+                .setDateRange(filterStartDate, filterEndDate);
 
-                allTransactions = transactions;
+        viewModel.loadTransactions(filter);
+    }
 
-                // Update UI on main thread
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        adapter.setTransactions(transactions);
-                        android.util.Log.d("HistoryFragment", "Loaded " + transactions.size() + " transactions");
-                    });
-                }
-            } catch (Exception e) {
-                android.util.Log.e("HistoryFragment", "Error loading transactions", e);
-                e.printStackTrace();
-            }
-        }).start();
+    private void scheduleSearch(String query) {
+        // Cancel the pending keystroke and any search still running
+        viewModel.cancelSearch();
+        if (pendingSearch != null) {
+            searchHandler.removeCallbacks(pendingSearch);
+        }
+        pendingSearch = () -> filterTransactions(query);
+        searchHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
     }
 
     private void filterTransactions(String query) {
         if (query == null || query.trim().isEmpty()) {
-            adapter.setTransactions(allTransactions);
+            loadTransactions();
             return;
         }
 
-        // Filter transactions by description or amount
-        new Thread(() -> {
-            try {
-                List<Transaction> filtered = new ArrayList<>();
-                String lowerQuery = query.toLowerCase();
-
-                AppDatabase db = AppDatabase.getInstance(requireContext());
-
-                for (Transaction transaction : allTransactions) {
-                    // Check description
-                    if (transaction.getDescription() != null &&
-                            transaction.getDescription().toLowerCase().contains(lowerQuery)) {
-                        filtered.add(transaction);
-                        continue;
-                    }
-
-                    // Check amount
-                    String amountStr = String.valueOf((int) transaction.getAmount());
-                    if (amountStr.contains(query)) {
-                        filtered.add(transaction);
-                        continue;
-                    }
-
-                    // Check category name
-                    com.example.mymoney.database.entity.Category category =
-                            db.categoryDao().getCategoryById(transaction.getCategoryId());
-                    if (category != null &&
-                            category.getName().toLowerCase().contains(lowerQuery)) {
-                        filtered.add(transaction);
-                    }
-                }
-
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        adapter.setTransactions(filtered);
-                    });
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }).start();
+        // Filter transactions by description, amount or category name
+        viewModel.search(query, MainActivity.getSelectedWalletId(), MainActivity.getCurrentUserId());
     }
 
     /**
-     * Public method to refresh data from outside (e.g., after importing transaction)
+     * Public method to refresh data from outside (when the selected wallet/user changes)
      */
     public void refreshData() {
         android.util.Log.d("HistoryFragment", "refreshData() called from MainActivity");
@@ -359,131 +353,75 @@ public class HistoryFragment extends Fragment {
     }
 
     private void loadCategoriesForFilter(Spinner categorySpinner) {
-        new Thread(() -> {
+        // Resolve context/strings here: the task can outlive the fragment's attachment
+        AppDatabase db = AppDatabase.getInstance(requireContext());
+        String allCategories = getString(R.string.all_categories);
+
+        AppExecutors.getInstance().diskIO(this, () -> {
             try {
-                AppDatabase db = AppDatabase.getInstance(requireContext());
-                categoryList = db.categoryDao().getAllCategories();
+                List<Category> categories = db.categoryDao().getAllCategories();
 
                 // Create category names list with "All Categories" option
                 List<String> categoryNames = new ArrayList<>();
-                categoryNames.add(getString(R.string.all_categories));
+                categoryNames.add(allCategories);
 
-                for (Category category : categoryList) {
+                for (Category category : categories) {
                     categoryNames.add(category.getName());
                 }
 
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        ArrayAdapter<String> adapter = new ArrayAdapter<>(
-                                requireContext(),
-                                android.R.layout.simple_spinner_item,
-                                categoryNames
-                        );
-                        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-                        categorySpinner.setAdapter(adapter);
-
-                        // Set current selection
-                        if (filterCategoryId != -1) {
-                            for (int i = 0; i < categoryList.size(); i++) {
-                                if (categoryList.get(i).getId() == filterCategoryId) {
-                                    categorySpinner.setSelection(i + 1);
-                                    break;
-                                }
+                AppExecutors.getInstance().mainThread().execute(() -> {
+                    if (!isAdded()) return;
+                    categoryList = categories;
+
+                    ArrayAdapter<String> adapter = new ArrayAdapter<>(
+                            categorySpinner.getContext(),
+                            android.R.layout.simple_spinner_item,
+                            categoryNames
+                    );
+                    adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+                    categorySpinner.setAdapter(adapter);
+
+                    // Set current selection
+                    if (filterCategoryId != -1) {
+                        for (int i = 0; i < categoryList.size(); i++) {
+                            if (categoryList.get(i).getId() == filterCategoryId) {
+                                categorySpinner.setSelection(i + 1);
+                                break;
                             }
                         }
-                    });
-                }
+                    }
+                });
             } catch (Exception e) {
                 android.util.Log.e("HistoryFragment", "Error loading categories", e);
             }
-        }).start();
+        });
     }
 
     private void applyFilters() {
-        new Thread(() -> {
-            try {
-                List<Transaction> filtered = new ArrayList<>();
-
-                for (Transaction transaction : allTransactions) {
-                    // Type filter
-                    if (!filterType.equals("all")) {
-                        if (!filterType.equalsIgnoreCase(transaction.getType())) {
-                            continue;
-                        }
-                    }
-
-                    // Category filter
-                    if (filterCategoryId != -1) {
-                        if (transaction.getCategoryId() != filterCategoryId) {
-                            continue;
-                        }
-                    }
-
-                    // Date range filter
-                    if (filterStartDate > 0) {
-                        if (transaction.getCreatedAt() < filterStartDate) {
-                            continue;
-                        }
-                    }
-
-                    if (filterEndDate > 0) {
-                        if (transaction.getCreatedAt() > filterEndDate) {
-                            continue;
-                        }
-                    }
-
-                    filtered.add(transaction);
-                }
-
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> adapter.setTransactions(filtered));
-                }
-            } catch (Exception e) {
-                android.util.Log.e("HistoryFragment", "Error applying filters", e);
-            }
-        }).start();
+        // Filters are part of the paged SQL query; only matching rows are loaded
+        loadTransactions();
     }
 
     private void deleteTransaction(Transaction transaction) {
-        new Thread(() -> {
-            try {
-                AppDatabase db = AppDatabase.getInstance(requireContext());
-
-                // Update wallet balance before deleting
-                Wallet wallet = db.walletDao().getWalletById(transaction.getWalletId());
-                if (wallet != null) {
-                    double currentBalance = wallet.getBalance();
-                    double newBalance;
-                    if ("income".equals(transaction.getType())) {
-                        // Reverse the income
-                        newBalance = currentBalance - transaction.getAmount();
-                    } else {
-                        // Reverse the expense
-                        newBalance = currentBalance + transaction.getAmount();
-                    }
-                    db.walletDao().updateBalance(wallet.getId(), newBalance, System.currentTimeMillis());
-                }
+        // The delete must finish even if the user leaves the screen: app context only, no owner
+        Context appContext = requireContext().getApplicationContext();
+        AppDatabase db = AppDatabase.getInstance(appContext);
 
-                // Delete the transaction
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            String message;
+            try {
+                // Delete the transaction (the wallet balance is reversed by a trigger)
                 db.transactionDao().delete(transaction);
-
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        android.widget.Toast.makeText(requireContext(),
-                                "Transaction deleted", android.widget.Toast.LENGTH_SHORT).show();
-                        loadTransactions();
-                    });
-                }
+                message = "Transaction deleted";
             } catch (Exception e) {
                 android.util.Log.e("HistoryFragment", "Error deleting transaction", e);
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        android.widget.Toast.makeText(requireContext(),
-                                "Error deleting transaction", android.widget.Toast.LENGTH_SHORT).show();
-                    });
-                }
+                message = "Error deleting transaction";
             }
-        }).start();
+
+            String toast = message;
+            AppExecutors.getInstance().mainThread().execute(() ->
+                    android.widget.Toast.makeText(appContext, toast, android.widget.Toast.LENGTH_SHORT).show());
+        });
     }
 
 }
\ No newline at end of file
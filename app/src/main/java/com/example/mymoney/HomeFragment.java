@@ -1,6 +1,7 @@
 package com.example.mymoney;
 
 import android.app.DatePickerDialog;
+import android.content.Context;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -12,24 +13,24 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.adapter.DailyTransactionGroupAdapter;
 import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.DashboardRepository;
 import com.example.mymoney.database.entity.Transaction;
-import com.example.mymoney.database.entity.Wallet;
-import com.example.mymoney.model.DailyTransactionGroup;
+import com.example.mymoney.utils.AppExecutors;
+import com.example.mymoney.utils.LatencyTimer;
+import com.example.mymoney.viewmodel.HomeViewModel;
+import com.example.mymoney.viewmodel.HomeViewModel.Period;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 public class HomeFragment extends Fragment {
 
@@ -48,10 +49,11 @@ public class HomeFragment extends Fragment {
     private TextView periodCustom;
 
     // Current selected period
-    private enum Period { TODAY, THIS_WEEK, THIS_MONTH, THIS_YEAR, CUSTOM }
-    private Period currentPeriod = Period.THIS_MONTH;
-    private long customStartDate = 0;
-    private long customEndDate = 0;
+    private HomeViewModel viewModel;
+
+    // Instrumentation: fragment created → first render, period tapped → render
+    private static final String TIMER_COLD_START = "home.cold_start";
+    private static final String TIMER_PERIOD_SWITCH = "home.period_switch";
     // ===== SAVING GOALS =====
     private TextView tvGoalName1, tvGoalName2;
     private TextView tvGoalPercent1, tvGoalPercent2;
@@ -102,10 +104,20 @@ public class HomeFragment extends Fragment {
         tvNoSavingGoal = view.findViewById(R.id.tv_no_saving_goal);
 
 
+        // State lives in the activity-scoped ViewModel: tab switches re-render the cached state,
+        // and it is only recomputed when a table this screen reads changes. The selected period
+        // lives there too, so it is read before the selector is drawn
+        viewModel = new ViewModelProvider(requireActivity()).get(HomeViewModel.class);
+
         setupRecyclerView();
         setupFab();
         setupPeriodSelector();
-        loadWalletData();
+
+        if (viewModel.getState().getValue() == null) {
+            LatencyTimer.start(TIMER_COLD_START);
+        }
+        viewModel.getState().observe(getViewLifecycleOwner(), this::render);
+        viewModel.dataChanges().observe(getViewLifecycleOwner(), version -> loadWalletData());
     }
 
     private void setupPeriodSelector() {
@@ -116,11 +128,15 @@ public class HomeFragment extends Fragment {
         periodCustom.setOnClickListener(v -> showCustomDatePicker());
 
         // Set initial selection
+        if (viewModel.getPeriod() == Period.CUSTOM) {
+            showCustomRange();
+        }
         updatePeriodSelectorUI();
     }
 
     private void selectPeriod(Period period) {
-        currentPeriod = period;
+        LatencyTimer.start(TIMER_PERIOD_SWITCH);
+        viewModel.setPeriod(period);
         updatePeriodSelectorUI();
         loadWalletData();
     }
@@ -135,7 +151,7 @@ public class HomeFragment extends Fragment {
 
         // Set selected state for current period
         TextView selectedButton = null;
-        switch (currentPeriod) {
+        switch (viewModel.getPeriod()) {
             case TODAY:
                 selectedButton = periodToday;
                 break;
@@ -174,7 +190,7 @@ public class HomeFragment extends Fragment {
                     Calendar startCal = Calendar.getInstance();
                     startCal.set(year, month, dayOfMonth, 0, 0, 0);
                     startCal.set(Calendar.MILLISECOND, 0);
-                    customStartDate = startCal.getTimeInMillis();
+                    long startDate = startCal.getTimeInMillis();
 
                     // Show end date picker
                     DatePickerDialog endDatePicker = new DatePickerDialog(
@@ -183,15 +199,11 @@ public class HomeFragment extends Fragment {
                                 Calendar endCal = Calendar.getInstance();
                                 endCal.set(year2, month2, dayOfMonth2, 23, 59, 59);
                                 endCal.set(Calendar.MILLISECOND, 999);
-                                customEndDate = endCal.getTimeInMillis();
 
-                                currentPeriod = Period.CUSTOM;
+                                LatencyTimer.start(TIMER_PERIOD_SWITCH);
+                                viewModel.setCustomRange(startDate, endCal.getTimeInMillis());
                                 updatePeriodSelectorUI();
-
-                                // Update custom button text to show date range
-                                SimpleDateFormat sdf = new SimpleDateFormat("dd/MM", Locale.getDefault());
-                                String dateRange = sdf.format(new Date(customStartDate)) + " - " + sdf.format(new Date(customEndDate));
-                                periodCustom.setText(dateRange);
+                                showCustomRange();
 
                                 loadWalletData();
                             },
@@ -210,11 +222,19 @@ public class HomeFragment extends Fragment {
         startDatePicker.show();
     }
 
+    private void showCustomRange() {
+        // Update custom button text to show date range
+        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM", Locale.getDefault());
+        String dateRange = sdf.format(new Date(viewModel.getCustomStartDate()))
+                + " - " + sdf.format(new Date(viewModel.getCustomEndDate()));
+        periodCustom.setText(dateRange);
+    }
+
     private long[] getDateRangeForPeriod() {
         Calendar calendar = Calendar.getInstance();
         long startDate, endDate;
 
-        switch (currentPeriod) {
+        switch (viewModel.getPeriod()) {
             case TODAY:
                 calendar.set(Calendar.HOUR_OF_DAY, 0);
                 calendar.set(Calendar.MINUTE, 0);
@@ -285,8 +305,8 @@ public class HomeFragment extends Fragment {
                 break;
 
             case CUSTOM:
-                startDate = customStartDate;
-                endDate = customEndDate;
+                startDate = viewModel.getCustomStartDate();
+                endDate = viewModel.getCustomEndDate();
                 break;
 
             default:
@@ -331,12 +351,6 @@ public class HomeFragment extends Fragment {
         });
     }
 
-    @Override
-    public void onResume() {
-        super.onResume();
-        loadWalletData();
-    }
-
     private void setupRecyclerView() {
         recentTransactionsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         dailyGroupAdapter = new DailyTransactionGroupAdapter(
@@ -354,8 +368,7 @@ public class HomeFragment extends Fragment {
 
                                 @Override
                                 public void onEdit(Transaction editedTransaction) {
-                                    // Refresh data after edit
-                                    loadWalletData();
+                                    // Saving the edit invalidates the tables observed above
                                 }
                             }
                     );
@@ -366,179 +379,83 @@ public class HomeFragment extends Fragment {
     }
 
     private void loadWalletData() {
+        long[] range = getDateRangeForPeriod();
+        viewModel.load(new HomeViewModel.Query(
+                MainActivity.getCurrentUserId(),
+                MainActivity.getSelectedWalletId(),
+                range[0],
+                range[1]));
+    }
 
-        new Thread(() -> {
-            try {
-                AppDatabase db = AppDatabase.getInstance(requireContext());
-                int userId = MainActivity.getCurrentUserId();
-                int walletId = MainActivity.getSelectedWalletId();
-
-                // ================= AUTO SELECT WALLET =================
-                if (walletId == -1) {
-                    List<Wallet> wallets =
-                            db.walletDao().getActiveWalletsByUserId(userId);
-                    if (!wallets.isEmpty()) {
-                        walletId = wallets.get(0).getId();
-                        MainActivity.setSelectedWalletId(walletId);
-                    }
-                }
-
-                if (walletId == -1 || getActivity() == null) return;
-
-                // ================= LOAD WALLET =================
-                Wallet wallet = db.walletDao().getWalletById(walletId);
-
-                // ================= LOAD SAVING GOALS =================
-                List<com.example.mymoney.database.entity.SavingGoal> savingGoals =
-                        db.savingGoalDao().getSavingGoalsByUserAndWallet(userId, walletId);
-
-                // ================= PERIOD RANGE =================
-                long[] range = getDateRangeForPeriod();
-                long startDate = range[0];
-                long endDate = range[1];
-
-                // ================= LOAD EXPENSE / INCOME =================
-                Double expenseResult =
-                        db.transactionDao().getTotalExpensesByDateRange(userId, startDate, endDate);
-                Double incomeResult =
-                        db.transactionDao().getTotalIncomeByDateRange(userId, startDate, endDate);
-
-                double totalExpense = expenseResult != null ? expenseResult : 0;
-                double totalIncome = incomeResult != null ? incomeResult : 0;
-
-                // ================= LOAD TRANSACTIONS =================
-                List<Transaction> txs =
-                        db.transactionDao().getTransactionsByWalletAndDateRange(
-                                walletId, startDate, endDate);
-
-                List<DailyTransactionGroup> groups = groupTransactionsByDate(txs);
-                List<DailyTransactionGroup> recentGroups =
-                        groups.size() > 5 ? groups.subList(0, 5) : groups;
-
-                final String currency = MainActivity.getSelectedWalletCurrency();
-                final Wallet finalWallet = wallet;
-                final double fe = totalExpense;
-                final double fi = totalIncome;
-                final List<DailyTransactionGroup> fg = recentGroups;
-                final List<com.example.mymoney.database.entity.SavingGoal> finalSavingGoals = savingGoals;
-
-                // ================= UPDATE UI =================
-                getActivity().runOnUiThread(() -> {
-
-                    // ===== BALANCE / EXPENSE / INCOME (BỊ THIẾU TRƯỚC ĐÓ) =====
-                    if (finalWallet != null) {
-                        balanceAmount.setText(
-                                String.format("Số dư: %,.0f %s",
-                                        finalWallet.getBalance(), currency)
-                        );
-                    } else {
-                        balanceAmount.setText("Số dư: 0 " + currency);
-                    }
-
-                    expensesAmount.setText(
-                            String.format("Chi tiêu: -%,.0f %s", fe, currency)
-                    );
-
-                    incomesAmount.setText(
-                            String.format("Thu nhập: +%,.0f %s", fi, currency)
-                    );
-
-                    // ===== SAVING GOALS =====
-                    if (finalSavingGoals == null || finalSavingGoals.isEmpty()) {
-
-                        tvNoSavingGoal.setVisibility(View.VISIBLE);
+    private void render(DashboardRepository.Snapshot state) {
+        LatencyTimer.stop(TIMER_COLD_START);
+        LatencyTimer.stop(TIMER_PERIOD_SWITCH);
+        if (state.walletId == -1) return;
+        if (MainActivity.getSelectedWalletId() == -1) {
+            MainActivity.setSelectedWalletId(state.walletId);
+        }
 
-                        layoutGoal1Circle.setVisibility(View.GONE);
-                        tvGoalName1.setVisibility(View.GONE);
-                        layoutGoal2.setVisibility(View.GONE);
+        final String currency = MainActivity.getSelectedWalletCurrency();
 
-                    } else {
+        // ===== BALANCE / EXPENSE / INCOME (BỊ THIẾU TRƯỚC ĐÓ) =====
+        if (state.wallet != null) {
+            balanceAmount.setText(
+                    String.format("Số dư: %,.0f %s",
+                            state.wallet.getBalance(), currency)
+            );
+        } else {
+            balanceAmount.setText("Số dư: 0 " + currency);
+        }
 
-                        tvNoSavingGoal.setVisibility(View.GONE);
+        expensesAmount.setText(
+                String.format("Chi tiêu: -%,.0f %s", state.totalExpense, currency)
+        );
 
-                        // GOAL 1
-                        layoutGoal1Circle.setVisibility(View.VISIBLE);
-                        tvGoalName1.setVisibility(View.VISIBLE);
+        incomesAmount.setText(
+                String.format("Thu nhập: +%,.0f %s", state.totalIncome, currency)
+        );
 
-                        var g1 = finalSavingGoals.get(0);
-                        int percent1 = calcPercent(g1);
+        // ===== SAVING GOALS =====
+        if (state.savingGoals == null || state.savingGoals.isEmpty()) {
 
-                        tvGoalName1.setText(g1.getName());
-                        tvGoalPercent1.setText(percent1 + "%");
-                        progressGoal1.setProgress(percent1);
+            tvNoSavingGoal.setVisibility(View.VISIBLE);
 
-                        // GOAL 2
-                        if (finalSavingGoals.size() >= 2) {
-                            layoutGoal2.setVisibility(View.VISIBLE);
+            layoutGoal1Circle.setVisibility(View.GONE);
+            tvGoalName1.setVisibility(View.GONE);
+            layoutGoal2.setVisibility(View.GONE);
 
-                            var g2 = finalSavingGoals.get(1);
-                            int percent2 = calcPercent(g2);
+        } else {
 
-                            tvGoalName2.setText(g2.getName());
-                            tvGoalPercent2.setText(percent2 + "%");
-                            progressGoal2.setProgress(percent2);
-                        } else {
-                            layoutGoal2.setVisibility(View.GONE);
-                        }
-                    }
+            tvNoSavingGoal.setVisibility(View.GONE);
 
-                    // ===== TRANSACTION LIST =====
-                    dailyGroupAdapter.setDailyGroups(fg);
-                });
+            // GOAL 1
+            layoutGoal1Circle.setVisibility(View.VISIBLE);
+            tvGoalName1.setVisibility(View.VISIBLE);
 
-            } catch (Exception e) {
-                android.util.Log.e("HomeFragment", "loadWalletData error", e);
-            }
-        }).start();
-    }
+            var g1 = state.savingGoals.get(0);
+            int percent1 = calcPercent(g1);
 
+            tvGoalName1.setText(g1.getName());
+            tvGoalPercent1.setText(percent1 + "%");
+            progressGoal1.setProgress(percent1);
 
-    /**
-     * Group transactions by date
-     */
-    private List<DailyTransactionGroup> groupTransactionsByDate(List<Transaction> transactions) {
-        // Use LinkedHashMap to maintain order
-        Map<String, List<Transaction>> groupedMap = new LinkedHashMap<>();
-        SimpleDateFormat dateKeyFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        SimpleDateFormat displayFormat = new SimpleDateFormat("EEE, dd/MM", Locale.getDefault());
+            // GOAL 2
+            if (state.savingGoals.size() >= 2) {
+                layoutGoal2.setVisibility(View.VISIBLE);
 
-        for (Transaction transaction : transactions) {
-            Date date = new Date(transaction.getCreatedAt());
-            String dateKey = dateKeyFormat.format(date);
+                var g2 = state.savingGoals.get(1);
+                int percent2 = calcPercent(g2);
 
-            if (!groupedMap.containsKey(dateKey)) {
-                groupedMap.put(dateKey, new ArrayList<>());
+                tvGoalName2.setText(g2.getName());
+                tvGoalPercent2.setText(percent2 + "%");
+                progressGoal2.setProgress(percent2);
+            } else {
+                layoutGoal2.setVisibility(View.GONE);
             }
-            groupedMap.get(dateKey).add(transaction);
         }
 
-        // Convert to list of DailyTransactionGroup
-        List<DailyTransactionGroup> dailyGroups = new ArrayList<>();
-        for (Map.Entry<String, List<Transaction>> entry : groupedMap.entrySet()) {
-            String dateKey = entry.getKey();
-            List<Transaction> dayTransactions = entry.getValue();
-
-            if (!dayTransactions.isEmpty()) {
-                long timestamp = dayTransactions.get(0).getCreatedAt();
-                Date date = new Date(timestamp);
-                String displayDate = displayFormat.format(date);
-
-                // Get day of week for full date
-                Calendar calendar = Calendar.getInstance();
-                calendar.setTime(date);
-                String fullDate = new SimpleDateFormat("EEEE, MMMM dd, yyyy", Locale.getDefault()).format(date);
-
-                DailyTransactionGroup group = new DailyTransactionGroup(
-                        displayDate,
-                        fullDate,
-                        timestamp,
-                        dayTransactions
-                );
-                dailyGroups.add(group);
-            }
-        }
-
-        return dailyGroups;
+        // ===== TRANSACTION LIST =====
+        dailyGroupAdapter.setDailyGroups(state.recentGroups);
     }
 
     public void refreshData() {
@@ -546,45 +463,29 @@ public class HomeFragment extends Fragment {
     }
 
     private void deleteTransaction(Transaction transaction) {
-        new Thread(() -> {
-            try {
-                AppDatabase db = AppDatabase.getInstance(requireContext());
-
-                // Update wallet balance
-                Wallet wallet = db.walletDao().getWalletById(transaction.getWalletId());
-                if (wallet != null) {
-                    double amount = transaction.getAmount();
-                    if ("income".equals(transaction.getType())) {
-                        wallet.setBalance(wallet.getBalance() - amount);
-                    } else {
-                        wallet.setBalance(wallet.getBalance() + amount);
-                    }
-                    db.walletDao().update(wallet);
-                }
+        // Captured on the main thread: the delete runs on even if the fragment is detached
+        Context appContext = requireContext().getApplicationContext();
+        AppDatabase db = AppDatabase.getInstance(appContext);
 
-                // Delete transaction
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            String message;
+            try {
+                // Delete transaction (the wallet balance is reversed by a trigger)
                 db.transactionDao().delete(transaction);
-
-                // Refresh UI
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        loadWalletData();
-                        android.widget.Toast.makeText(requireContext(),
-                                "Transaction deleted",
-                                android.widget.Toast.LENGTH_SHORT).show();
-                    });
-                }
+                message = "Transaction deleted";
             } catch (Exception e) {
                 android.util.Log.e("HomeFragment", "Error deleting transaction", e);
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        android.widget.Toast.makeText(requireContext(),
-                                "Failed to delete transaction",
-                                android.widget.Toast.LENGTH_SHORT).show();
-                    });
-                }
+                message = "Failed to delete transaction";
             }
-        }).start();
+
+            // Confirm (the screen reloads through its ViewModel's table observer)
+            String toast = message;
+            AppExecutors.getInstance().mainThread().execute(() -> {
+                if (isAdded()) {
+                    android.widget.Toast.makeText(appContext, toast, android.widget.Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
     }
     private int calcPercent(com.example.mymoney.database.entity.SavingGoal goal) {
         if (goal.getTarget() <= 0) return 0;
@@ -41,6 +41,7 @@ import com.example.mymoney.importer.ReceiptReviewDialog;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.entity.Category;
 import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.utils.AppExecutors;
 import com.example.mymoney.utils.BudgetExceedHelper;
 
 
@@ -271,7 +272,7 @@ public class ImportFragment extends Fragment {
      * Load categories based on transaction type (expense or income)
      */
     private void loadCategoriesForType(String type) {
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             try {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
 
@@ -302,7 +303,7 @@ public class ImportFragment extends Fragment {
                 android.util.Log.e("ImportFragment", "Error loading categories", e);
                 e.printStackTrace();
             }
-        }).start();
+        });
     }
 
     /**
@@ -327,7 +328,7 @@ public class ImportFragment extends Fragment {
         recyclerView.setAdapter(adapter);
 
         // Load categories based on current type
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             try {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
                 List<Category> categories;
@@ -349,7 +350,7 @@ public class ImportFragment extends Fragment {
                 android.util.Log.e("ImportFragment", "Dialog: Error loading categories", e);
                 e.printStackTrace();
             }
-        }).start();
+        });
 
         dialog.show();
         Window window = dialog.getWindow();
@@ -474,7 +475,7 @@ public class ImportFragment extends Fragment {
         }
 
         Context appContext = requireContext().getApplicationContext();
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             try {
                 AppDatabase db = AppDatabase.getInstance(appContext);
                 List<Category> categories = db.categoryDao().getAllExpenseCategories();
@@ -492,7 +493,7 @@ public class ImportFragment extends Fragment {
             } catch (Exception e) {
                 android.util.Log.e("ImportFragment", "Error assigning category", e);
             }
-        }).start();
+        });
     }
 
     /**
@@ -543,7 +544,7 @@ public class ImportFragment extends Fragment {
         int walletId = MainActivity.getSelectedWalletId();
 
         if (walletId == -1) {
-            new Thread(() -> {
+            AppExecutors.getInstance().diskIO(this, () -> {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
                 var wallets = db.walletDao().getActiveWalletsByUserId(MainActivity.getCurrentUserId());
                 if (!wallets.isEmpty()) {
@@ -558,7 +559,7 @@ public class ImportFragment extends Fragment {
                         );
                     }
                 }
-            }).start();
+            });
             return;
         }
 
@@ -567,7 +568,7 @@ public class ImportFragment extends Fragment {
 
     private void saveBatchTransactionsWithWallet(List<PendingReceipt> approvedReceipts) {
         // First, check all transactions for budget exceed in background
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             try {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
                 int walletId = MainActivity.getSelectedWalletId();
@@ -641,7 +642,7 @@ public class ImportFragment extends Fragment {
                     });
                 }
             }
-        }).start();
+        });
     }
 
     /**
@@ -651,12 +652,12 @@ public class ImportFragment extends Fragment {
      */
     private void proceedWithBatchSave(List<PendingReceipt> approvedReceipts,
                                       java.util.ArrayList<Integer> skipIndices) {
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
-                int successCount = 0;
                 int failCount = 0;
                 int skippedCount = 0;
+                List<Transaction> batch = new ArrayList<>();
 
                 for (int i = 0; i < approvedReceipts.size(); i++) {
                     // Check if this index should be skipped
@@ -669,18 +670,22 @@ public class ImportFragment extends Fragment {
                     try {
                         Transaction transaction = createTransactionFromReceipt(receipt);
                         if (transaction != null) {
-                            db.transactionDao().insert(transaction);
-                            updateWalletBalance(transaction);
-                            successCount++;
+                            batch.add(transaction);
                         } else {
                             failCount++;
                         }
                     } catch (Exception e) {
-                        android.util.Log.e("ImportFragment", "Error saving receipt transaction", e);
+                        android.util.Log.e("ImportFragment", "Error building receipt transaction", e);
                         failCount++;
                     }
                 }
 
+                // Insert all receipts in one SQLite transaction (wallet balances follow via triggers)
+                if (!batch.isEmpty()) {
+                    db.transactionDao().insertAll(batch);
+                }
+                int successCount = batch.size();
+
                 final int finalSuccessCount = successCount;
                 final int finalFailCount = failCount;
                 final int finalSkippedCount = skippedCount;
@@ -701,9 +706,6 @@ public class ImportFragment extends Fragment {
                         if (batchReceiptManager != null) {
                             batchReceiptManager.cleanupTempFiles();
                         }
-
-                        // Refresh other fragments
-                        refreshHomeFragment();
                     });
                 }
             } catch (Exception e) {
@@ -714,7 +716,7 @@ public class ImportFragment extends Fragment {
                     );
                 }
             }
-        }).start();
+        });
     }
 
     private Transaction createTransactionFromReceipt(PendingReceipt receipt) {
@@ -762,7 +764,7 @@ public class ImportFragment extends Fragment {
         int walletId = MainActivity.getSelectedWalletId();
 
         if (walletId == -1) {
-            new Thread(() -> {
+            AppExecutors.getInstance().diskIO(this, () -> {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
                 var wallets = db.walletDao().getActiveWalletsByUserId(MainActivity.getCurrentUserId());
                 if (!wallets.isEmpty()) {
@@ -777,7 +779,7 @@ public class ImportFragment extends Fragment {
                         );
                     }
                 }
-            }).start();
+            });
             return;
         }
 
@@ -856,22 +858,17 @@ public class ImportFragment extends Fragment {
         transaction.setRecurringInterval(null);
 
         // Save to database in background thread
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
-                long transactionId = db.transactionDao().insert(transaction);
-
-                // Update wallet balance
-                updateWalletBalance(transaction);
+                // Wallet balance is updated by a trigger in the same SQLite transaction
+                db.transactionDao().insert(transaction);
 
                 // Show success message on UI thread
                 if (getActivity() != null) {
                     getActivity().runOnUiThread(() -> {
                         Toast.makeText(requireContext(), "Transaction saved successfully!", Toast.LENGTH_SHORT).show();
                         clearForm();
-
-                        // Refresh HomeFragment if it exists
-                        refreshHomeFragment();
                     });
                 }
             } catch (Exception e) {
@@ -882,53 +879,7 @@ public class ImportFragment extends Fragment {
                     });
                 }
             }
-        }).start();
-    }
-
-    private void updateWalletBalance(Transaction transaction) {
-        try {
-            AppDatabase db = AppDatabase.getInstance(requireContext());
-            com.example.mymoney.database.entity.Wallet wallet =
-                    db.walletDao().getWalletById(transaction.getWalletId());
-
-            if (wallet != null) {
-                double currentBalance = wallet.getBalance();
-                double newBalance;
-
-                if (transaction.getType().equals("income")) {
-                    newBalance = currentBalance + transaction.getAmount();
-                } else {
-                    newBalance = currentBalance - transaction.getAmount();
-                }
-
-                wallet.setBalance(newBalance);
-                db.walletDao().update(wallet);
-
-                android.util.Log.d("ImportFragment", "Wallet balance updated: " + currentBalance + " -> " + newBalance);
-            }
-        } catch (Exception e) {
-            android.util.Log.e("ImportFragment", "Error updating wallet balance", e);
-        }
-    }
-
-    private void refreshHomeFragment() {
-        // Refresh HomeFragment and HistoryFragment after saving transaction
-        if (getActivity() instanceof MainActivity) {
-            MainActivity mainActivity = (MainActivity) getActivity();
-            androidx.fragment.app.FragmentManager fragmentManager = mainActivity.getSupportFragmentManager();
-
-            // Find and refresh HomeFragment if it exists
-            for (androidx.fragment.app.Fragment fragment : fragmentManager.getFragments()) {
-                if (fragment instanceof HomeFragment && fragment.isAdded()) {
-                    ((HomeFragment) fragment).refreshData();
-                    android.util.Log.d("ImportFragment", "HomeFragment refreshed");
-                }
-                if (fragment instanceof HistoryFragment && fragment.isAdded()) {
-                    ((HistoryFragment) fragment).refreshData();
-                    android.util.Log.d("ImportFragment", "HistoryFragment refreshed");
-                }
-            }
-        }
+        });
     }
 
     private void clearForm() {
@@ -1149,7 +1100,7 @@ public class ImportFragment extends Fragment {
             dialog.dismiss();
 
             // Save transaction directly to database
-            new Thread(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     AppDatabase db = AppDatabase.getInstance(requireContext());
 
@@ -1205,17 +1156,8 @@ public class ImportFragment extends Fragment {
                     t.setUpdatedAt(System.currentTimeMillis());
                     t.setRecurring(false);
 
-                    long id = db.transactionDao().insert(t);
-
-                    // Update wallet balance
-                    com.example.mymoney.database.entity.Wallet wallet =
-                            db.walletDao().getWalletById(walletId);
-                    if (wallet != null) {
-                        double newBalance = wallet.getBalance() +
-                                (type.equals("income") ? money : -money);
-                        wallet.setBalance(newBalance);
-                        db.walletDao().update(wallet);
-                    }
+                    // Số dư ví được trigger cập nhật cùng transaction SQLite
+                    db.transactionDao().insert(t);
 
                     // Show success message
                     if (getActivity() != null) {
@@ -1223,9 +1165,6 @@ public class ImportFragment extends Fragment {
                             Toast.makeText(requireContext(),
                                     "Đã lưu giao dịch " + (type.equals("income") ? "thu nhập" : "chi tiêu") + " thành công!",
                                     Toast.LENGTH_SHORT).show();
-
-                            // Refresh Home / History
-                            refreshHomeFragment();
                         });
                     }
 
@@ -1236,7 +1175,7 @@ public class ImportFragment extends Fragment {
                                 Toast.makeText(requireContext(), "Lỗi khi lưu dữ liệu: " + e.getMessage(), Toast.LENGTH_SHORT).show());
                     }
                 }
-            }).start();
+            });
         });
 
         dialog.show();
@@ -14,6 +14,7 @@ import androidx.appcompat.app.AppCompatDelegate;
 import com.example.mymoney.account.RegisterActivity;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.entity.User;
+import com.example.mymoney.utils.AppExecutors;
 
 public class LoginActivity extends AppCompatActivity {
 
@@ -42,7 +43,7 @@ public class LoginActivity extends AppCompatActivity {
             }
 
             // Kiểm tra đăng nhập trong thread riêng
-            new Thread(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 AppDatabase db = AppDatabase.getInstance(this);
                 User user = db.userDao().login(username, password);
 
@@ -78,7 +79,7 @@ public class LoginActivity extends AppCompatActivity {
                         Toast.makeText(this, "Sai tên đăng nhập hoặc mật khẩu", Toast.LENGTH_SHORT).show();
                     }
                 });
-            }).start();
+            });
         });
 
         // Chuyển đến trang đăng ký
@@ -18,9 +18,11 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.LiveData;
 
 import com.example.mymoney.account.AccountActivity;
 import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.StatsCacheWorker;
 import com.example.mymoney.database.entity.Wallet;
 import com.example.mymoney.notification.NotificationSettingFragment;
 
@@ -44,6 +46,8 @@ public class MainActivity extends AppCompatActivity {
     private ImageView btnWallet;
     private ImageView btnSettings;
     private LinearLayout walletListContainer;
+    private LiveData<List<Wallet>> walletSource;
+    private int observedWalletUserId = -1;
 
     private LinearLayout settingsLogin;
     private LinearLayout settingsLogout;
@@ -95,6 +99,9 @@ public class MainActivity extends AppCompatActivity {
         headerDivider = findViewById(R.id.header_divider);
         bottomNavigation = findViewById(R.id.bottom_navigation);
 
+        // Precompute statistics in the background (daily + after transaction writes)
+        StatsCacheWorker.install(this);
+
         // Update current user ID from preferences
         updateCurrentUserId();
 
@@ -112,10 +119,15 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
+        int previousUserId = currentUserId;
         updateCurrentUserId();
         updateSettingsButtonsVisibility();
-        loadWalletsFromDatabase();
-        new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(this::refreshCurrentFragment, 300);
+        observeWallets();
+        // Data changes reach the fragments through Room invalidation; only a user switch
+        // (e.g. coming back from LoginActivity) needs an explicit refresh
+        if (currentUserId != previousUserId) {
+            refreshCurrentFragment();
+        }
     }
 
     /**
@@ -129,7 +141,6 @@ public class MainActivity extends AppCompatActivity {
     // ================= Wallet Setup =================
     private void setupWalletButton() {
         btnWallet.setOnClickListener(v -> {
-            loadWalletsFromDatabase();
             hideSettingsPanel(); // Hide settings when opening wallet
             toggleWalletPanel();
         });
@@ -293,7 +304,7 @@ public class MainActivity extends AppCompatActivity {
         }
 
         // Reload wallets for default user
-        loadWalletsFromDatabase();
+        observeWallets();
 
         // Refresh current fragment to show empty/default data with delay to ensure state is updated
         new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
@@ -307,77 +318,81 @@ public class MainActivity extends AppCompatActivity {
     // ================= Wallet Loading =================
 
     /**
-     * Load wallets from database and populate the wallet panel
+     * Observe the current user's wallets and populate the wallet panel.
+     * Room re-emits the list whenever the wallet table changes (new wallet, balance update...),
+     * so the panel never has to be reloaded by hand.
      */
-    private void loadWalletsFromDatabase() {
-        walletListContainer = findViewById(R.id.wallet_list_container);
+    private void observeWallets() {
+        int userId = getLoggedInUserId();
+        if (walletSource != null && userId == observedWalletUserId) {
+            // Same query: just re-apply the selection rules to the current list (e.g. after logout)
+            List<Wallet> current = walletSource.getValue();
+            if (current != null) {
+                onWalletsChanged(current);
+            }
+            return;
+        }
 
-        new Thread(() -> {
-            AppDatabase db = AppDatabase.getInstance(this);
-            int userId = getLoggedInUserId();
-            List<Wallet> wallets = db.walletDao().getActiveWalletsByUserId(userId);
+        if (walletSource != null) {
+            walletSource.removeObservers(this);
+        }
+        observedWalletUserId = userId;
+        walletSource = AppDatabase.getInstance(this).walletDao().observeActiveWalletsByUserId(userId);
+        walletSource.observe(this, this::onWalletsChanged);
+    }
 
-            android.util.Log.d("MainActivity", "Loaded " + wallets.size() + " wallets for user ID: " + userId);
-            for (Wallet w : wallets) {
-                android.util.Log.d("MainActivity", "  - Wallet: " + w.getName() + " (ID: " + w.getId() + ")");
-            }
+    private void onWalletsChanged(List<Wallet> wallets) {
+        walletListContainer = findViewById(R.id.wallet_list_container);
+        int userId = observedWalletUserId;
 
-            // Auto-select first wallet if none is selected or if wallet doesn't belong to current user
-            boolean needToSelectWallet = false;
-            int newSelectedWalletId = selectedWalletId;
-            String newCurrency = selectedWalletCurrency;
+        android.util.Log.d("MainActivity", "Loaded " + wallets.size() + " wallets for user ID: " + userId);
 
-            if (!wallets.isEmpty()) {
-                // Check if current selected wallet belongs to this user
-                needToSelectWallet = (selectedWalletId == -1);
+        // Auto-select first wallet if none is selected or if wallet doesn't belong to current user
+        int newSelectedWalletId = selectedWalletId;
+        String newCurrency = selectedWalletCurrency;
 
-                if (selectedWalletId != -1) {
-                    // Check if the selected wallet belongs to the current user
-                    Wallet selectedWallet = db.walletDao().getWalletById(selectedWalletId);
-                    if (selectedWallet == null || selectedWallet.getUserId() != userId) {
-                        android.util.Log.d("MainActivity", "Selected wallet doesn't belong to user " + userId + ", resetting");
-                        needToSelectWallet = true;
-                    } else {
-                        // Update currency from current selected wallet
-                        newCurrency = selectedWallet.getCurrency() != null ? selectedWallet.getCurrency() : "VND";
-                    }
+        if (!wallets.isEmpty()) {
+            Wallet selectedWallet = null;
+            for (Wallet w : wallets) {
+                if (w.getId() == selectedWalletId) {
+                    selectedWallet = w;
+                    break;
                 }
+            }
 
-                if (needToSelectWallet) {
-                    newSelectedWalletId = wallets.get(0).getId();
-                    newCurrency = wallets.get(0).getCurrency() != null ? wallets.get(0).getCurrency() : "VND";
-                    android.util.Log.d("MainActivity", "Auto-selected first wallet: ID " + newSelectedWalletId + " (" + wallets.get(0).getName() + "), Currency: " + newCurrency);
+            if (selectedWallet == null) {
+                if (selectedWalletId != -1) {
+                    android.util.Log.d("MainActivity", "Selected wallet doesn't belong to user " + userId + ", resetting");
                 }
+                newSelectedWalletId = wallets.get(0).getId();
+                newCurrency = wallets.get(0).getCurrency() != null ? wallets.get(0).getCurrency() : "VND";
+                android.util.Log.d("MainActivity", "Auto-selected first wallet: ID " + newSelectedWalletId + " (" + wallets.get(0).getName() + "), Currency: " + newCurrency);
             } else {
-                android.util.Log.d("MainActivity", "No wallets available for user " + userId);
-                newSelectedWalletId = -1;
-                newCurrency = "VND";
+                // Update currency from current selected wallet
+                newCurrency = selectedWallet.getCurrency() != null ? selectedWallet.getCurrency() : "VND";
             }
+        } else {
+            android.util.Log.d("MainActivity", "No wallets available for user " + userId);
+            newSelectedWalletId = -1;
+            newCurrency = "VND";
+        }
 
-            final int finalWalletId = newSelectedWalletId;
-            final String finalCurrency = newCurrency;
-            final boolean walletChanged = (selectedWalletId != newSelectedWalletId);
-
-            runOnUiThread(() -> {
-                walletListContainer.removeAllViews();
+        final boolean walletChanged = (selectedWalletId != newSelectedWalletId);
 
-                for (Wallet wallet : wallets) {
-                    addWalletItemToPanel(wallet);
-                }
+        walletListContainer.removeAllViews();
+        for (Wallet wallet : wallets) {
+            addWalletItemToPanel(wallet);
+        }
 
-                selectedWalletId = finalWalletId;
-                selectedWalletCurrency = finalCurrency;
+        selectedWalletId = newSelectedWalletId;
+        selectedWalletCurrency = newCurrency;
 
-                android.util.Log.d("MainActivity", "Wallet items added to panel, selected wallet ID: " + selectedWalletId + ", Currency: " + selectedWalletCurrency);
+        android.util.Log.d("MainActivity", "Wallet items added to panel, selected wallet ID: " + selectedWalletId + ", Currency: " + selectedWalletCurrency);
 
-                if (walletChanged) {
-                    android.util.Log.d("MainActivity", "Wallet selection changed, triggering fragment refresh");
-                    new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-                        refreshCurrentFragment();
-                    }, 100);
-                }
-            });
-        }).start();
+        if (walletChanged) {
+            android.util.Log.d("MainActivity", "Wallet selection changed, triggering fragment refresh");
+            refreshCurrentFragment();
+        }
     }
 
     /**
@@ -442,7 +457,8 @@ public class MainActivity extends AppCompatActivity {
     }
 
     /**
-     * Refresh the current fragment to reflect wallet changes
+     * Refresh the current fragment to reflect wallet / user selection changes.
+     * Database writes don't need this: fragments observe the tables they read.
      */
     private void refreshCurrentFragment() {
         Fragment currentFragment = fragmentManager.findFragmentById(R.id.fragment_container);
@@ -16,9 +16,10 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 
-import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.utils.CategoryIconMapper;
+import com.example.mymoney.viewmodel.StatisticsViewModel;
 import com.github.mikephil.charting.charts.PieChart;
 import com.github.mikephil.charting.data.PieData;
 import com.github.mikephil.charting.data.PieDataSet;
@@ -57,6 +58,9 @@ public class StatisticsFragment extends Fragment {
     private int lastUserId = -1;
     private int lastWalletId = -1;
 
+    // 🔹 Giữ dữ liệu đã tính giữa các lần chuyển tab
+    private StatisticsViewModel viewModel;
+
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater,
@@ -72,12 +76,28 @@ public class StatisticsFragment extends Fragment {
         tvDateRange = view.findViewById(R.id.tv_date_range);
         pieChart = view.findViewById(R.id.pie_chart);
 
-        // 🔹 Đặt mặc định khoảng ngày: từ đầu tháng đến cuối tháng hiện tại
-        Calendar cal = Calendar.getInstance();
-        cal.set(Calendar.DAY_OF_MONTH, 1);
-        startDate = cal.getTimeInMillis();
-        cal.set(Calendar.DAY_OF_MONTH, cal.getActualMaximum(Calendar.DAY_OF_MONTH));
-        endDate = cal.getTimeInMillis();
+        viewModel = new ViewModelProvider(requireActivity()).get(StatisticsViewModel.class);
+        StatisticsViewModel.Query previous = viewModel.getQuery();
+        if (previous != null) {
+            // 🔹 Khôi phục khoảng ngày / năm đã chọn trước khi chuyển tab
+            startDate = previous.startDate;
+            endDate = previous.endDate;
+            selectedYear = previous.year;
+        } else {
+            // 🔹 Đặt mặc định khoảng ngày: từ đầu tháng đến cuối tháng hiện tại
+            Calendar cal = Calendar.getInstance();
+            cal.set(Calendar.DAY_OF_MONTH, 1);
+            cal.set(Calendar.HOUR_OF_DAY, 0);
+            cal.set(Calendar.MINUTE, 0);
+            cal.set(Calendar.SECOND, 0);
+            cal.set(Calendar.MILLISECOND, 0);
+            startDate = cal.getTimeInMillis();
+            cal.set(Calendar.DAY_OF_MONTH, cal.getActualMaximum(Calendar.DAY_OF_MONTH));
+            cal.set(Calendar.HOUR_OF_DAY, 23);
+            cal.set(Calendar.MINUTE, 59);
+            cal.set(Calendar.SECOND, 59);
+            endDate = cal.getTimeInMillis();
+        }
 
         // Hiển thị ngày lên TextView
         tvDateRange.setText(dateFormat.format(startDate) + " - " + dateFormat.format(endDate));
@@ -89,11 +109,24 @@ public class StatisticsFragment extends Fragment {
         tvYear.setText(String.valueOf(selectedYear));
         tvYear.setOnClickListener(v -> showYearPicker());
 
-        // Tải dữ liệu ban đầu
-        loadStatistics();
         return view;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Vẽ lại từ state trong ViewModel (không truy vấn lại khi chỉ chuyển tab)
+        viewModel.getState().observe(getViewLifecycleOwner(), state -> {
+            displayPieChart(state.categoryTotals);
+            displayTopExpenses(state.categoryTotals);
+            displayBarChart(state.monthlyTotals);
+        });
+
+        // Tải dữ liệu ban đầu, và tải lại khi bảng tổng hợp / danh mục thay đổi
+        viewModel.dataChanges().observe(getViewLifecycleOwner(), version -> loadStatistics());
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -176,34 +209,11 @@ public class StatisticsFragment extends Fragment {
      * - Năm (để hiển thị BarChart)
      */
     private void loadStatistics() {
-        new Thread(() -> {
-            AppDatabase db = AppDatabase.getInstance(getContext());
-            if (db == null || db.transactionDao() == null) return;
-
-            int userId = MainActivity.getCurrentUserId();
-            int walletId = MainActivity.getSelectedWalletId();
-
-            // Dữ liệu cho PieChart - wallet-specific
-            List<CategoryTotal> categoryTotals = db.transactionDao()
-                    .getExpensesByDateRange(userId, walletId, startDate, endDate);
-
-            // Dữ liệu cho BarChart - wallet-specific
-            Calendar calendar = Calendar.getInstance();
-            calendar.set(selectedYear, Calendar.JANUARY, 1, 0, 0, 0);
-            long startOfYear = calendar.getTimeInMillis();
-            calendar.set(selectedYear, Calendar.DECEMBER, 31, 23, 59, 59);
-            long endOfYear = calendar.getTimeInMillis();
-
-            List<MonthTotal> monthlyTotals =
-                    db.transactionDao().getMonthlyExpensesByYear(userId, walletId, startOfYear, endOfYear);
-
-            // Cập nhật giao diện trên main thread
-            requireActivity().runOnUiThread(() -> {
-                displayPieChart(categoryTotals);
-                displayTopExpenses(categoryTotals);
-                displayBarChart(monthlyTotals);
-            });
-        }).start();
+        lastUserId = MainActivity.getCurrentUserId();
+        lastWalletId = MainActivity.getSelectedWalletId();
+
+        viewModel.load(new StatisticsViewModel.Query(
+                lastUserId, lastWalletId, startDate, endDate, selectedYear));
     }
 
     /**
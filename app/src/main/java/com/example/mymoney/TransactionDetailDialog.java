@@ -21,6 +21,7 @@ import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.entity.Category;
 import com.example.mymoney.database.entity.Transaction;
 import com.example.mymoney.database.entity.Wallet;
+import com.example.mymoney.utils.AppExecutors;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
 import com.google.android.material.button.MaterialButton;
 
@@ -102,7 +103,7 @@ public class TransactionDetailDialog extends Dialog {
 
     @SuppressLint("UseCompatLoadingForDrawables")
     private void loadTransactionDetails() {
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 Category category = database.categoryDao().getCategoryById(transaction.getCategoryId());
 
@@ -168,7 +169,7 @@ public class TransactionDetailDialog extends Dialog {
                 android.util.Log.e("TransactionDialog", "Error loading transaction details", e);
                 e.printStackTrace();
             }
-        }).start();
+        });
     }
 
     private void setupListeners() {
@@ -222,7 +223,7 @@ public class TransactionDetailDialog extends Dialog {
         }
 
         // Load category info
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             Category category = database.categoryDao().getCategoryById(transaction.getCategoryId());
             if (category != null && tvCatName != null) {
                 tvCatName.post(() -> {
@@ -236,7 +237,7 @@ public class TransactionDetailDialog extends Dialog {
                     }
                 });
             }
-        }).start();
+        });
 
         // Date picker
         layoutDate.setOnClickListener(v -> {
@@ -288,39 +289,22 @@ public class TransactionDetailDialog extends Dialog {
                 String newNote = edtNote.getText().toString().trim();
                 long newTimestamp = calendar.getTimeInMillis();
 
-                // Calculate wallet balance adjustment
-                double amountDifference = newAmount - transaction.getAmount();
-
-                // Update transaction
-                transaction.setAmount(newAmount);
-                transaction.setDescription(newNote);
-                transaction.setCreatedAt(newTimestamp);
-                transaction.setUpdatedAt(System.currentTimeMillis());
+                // Update a copy: the original is still shown by the list adapters, which diff
+                // their current rows against the reloaded ones
+                Transaction edited = copyOf(transaction);
+                edited.setAmount(newAmount);
+                edited.setDescription(newNote);
+                edited.setCreatedAt(newTimestamp);
+                edited.setUpdatedAt(System.currentTimeMillis());
 
-                // Save to database and update wallet balance
-                new Thread(() -> {
+                // Save to database (a trigger applies the amount difference to the wallet balance)
+                AppExecutors.getInstance().diskIO().execute(() -> {
                     try {
-                        database.transactionDao().update(transaction);
-
-                        // Update wallet balance if amount changed
-                        if (amountDifference != 0) {
-                            Wallet wallet = database.walletDao().getWalletById(transaction.getWalletId());
-                            if (wallet != null) {
-                                double currentBalance = wallet.getBalance();
-                                double newBalance;
-                                if ("income".equals(transaction.getType())) {
-                                    newBalance = currentBalance + amountDifference;
-                                } else {
-                                    newBalance = currentBalance - amountDifference;
-                                }
-                                database.walletDao().updateBalance(
-                                        wallet.getId(), newBalance, System.currentTimeMillis());
-                            }
-                        }
+                        database.transactionDao().update(edited);
 
                         // Notify listener
                         if (listener != null) {
-                            tvCatName.post(() -> listener.onEdit(transaction));
+                            tvCatName.post(() -> listener.onEdit(edited));
                         }
 
                         tvCatName.post(() -> {
@@ -333,7 +317,7 @@ public class TransactionDetailDialog extends Dialog {
                         tvCatName.post(() ->
                                 Toast.makeText(context, "Error saving: " + e.getMessage(), Toast.LENGTH_SHORT).show());
                     }
-                }).start();
+                });
 
             } catch (NumberFormatException e) {
                 Toast.makeText(context, "Invalid amount", Toast.LENGTH_SHORT).show();
@@ -342,4 +326,20 @@ public class TransactionDetailDialog extends Dialog {
 
         editDialog.show();
     }
-}
\ No newline at end of file
+
+    private static Transaction copyOf(Transaction source) {
+        Transaction copy = new Transaction();
+        copy.setId(source.getId());
+        copy.setWalletId(source.getWalletId());
+        copy.setCategoryId(source.getCategoryId());
+        copy.setUserId(source.getUserId());
+        copy.setAmount(source.getAmount());
+        copy.setDescription(source.getDescription());
+        copy.setRecurring(source.isRecurring());
+        copy.setRecurringInterval(source.getRecurringInterval());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setType(source.getType());
+        return copy;
+    }
+}
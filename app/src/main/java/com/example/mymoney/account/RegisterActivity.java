@@ -16,6 +16,7 @@ import com.example.mymoney.LoginActivity;
 import com.example.mymoney.R;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.entity.User;
+import com.example.mymoney.utils.AppExecutors;
 
 public class RegisterActivity extends AppCompatActivity {
 
@@ -62,7 +63,7 @@ public class RegisterActivity extends AppCompatActivity {
             }
 
             // Xử lý trong thread riêng
-            new Thread(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 AppDatabase db = AppDatabase.getInstance(this);
                 User existingUser = db.userDao().getUserByUsername(username);
 
@@ -70,7 +71,7 @@ public class RegisterActivity extends AppCompatActivity {
                     if (existingUser != null) {
                         Toast.makeText(this, "Tên đăng nhập đã tồn tại!", Toast.LENGTH_SHORT).show();
                     } else {
-                        new Thread(() -> {
+                        AppExecutors.getInstance().diskIO().execute(() -> {
                             // Tạo người dùng mới
                             User newUser = new User();
                             newUser.setUsername(username);
@@ -109,10 +110,10 @@ public class RegisterActivity extends AppCompatActivity {
                                     Toast.makeText(this, "Đăng ký thất bại. Vui lòng thử lại!", Toast.LENGTH_SHORT).show();
                                 }
                             });
-                        }).start();
+                        });
                     }
                 });
-            }).start();
+            });
         });
 
         // Chuyển sang LoginActivity
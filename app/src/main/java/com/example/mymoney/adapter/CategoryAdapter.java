@@ -7,17 +7,30 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.R;
 import com.example.mymoney.database.entity.Category;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
-public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.CategoryViewHolder> {
+public class CategoryAdapter extends ListAdapter<Category, CategoryAdapter.CategoryViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Category> DIFF_CALLBACK = new DiffUtil.ItemCallback<Category>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Category oldItem, @NonNull Category newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Category oldItem, @NonNull Category newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName());
+        }
+    };
 
-    private List<Category> categories = new ArrayList<>();
     private int selectedCategoryId = -1;
     private OnCategoryClickListener listener;
 
@@ -26,17 +39,33 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
     }
 
     public CategoryAdapter(OnCategoryClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void setCategories(List<Category> categories) {
-        this.categories = categories;
-        notifyDataSetChanged();
+        submitList(categories);
     }
 
+    /**
+     * Re-binds only the previously and newly selected rows
+     */
     public void setSelectedCategoryId(int categoryId) {
+        if (categoryId == selectedCategoryId) return;
+        int previous = positionOf(selectedCategoryId);
         this.selectedCategoryId = categoryId;
-        notifyDataSetChanged();
+        if (previous != RecyclerView.NO_POSITION) notifyItemChanged(previous);
+        int current = positionOf(categoryId);
+        if (current != RecyclerView.NO_POSITION) notifyItemChanged(current);
+    }
+
+    private int positionOf(int categoryId) {
+        List<Category> categories = getCurrentList();
+        for (int i = 0; i < categories.size(); i++) {
+            if (categories.get(i).getId() == categoryId) return i;
+        }
+        return RecyclerView.NO_POSITION;
     }
 
     @NonNull
@@ -49,13 +78,12 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
 
     @Override
     public void onBindViewHolder(@NonNull CategoryViewHolder holder, int position) {
-        Category category = categories.get(position);
-        holder.bind(category);
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return categories.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     class CategoryViewHolder extends RecyclerView.ViewHolder {
@@ -68,6 +96,13 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
             categoryIcon = itemView.findViewById(R.id.category_icon);
             categoryName = itemView.findViewById(R.id.category_name);
             checkIcon = itemView.findViewById(R.id.check_icon);
+
+            itemView.setOnClickListener(v -> {
+                int position = getAdapterPosition();
+                if (listener != null && position != RecyclerView.NO_POSITION) {
+                    listener.onCategoryClick(getItem(position));
+                }
+            });
         }
 
         public void bind(Category category) {
@@ -82,12 +117,6 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
             } else {
                 checkIcon.setVisibility(View.GONE);
             }
-
-            itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onCategoryClick(category);
-                }
-            });
         }
 
         private void setCategoryIcon(String categoryName) {
@@ -3,36 +3,102 @@ package com.example.mymoney.adapter;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.animation.AnimationUtils;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.R;
 import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.CategoryCache;
 import com.example.mymoney.database.entity.Transaction;
 import com.example.mymoney.model.DailyTransactionGroup;
+import com.example.mymoney.utils.TransactionFormatter;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One row per day, each with a nested list of that day's transactions.
+ * <p>
+ * Days are diffed by local epoch day, and the nested lists by transaction, so a new
+ * transaction re-binds its day and inserts a single nested row. Nested lists share one
+ * view pool. The entrance animation runs once per day, the first time it is shown.
+ */
+public class DailyTransactionGroupAdapter extends ListAdapter<DailyTransactionGroup, DailyTransactionGroupAdapter.DailyGroupViewHolder> {
+
+    private static final DiffUtil.ItemCallback<DailyTransactionGroup> DIFF_CALLBACK = new DiffUtil.ItemCallback<DailyTransactionGroup>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull DailyTransactionGroup oldItem, @NonNull DailyTransactionGroup newItem) {
+            return dayOf(oldItem) == dayOf(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull DailyTransactionGroup oldItem, @NonNull DailyTransactionGroup newItem) {
+            if (oldItem.getTotalIncome() != newItem.getTotalIncome()
+                    || oldItem.getTotalExpense() != newItem.getTotalExpense()
+                    || !oldItem.getDate().equals(newItem.getDate())) {
+                return false;
+            }
+
+            List<Transaction> oldTxs = oldItem.getTransactions();
+            List<Transaction> newTxs = newItem.getTransactions();
+            if (oldTxs.size() != newTxs.size()) return false;
+            for (int i = 0; i < oldTxs.size(); i++) {
+                if (!TransactionAdapter.DIFF_CALLBACK.areItemsTheSame(oldTxs.get(i), newTxs.get(i))
+                        || !TransactionAdapter.DIFF_CALLBACK.areContentsTheSame(oldTxs.get(i), newTxs.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    };
 
-public class DailyTransactionGroupAdapter extends RecyclerView.Adapter<DailyTransactionGroupAdapter.DailyGroupViewHolder> {
+    private final AppDatabase database;
+    private final CategoryCache categoryCache;
+    private int categoryVersion;
+    private final TransactionAdapter.OnTransactionClickListener listener;
+    private final RecyclerView.RecycledViewPool transactionViewPool = new RecyclerView.RecycledViewPool();
 
-    private List<DailyTransactionGroup> dailyGroups = new ArrayList<>();
-    private AppDatabase database;
-    private TransactionAdapter.OnTransactionClickListener listener;
+    // Per-day UI state, by epoch day: groups are re-created on every reload
+    private final Set<Long> collapsedDays = new HashSet<>();
+    private final Set<Long> animatedDays = new HashSet<>();
 
     public DailyTransactionGroupAdapter(AppDatabase database, TransactionAdapter.OnTransactionClickListener listener) {
+        super(DIFF_CALLBACK);
         this.database = database;
+        this.categoryCache = CategoryCache.getInstance(database);
+        this.categoryVersion = categoryCache.getVersion();
         this.listener = listener;
+        setHasStableIds(true);
     }
 
+    /**
+     * After a category write every day is re-bound, so the nested lists pick up new
+     * category names and icons even when the transactions themselves did not change.
+     */
     public void setDailyGroups(List<DailyTransactionGroup> dailyGroups) {
-        this.dailyGroups = dailyGroups;
-        notifyDataSetChanged();
+        int version = categoryCache.getVersion();
+        if (version == categoryVersion) {
+            submitList(dailyGroups);
+            return;
+        }
+        categoryVersion = version;
+        submitList(dailyGroups, () -> notifyItemRangeChanged(0, getItemCount()));
+    }
+
+    private static long dayOf(DailyTransactionGroup group) {
+        return TransactionFormatter.get().epochDay(group.getTimestamp());
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return dayOf(getItem(position));
     }
 
     @NonNull
@@ -45,23 +111,25 @@ public class DailyTransactionGroupAdapter extends RecyclerView.Adapter<DailyTran
 
     @Override
     public void onBindViewHolder(@NonNull DailyGroupViewHolder holder, int position) {
-        DailyTransactionGroup group = dailyGroups.get(position);
-        holder.bind(group, position);
-
-        // entrance anim
-        holder.itemView.setAlpha(0f);
-        holder.itemView.setTranslationY(50f);
-        holder.itemView.animate()
-                .alpha(1f)
-                .translationY(0f)
-                .setDuration(300)
-                .setStartDelay(position * 50L)
-                .start();
-    }
-
-    @Override
-    public int getItemCount() {
-        return dailyGroups.size();
+        DailyTransactionGroup group = getItem(position);
+        long day = dayOf(group);
+        holder.bind(group, day);
+
+        // entrance anim, only the first time this day appears
+        holder.itemView.animate().cancel();
+        if (animatedDays.add(day)) {
+            holder.itemView.setAlpha(0f);
+            holder.itemView.setTranslationY(50f);
+            holder.itemView.animate()
+                    .alpha(1f)
+                    .translationY(0f)
+                    .setDuration(300)
+                    .setStartDelay(position * 50L)
+                    .start();
+        } else {
+            holder.itemView.setAlpha(1f);
+            holder.itemView.setTranslationY(0f);
+        }
     }
 
     class DailyGroupViewHolder extends RecyclerView.ViewHolder {
@@ -78,13 +146,27 @@ public class DailyTransactionGroupAdapter extends RecyclerView.Adapter<DailyTran
             rvTransactions = itemView.findViewById(R.id.rv_transactions);
             headerLayout = itemView.findViewById(R.id.header_layout);
 
-            // Setup nested RecyclerView for transactions
-            rvTransactions.setLayoutManager(new LinearLayoutManager(itemView.getContext()));
+            // Setup nested RecyclerView for transactions; rows are recycled across days
+            LinearLayoutManager layoutManager = new LinearLayoutManager(itemView.getContext());
+            layoutManager.setRecycleChildrenOnDetach(true);
+            rvTransactions.setLayoutManager(layoutManager);
+            rvTransactions.setRecycledViewPool(transactionViewPool);
             transactionAdapter = new TransactionAdapter(database, listener);
             rvTransactions.setAdapter(transactionAdapter);
+
+            // Handle header click to toggle expand/collapse
+            headerLayout.setOnClickListener(v -> {
+                int position = getAdapterPosition();
+                if (position == RecyclerView.NO_POSITION) return;
+                long day = dayOf(getItem(position));
+                if (!collapsedDays.remove(day)) {
+                    collapsedDays.add(day);
+                }
+                notifyItemChanged(position);
+            });
         }
 
-        public void bind(DailyTransactionGroup group, int position) {
+        public void bind(DailyTransactionGroup group, long day) {
             // Set date
             tvDate.setText(group.getDate());
 
@@ -99,16 +181,10 @@ public class DailyTransactionGroupAdapter extends RecyclerView.Adapter<DailyTran
             tvSummary.setText(summary);
 
             // Show/hide transactions based on expanded state
-            rvTransactions.setVisibility(group.isExpanded() ? View.VISIBLE : View.GONE);
+            rvTransactions.setVisibility(collapsedDays.contains(day) ? View.GONE : View.VISIBLE);
 
-            // Set transactions
+            // Set transactions (diffed against what this row showed before)
             transactionAdapter.setTransactions(group.getTransactions());
-
-            // Handle header click to toggle expand/collapse
-            headerLayout.setOnClickListener(v -> {
-                group.toggleExpanded();
-                notifyItemChanged(position);
-            });
         }
     }
-}
\ No newline at end of file
+}
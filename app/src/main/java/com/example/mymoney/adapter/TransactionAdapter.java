@@ -1,5 +1,6 @@
 package com.example.mymoney.adapter;
 
+import android.util.SparseIntArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -7,23 +8,48 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.R;
 import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.CategoryCache;
 import com.example.mymoney.database.entity.Category;
 import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.utils.TransactionFormatter;
 
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Transaction rows, diffed on a background thread ({@link ListAdapter}): a reload that adds,
+ * edits or removes one transaction re-binds only that row.
+ */
+public class TransactionAdapter extends ListAdapter<Transaction, TransactionAdapter.TransactionViewHolder> {
+
+    /** Same row = same id; same contents = every displayed / stored field equal. */
+    public static final DiffUtil.ItemCallback<Transaction> DIFF_CALLBACK = new DiffUtil.ItemCallback<Transaction>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Transaction oldItem, @NonNull Transaction newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
 
-public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.TransactionViewHolder> {
+        @Override
+        public boolean areContentsTheSame(@NonNull Transaction oldItem, @NonNull Transaction newItem) {
+            return oldItem.getAmount() == newItem.getAmount()
+                    && oldItem.getCategoryId() == newItem.getCategoryId()
+                    && oldItem.getWalletId() == newItem.getWalletId()
+                    && oldItem.getCreatedAt() == newItem.getCreatedAt()
+                    && oldItem.getUpdatedAt() == newItem.getUpdatedAt()
+                    && Objects.equals(oldItem.getType(), newItem.getType())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription());
+        }
+    };
 
-    private List<Transaction> transactions = new ArrayList<>();
-    private AppDatabase database;
+    private final CategoryCache categoryCache;
+    private final SparseIntArray iconByCategory = new SparseIntArray();
+    private int categoryVersion;
     private OnTransactionClickListener listener;
 
     public interface OnTransactionClickListener {
@@ -31,13 +57,29 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
     }
 
     public TransactionAdapter(AppDatabase database, OnTransactionClickListener listener) {
-        this.database = database;
+        super(DIFF_CALLBACK);
+        this.categoryCache = CategoryCache.getInstance(database);
+        this.categoryVersion = categoryCache.getVersion();
         this.listener = listener;
+        setHasStableIds(true);
     }
 
+    /**
+     * Diffs {@code transactions} against the current list and dispatches only the changes.
+     * The list must not be modified afterwards (pass a new list for every update).
+     * <p>
+     * If categories were written since the last call, every row is re-bound: the diff only sees
+     * transaction fields, so a renamed category would otherwise keep its old name and icon.
+     */
     public void setTransactions(List<Transaction> transactions) {
-        this.transactions = transactions;
-        notifyDataSetChanged();
+        int version = categoryCache.getVersion();
+        if (version == categoryVersion) {
+            submitList(transactions);
+            return;
+        }
+        categoryVersion = version;
+        iconByCategory.clear();
+        submitList(transactions, () -> notifyItemRangeChanged(0, getItemCount()));
     }
 
     @NonNull
@@ -50,13 +92,12 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull TransactionViewHolder holder, int position) {
-        Transaction transaction = transactions.get(position);
-        holder.bind(transaction);
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return transactions.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     class TransactionViewHolder extends RecyclerView.ViewHolder {
@@ -65,8 +106,21 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
         private TextView transactionDetails;
         private TextView transactionAmount;
 
+        private final int expenseColor;
+        private final int incomeColor;
+
         public TransactionViewHolder(@NonNull View itemView) {
             super(itemView);
+            expenseColor = itemView.getContext().getColor(R.color.expense_red);
+            incomeColor = itemView.getContext().getColor(R.color.primary_green);
+
+            // One click listener per view holder instead of a new lambda per bind
+            itemView.setOnClickListener(v -> {
+                int position = getAdapterPosition();
+                if (listener != null && position != RecyclerView.NO_POSITION) {
+                    listener.onTransactionClick(getItem(position));
+                }
+            });
             transactionIcon = itemView.findViewById(R.id.transaction_icon);
             transactionCategory = itemView.findViewById(R.id.transaction_category);
             transactionDetails = itemView.findViewById(R.id.transaction_details);
@@ -74,56 +128,41 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
         }
 
         public void bind(Transaction transaction) {
-            // Get category name from database in background
-            new Thread(() -> {
-                try {
-                    Category category = database.categoryDao().getCategoryById(transaction.getCategoryId());
-
-                    // Update UI on main thread
-                    itemView.post(() -> {
-                        if (category != null) {
-                            transactionCategory.setText(category.getName());
-                            setTransactionIcon(category.getName());
-                        } else {
-                            transactionCategory.setText("Unknown");
-                            transactionIcon.setImageResource(R.drawable.ic_more_apps);
-                        }
-                    });
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }).start();
+            // Category comes from the in-memory cache (loaded by the screen before binding)
+            Category category = categoryCache.get(transaction.getCategoryId());
+            if (category != null) {
+                transactionCategory.setText(category.getName());
+                setTransactionIcon(category);
+            } else {
+                transactionCategory.setText("Unknown");
+                transactionIcon.setImageResource(R.drawable.ic_more_apps);
+            }
 
-            // Format date and description - show full date for history
-            SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
-            String dateStr = sdf.format(new Date(transaction.getCreatedAt()));
-            transactionDetails.setText(dateStr);
+            // Date and amount strings come from the formatter's caches (no per-bind formatting)
+            TransactionFormatter formatter = TransactionFormatter.get();
+            transactionDetails.setText(formatter.dateTime(transaction.getCreatedAt()));
 
             // Get currency from MainActivity
             String currency = com.example.mymoney.MainActivity.getSelectedWalletCurrency();
 
             // Format amount with 2 decimal places
-            String amountStr;
-            int textColor;
-            if (transaction.getType().equals("expense")) {
-                amountStr = String.format(Locale.getDefault(), "-%,.2f %s", transaction.getAmount(), currency);
-                textColor = itemView.getContext().getColor(R.color.expense_red);
-            } else {
-                amountStr = String.format(Locale.getDefault(), "+%,.2f %s", transaction.getAmount(), currency);
-                textColor = itemView.getContext().getColor(R.color.primary_green);
-            }
-            transactionAmount.setText(amountStr);
-            transactionAmount.setTextColor(textColor);
+            boolean expense = "expense".equals(transaction.getType());
+            transactionAmount.setText(formatter.amount(transaction.getAmount(), expense, currency));
+            transactionAmount.setTextColor(expense ? expenseColor : incomeColor);
 
-            // Set click listener
-            itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onTransactionClick(transaction);
-                }
-            });
         }
 
-        private void setTransactionIcon(String categoryName) {
+        private void setTransactionIcon(Category category) {
+            // Icon per category id is resolved once (the name switch lower-cases a String)
+            int iconRes = iconByCategory.get(category.getId());
+            if (iconRes == 0) {
+                iconRes = iconFor(category.getName());
+                iconByCategory.put(category.getId(), iconRes);
+            }
+            transactionIcon.setImageResource(iconRes);
+        }
+
+        private int iconFor(String categoryName) {
             int iconRes;
             switch (categoryName.toLowerCase()) {
                 case "food":
@@ -178,7 +217,7 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
                     iconRes = R.drawable.ic_more_apps;
                     break;
             }
-            transactionIcon.setImageResource(iconRes);
+            return iconRes;
         }
     }
 }
\ No newline at end of file
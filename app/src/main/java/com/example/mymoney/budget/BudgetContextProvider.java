@@ -2,19 +2,17 @@ package com.example.mymoney.budget;
 
 import android.content.Context;
 
-import com.example.mymoney.BudgetAdapter;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.dao.BudgetDao;
 import com.example.mymoney.database.dao.CategoryDao;
-import com.example.mymoney.database.dao.TransactionDao;
 import com.example.mymoney.database.entity.Budget;
 import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.utils.AppExecutors;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Provides budget context for AI chatbot integration.
@@ -32,7 +30,7 @@ public class BudgetContextProvider {
 
     public BudgetContextProvider(Context context) {
         this.context = context;
-        this.executor = Executors.newSingleThreadExecutor();
+        this.executor = AppExecutors.getInstance().diskIO();
     }
 
     /**
@@ -43,7 +41,6 @@ public class BudgetContextProvider {
             try {
                 AppDatabase db = AppDatabase.getInstance(context);
                 BudgetDao budgetDao = db.budgetDao();
-                TransactionDao transactionDao = db.transactionDao();
                 CategoryDao categoryDao = db.categoryDao();
 
                 // Get all budgets for this wallet
@@ -61,22 +58,8 @@ public class BudgetContextProvider {
                     categoryNames.put(category.getId(), category.getName());
                 }
 
-                // Calculate spent amounts for each budget (category-aware)
-                Map<Integer, Double> spentAmounts = new HashMap<>();
-                for (Budget budget : budgets) {
-                    long[] periodRange = BudgetAdapter.calculatePeriodRange(budget);
-                    double spent;
-                    if (budget.getCategoryId() != null) {
-                        // Category-specific budget: only count expenses in that category
-                        spent = transactionDao.getTotalExpenseBetweenForWalletAndCategory(
-                                periodRange[0], periodRange[1], walletId, budget.getCategoryId());
-                    } else {
-                        // Global budget: count all expenses
-                        spent = transactionDao.getTotalExpenseBetweenForWallet(
-                                periodRange[0], periodRange[1], walletId);
-                    }
-                    spentAmounts.put(budget.getId(), spent);
-                }
+                // Calculate spent amounts for all budgets in one query (category-aware)
+                Map<Integer, Double> spentAmounts = new BudgetSpendCalculator(db).calculate(budgets);
 
                 // Run rule-based analysis with category names for translation
                 BudgetRuleEngine.BudgetAnalysisResult result =
@@ -97,7 +80,6 @@ public class BudgetContextProvider {
         try {
             AppDatabase db = AppDatabase.getInstance(context);
             BudgetDao budgetDao = db.budgetDao();
-            TransactionDao transactionDao = db.transactionDao();
             CategoryDao categoryDao = db.categoryDao();
 
             List<Budget> budgets = budgetDao.getBudgetsByWalletId(walletId);
@@ -113,22 +95,8 @@ public class BudgetContextProvider {
                 categoryNames.put(category.getId(), category.getName());
             }
 
-            // Category-aware expense calculation
-            Map<Integer, Double> spentAmounts = new HashMap<>();
-            for (Budget budget : budgets) {
-                long[] periodRange = BudgetAdapter.calculatePeriodRange(budget);
-                double spent;
-                if (budget.getCategoryId() != null) {
-                    // Category-specific budget: only count expenses in that category
-                    spent = transactionDao.getTotalExpenseBetweenForWalletAndCategory(
-                            periodRange[0], periodRange[1], walletId, budget.getCategoryId());
-                } else {
-                    // Global budget: count all expenses
-                    spent = transactionDao.getTotalExpenseBetweenForWallet(
-                            periodRange[0], periodRange[1], walletId);
-                }
-                spentAmounts.put(budget.getId(), spent);
-            }
+            // Category-aware expense calculation, one query for all budgets
+            Map<Integer, Double> spentAmounts = new BudgetSpendCalculator(db).calculate(budgets);
 
             // Run rule-based analysis with category names for translation
             return BudgetRuleEngine.analyzeBudgets(budgets, spentAmounts, categoryNames);
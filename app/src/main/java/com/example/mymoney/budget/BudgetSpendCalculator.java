@@ -0,0 +1,90 @@
+package com.example.mymoney.budget;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+
+import com.example.mymoney.BudgetAdapter;
+import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.TransactionRollups;
+import com.example.mymoney.database.dao.DailyCategoryTotalDao;
+import com.example.mymoney.database.entity.Budget;
+import com.example.mymoney.model.BudgetSpend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the spent amount of many budgets with one SQL statement.
+ * <p>
+ * Each budget becomes one UNION ALL branch over the daily rollup (wallet, optional category,
+ * day range of its period), so a screen with N budgets costs one query instead of N.
+ */
+public class BudgetSpendCalculator {
+
+    // 5 bound args per budget; keeps each statement under SQLite's 999-variable / 500-term limits
+    private static final int MAX_BUDGETS_PER_QUERY = 100;
+
+    private final DailyCategoryTotalDao dailyTotalDao;
+
+    public BudgetSpendCalculator(@NonNull AppDatabase db) {
+        this.dailyTotalDao = db.dailyCategoryTotalDao();
+    }
+
+    /**
+     * Spent amounts using each budget's current period ({@link BudgetAdapter#calculatePeriodRange}).
+     *
+     * @return budgetId -> spent
+     */
+    public Map<Integer, Double> calculate(@NonNull List<Budget> budgets) {
+        List<long[]> ranges = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            ranges.add(BudgetAdapter.calculatePeriodRange(budget));
+        }
+        return calculate(budgets, ranges);
+    }
+
+    /**
+     * Spent amounts for explicit periods; {@code periodRanges.get(i)} is {start, end} in millis
+     * for {@code budgets.get(i)}.
+     *
+     * @return budgetId -> spent (0 for budgets without expenses)
+     */
+    public Map<Integer, Double> calculate(@NonNull List<Budget> budgets, @NonNull List<long[]> periodRanges) {
+        Map<Integer, Double> spentAmounts = new HashMap<>();
+
+        for (int from = 0; from < budgets.size(); from += MAX_BUDGETS_PER_QUERY) {
+            int to = Math.min(from + MAX_BUDGETS_PER_QUERY, budgets.size());
+            StringBuilder sql = new StringBuilder();
+            List<Object> args = new ArrayList<>();
+
+            for (int i = from; i < to; i++) {
+                Budget budget = budgets.get(i);
+                long[] range = periodRanges.get(i);
+                Integer categoryId = budget.getCategoryId();
+
+                if (i > from) sql.append(" UNION ALL ");
+                sql.append("SELECT ? AS budgetId, IFNULL(SUM(total), 0) AS spent FROM daily_category_total ")
+                        .append("WHERE wallet_id = ? AND type = 'expense' AND day BETWEEN ? AND ?");
+                args.add(budget.getId());
+                args.add(budget.getWalletId());
+                args.add(TransactionRollups.localEpochDay(range[0]));
+                args.add(TransactionRollups.localEpochDay(range[1]));
+
+                if (categoryId != null && categoryId > 0) {
+                    // Category-specific budget - only count expenses for this category
+                    sql.append(" AND category_id = ?");
+                    args.add(categoryId);
+                }
+            }
+
+            for (BudgetSpend row : dailyTotalDao.getBudgetSpends(
+                    new SimpleSQLiteQuery(sql.toString(), args.toArray()))) {
+                spentAmounts.put(row.budgetId, row.spent);
+            }
+        }
+
+        return spentAmounts;
+    }
+}
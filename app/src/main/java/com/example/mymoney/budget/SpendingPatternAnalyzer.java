@@ -3,10 +3,11 @@ package com.example.mymoney.budget;
 import android.content.Context;
 
 import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.TransactionRollups;
 import com.example.mymoney.database.dao.CategoryDao;
-import com.example.mymoney.database.dao.TransactionDao;
+import com.example.mymoney.database.dao.DailyCategoryTotalDao;
 import com.example.mymoney.database.entity.Category;
-import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.model.MonthCategoryTotal;
 
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -26,8 +27,8 @@ public class SpendingPatternAnalyzer {
     private static final double UNUSUAL_DROP_THRESHOLD = 0.5; // 50% below average = unusual
 
     private final Context context;
-    private final TransactionDao transactionDao;
     private final CategoryDao categoryDao;
+    private final DailyCategoryTotalDao dailyTotalDao;
 
     /**
      * Map English category names to Vietnamese
@@ -80,8 +81,8 @@ public class SpendingPatternAnalyzer {
     public SpendingPatternAnalyzer(Context context) {
         this.context = context;
         AppDatabase db = AppDatabase.getInstance(context);
-        this.transactionDao = db.transactionDao();
         this.categoryDao = db.categoryDao();
+        this.dailyTotalDao = db.dailyCategoryTotalDao();
     }
 
     /**
@@ -244,9 +245,10 @@ public class SpendingPatternAnalyzer {
     public PatternAnalysisResult analyzePatterns(int walletId) {
         PatternAnalysisResult result = new PatternAnalysisResult();
 
-        // Get historical data
-        Map<Integer, List<MonthlySpending>> categoryHistory = getMonthlySpendingHistory(walletId);
-        Map<Integer, Double> currentMonthSpending = getCurrentMonthSpending(walletId);
+        // Get historical data (one grouped query for the whole window)
+        MonthlyWindow window = loadMonthlyWindow(walletId);
+        Map<Integer, List<MonthlySpending>> categoryHistory = window.history;
+        Map<Integer, Double> currentMonthSpending = window.currentMonth;
 
         // Detect regular habits
         result.regularHabits = detectRegularHabits(categoryHistory);
@@ -264,7 +266,7 @@ public class SpendingPatternAnalyzer {
         result.recommendations = generateSmartRecommendations(result, currentMonthSpending);
 
         // Calculate monthly comparison
-        result.monthlyComparison = calculateMonthlyComparison(walletId);
+        result.monthlyComparison = calculateMonthlyComparison(window.monthTotals);
 
         // Generate LLM summary
         result.summaryForLLM = generateLLMSummary(result);
@@ -288,85 +290,57 @@ public class SpendingPatternAnalyzer {
     }
 
     /**
-     * Get spending history grouped by category and month
+     * Spending for the current month and the {@link #MONTHS_TO_ANALYZE} months before it
      */
-    private Map<Integer, List<MonthlySpending>> getMonthlySpendingHistory(int walletId) {
-        Map<Integer, List<MonthlySpending>> history = new HashMap<>();
-
-        Calendar cal = Calendar.getInstance();
-
-        for (int i = 0; i < MONTHS_TO_ANALYZE; i++) {
-            int year = cal.get(Calendar.YEAR);
-            int month = cal.get(Calendar.MONTH);
-
-            // Get date range for this month
-            Calendar startCal = Calendar.getInstance();
-            startCal.set(year, month, 1, 0, 0, 0);
-            startCal.set(Calendar.MILLISECOND, 0);
-
-            Calendar endCal = Calendar.getInstance();
-            endCal.set(year, month, startCal.getActualMaximum(Calendar.DAY_OF_MONTH), 23, 59, 59);
-            endCal.set(Calendar.MILLISECOND, 999);
-
-            // Get transactions for this month
-            List<Transaction> transactions = transactionDao.getTransactionsByWalletAndDateRange(
-                    walletId, startCal.getTimeInMillis(), endCal.getTimeInMillis());
-
-            // Group by category
-            Map<Integer, Double> monthlyByCategory = new HashMap<>();
-            for (Transaction t : transactions) {
-                if ("expense".equals(t.getType())) {
-                    int catId = t.getCategoryId();
-                    monthlyByCategory.put(catId, monthlyByCategory.getOrDefault(catId, 0.0) + t.getAmount());
-                }
-            }
-
-            // Add to history
-            for (Map.Entry<Integer, Double> entry : monthlyByCategory.entrySet()) {
-                int catId = entry.getKey();
-                if (!history.containsKey(catId)) {
-                    history.put(catId, new ArrayList<>());
-                }
-                history.get(catId).add(new MonthlySpending(year, month, entry.getValue()));
-            }
-
-            // Go to previous month
-            cal.add(Calendar.MONTH, -1);
-        }
-
-        return history;
+    private static class MonthlyWindow {
+        // categoryId -> spending per month, most recent month first (current + MONTHS_TO_ANALYZE - 1)
+        final Map<Integer, List<MonthlySpending>> history = new HashMap<>();
+        // categoryId -> spending this month
+        final Map<Integer, Double> currentMonth = new HashMap<>();
+        // total spending per month offset: [0] = this month, [1] = last month, ...
+        final double[] monthTotals = new double[MONTHS_TO_ANALYZE + 1];
     }
 
     /**
-     * Get current month spending by category
+     * Loads (year, month, category, SUM) for the whole analysis window with a single
+     * grouped query on the daily rollup, instead of one query per month.
      */
-    private Map<Integer, Double> getCurrentMonthSpending(int walletId) {
-        Map<Integer, Double> spending = new HashMap<>();
+    private MonthlyWindow loadMonthlyWindow(int walletId) {
+        MonthlyWindow window = new MonthlyWindow();
+
+        Calendar now = Calendar.getInstance();
+        int currentYear = now.get(Calendar.YEAR);
+        int currentMonth = now.get(Calendar.MONTH) + 1;
 
         Calendar startCal = Calendar.getInstance();
+        startCal.add(Calendar.MONTH, -MONTHS_TO_ANALYZE);
         startCal.set(Calendar.DAY_OF_MONTH, 1);
-        startCal.set(Calendar.HOUR_OF_DAY, 0);
-        startCal.set(Calendar.MINUTE, 0);
-        startCal.set(Calendar.SECOND, 0);
-        startCal.set(Calendar.MILLISECOND, 0);
-
-        Calendar endCal = Calendar.getInstance();
-        endCal.set(Calendar.HOUR_OF_DAY, 23);
-        endCal.set(Calendar.MINUTE, 59);
-        endCal.set(Calendar.SECOND, 59);
-        endCal.set(Calendar.MILLISECOND, 999);
-
-        List<Transaction> transactions = transactionDao.getTransactionsByWalletAndDateRange(
-                walletId, startCal.getTimeInMillis(), endCal.getTimeInMillis());
-
-        for (Transaction t : transactions) {
-            if ("expense".equals(t.getType())) {
-                int catId = t.getCategoryId();
-                spending.put(catId, spending.getOrDefault(catId, 0.0) + t.getAmount());
+
+        List<MonthCategoryTotal> rows = dailyTotalDao.getMonthlyExpensesByCategory(walletId,
+                TransactionRollups.localEpochDay(startCal.getTimeInMillis()),
+                TransactionRollups.localEpochDay(now.getTimeInMillis()));
+
+        // Rows come newest month first, so each category list stays most-recent-first
+        for (MonthCategoryTotal row : rows) {
+            int offset = (currentYear - row.year) * 12 + (currentMonth - row.month);
+            if (offset < 0 || offset > MONTHS_TO_ANALYZE) continue;
+
+            window.monthTotals[offset] += row.total;
+            if (offset == 0) {
+                window.currentMonth.put(row.categoryId, row.total);
+            }
+            if (offset < MONTHS_TO_ANALYZE) {
+                List<MonthlySpending> list = window.history.get(row.categoryId);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    window.history.put(row.categoryId, list);
+                }
+                // MonthlySpending.month is 0-based like Calendar.MONTH
+                list.add(new MonthlySpending(row.year, row.month - 1, row.total));
             }
         }
 
-        return spending;
+        return window;
     }
 
     /**
@@ -672,60 +646,17 @@ public class SpendingPatternAnalyzer {
     /**
      * Calculate monthly comparison
      */
-    private MonthlyComparison calculateMonthlyComparison(int walletId) {
+    private MonthlyComparison calculateMonthlyComparison(double[] monthTotals) {
         MonthlyComparison comparison = new MonthlyComparison();
 
-        Calendar cal = Calendar.getInstance();
-
-        // This month
-        Calendar thisMonthStart = Calendar.getInstance();
-        thisMonthStart.set(Calendar.DAY_OF_MONTH, 1);
-        thisMonthStart.set(Calendar.HOUR_OF_DAY, 0);
-        thisMonthStart.set(Calendar.MINUTE, 0);
-        thisMonthStart.set(Calendar.SECOND, 0);
-
-        Calendar thisMonthEnd = Calendar.getInstance();
-
-        comparison.thisMonthTotal = transactionDao.getTotalExpenseBetweenForWallet(
-                thisMonthStart.getTimeInMillis(), thisMonthEnd.getTimeInMillis(), walletId);
-
-        // Last month
-        Calendar lastMonthStart = Calendar.getInstance();
-        lastMonthStart.add(Calendar.MONTH, -1);
-        lastMonthStart.set(Calendar.DAY_OF_MONTH, 1);
-        lastMonthStart.set(Calendar.HOUR_OF_DAY, 0);
-        lastMonthStart.set(Calendar.MINUTE, 0);
-        lastMonthStart.set(Calendar.SECOND, 0);
-
-        Calendar lastMonthEnd = Calendar.getInstance();
-        lastMonthEnd.add(Calendar.MONTH, -1);
-        lastMonthEnd.set(Calendar.DAY_OF_MONTH, lastMonthEnd.getActualMaximum(Calendar.DAY_OF_MONTH));
-        lastMonthEnd.set(Calendar.HOUR_OF_DAY, 23);
-        lastMonthEnd.set(Calendar.MINUTE, 59);
-        lastMonthEnd.set(Calendar.SECOND, 59);
-
-        comparison.lastMonthTotal = transactionDao.getTotalExpenseBetweenForWallet(
-                lastMonthStart.getTimeInMillis(), lastMonthEnd.getTimeInMillis(), walletId);
+        // This month / last month
+        comparison.thisMonthTotal = monthTotals[0];
+        comparison.lastMonthTotal = monthTotals[1];
 
         // Average of last 6 months
         double totalForAverage = 0;
-        Calendar avgCal = Calendar.getInstance();
         for (int i = 1; i <= MONTHS_TO_ANALYZE; i++) {
-            avgCal.add(Calendar.MONTH, -1);
-            Calendar monthStart = (Calendar) avgCal.clone();
-            monthStart.set(Calendar.DAY_OF_MONTH, 1);
-            monthStart.set(Calendar.HOUR_OF_DAY, 0);
-            monthStart.set(Calendar.MINUTE, 0);
-            monthStart.set(Calendar.SECOND, 0);
-
-            Calendar monthEnd = (Calendar) avgCal.clone();
-            monthEnd.set(Calendar.DAY_OF_MONTH, monthEnd.getActualMaximum(Calendar.DAY_OF_MONTH));
-            monthEnd.set(Calendar.HOUR_OF_DAY, 23);
-            monthEnd.set(Calendar.MINUTE, 59);
-            monthEnd.set(Calendar.SECOND, 59);
-
-            totalForAverage += transactionDao.getTotalExpenseBetweenForWallet(
-                    monthStart.getTimeInMillis(), monthEnd.getTimeInMillis(), walletId);
+            totalForAverage += monthTotals[i];
         }
         comparison.averageMonthly = totalForAverage / MONTHS_TO_ANALYZE;
 
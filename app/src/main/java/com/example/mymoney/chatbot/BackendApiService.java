@@ -2,10 +2,13 @@ package com.example.mymoney.chatbot;
 
 import com.google.gson.annotations.SerializedName;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
+import retrofit2.http.Streaming;
 
 /**
  * Retrofit interface for the LangChain backend API.
@@ -21,6 +24,15 @@ public interface BackendApiService {
     @POST("generate")
     Call<BackendChatResponse> generate(@Body BackendGenerateRequest request);
 
+    /**
+     * Streaming variant of {@link #generate}: server-sent events, one token per event.
+     * The body is not buffered; read it with {@link GenerateStream}.
+     */
+    @Streaming
+    @Headers("Accept: text/event-stream")
+    @POST("generate/stream")
+    Call<ResponseBody> generateStream(@Body BackendGenerateRequest request);
+
     @GET("health")
     Call<BackendHealthResponse> health();
 
@@ -1,8 +1,11 @@
 package com.example.mymoney.chatbot;
 
+import android.graphics.Color;
 import android.graphics.Typeface;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.RelativeSizeSpan;
 import android.text.style.StyleSpan;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -11,23 +14,38 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mymoney.R;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Chat history. Messages are appended at the end and removed one at a time (notified per item);
+ * {@link #setMessages} diffs the whole list, which is short enough to diff on the main thread.
+ * A streamed answer grows in place through {@link #updateMessage}, which rebinds only its text.
+ */
 public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     private List<ChatMessage> chatMessages;
     private static final int USER_MESSAGE = 1;
     private static final int BOT_MESSAGE = 2;
     private static final int LOADING_MESSAGE = 3;
+    // Partial rebind: same holder, text only (no change animation while a reply streams in)
+    private static final Object PAYLOAD_TEXT = new Object();
 
     public ChatAdapter() {
         this.chatMessages = new ArrayList<>();
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return chatMessages.get(position).getId();
     }
 
     @Override
@@ -70,6 +88,16 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         // LoadingViewHolder doesn't need binding
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_TEXT) && holder instanceof BotMessageViewHolder) {
+            ((BotMessageViewHolder) holder).bind(chatMessages.get(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
     @Override
     public int getItemCount() {
         return chatMessages.size();
@@ -80,6 +108,27 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         notifyItemInserted(chatMessages.size() - 1);
     }
 
+    /** Rebinds the text of {@code message} after it was changed in place (streamed replies). */
+    public void updateMessage(ChatMessage message) {
+        // The live message is almost always the last one
+        for (int i = chatMessages.size() - 1; i >= 0; i--) {
+            if (chatMessages.get(i) == message) {
+                notifyItemChanged(i, PAYLOAD_TEXT);
+                return;
+            }
+        }
+    }
+
+    public void removeMessage(ChatMessage message) {
+        for (int i = chatMessages.size() - 1; i >= 0; i--) {
+            if (chatMessages.get(i) == message) {
+                chatMessages.remove(i);
+                notifyItemRemoved(i);
+                return;
+            }
+        }
+    }
+
     public void removeLastMessage() {
         if (!chatMessages.isEmpty()) {
             chatMessages.remove(chatMessages.size() - 1);
@@ -88,8 +137,9 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     }
 
     public void clearMessages() {
+        int count = chatMessages.size();
         chatMessages.clear();
-        notifyDataSetChanged();
+        notifyItemRangeRemoved(0, count);
     }
 
     public List<ChatMessage> getAllMessages() {
@@ -97,9 +147,37 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     }
 
     public void setMessages(List<ChatMessage> messages) {
+        List<ChatMessage> oldMessages = new ArrayList<>(chatMessages);
+        List<ChatMessage> newMessages = new ArrayList<>(messages);
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldMessages.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newMessages.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return oldMessages.get(oldPosition).getId() == newMessages.get(newPosition).getId();
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                ChatMessage oldMessage = oldMessages.get(oldPosition);
+                ChatMessage newMessage = newMessages.get(newPosition);
+                return oldMessage.isLoading() == newMessage.isLoading()
+                        && Objects.equals(oldMessage.getMessage(), newMessage.getMessage())
+                        && Objects.equals(oldMessage.getLatencyInfo(), newMessage.getLatencyInfo());
+            }
+        });
+
         chatMessages.clear();
-        chatMessages.addAll(messages);
-        notifyDataSetChanged();
+        chatMessages.addAll(newMessages);
+        diff.dispatchUpdatesTo(this);
     }
 
     static class UserMessageViewHolder extends RecyclerView.ViewHolder {
@@ -116,6 +194,8 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     }
 
     static class BotMessageViewHolder extends RecyclerView.ViewHolder {
+        private static final Pattern BOLD_PATTERN = Pattern.compile("\\*\\*(.+?)\\*\\*");
+
         TextView messageText;
 
         public BotMessageViewHolder(@NonNull View itemView) {
@@ -125,6 +205,16 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
         public void bind(ChatMessage message) {
             CharSequence formattedText = parseMarkdownBold(message.getMessage());
+            String latencyInfo = message.getLatencyInfo();
+            if (latencyInfo != null) {
+                // Small grey footer line under the answer
+                SpannableStringBuilder builder = new SpannableStringBuilder(formattedText != null ? formattedText : "");
+                int start = builder.length();
+                builder.append("\n").append(latencyInfo);
+                builder.setSpan(new RelativeSizeSpan(0.8f), start, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                builder.setSpan(new ForegroundColorSpan(Color.GRAY), start, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                formattedText = builder;
+            }
             messageText.setText(formattedText);
         }
 
@@ -137,8 +227,7 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             }
 
             SpannableStringBuilder builder = new SpannableStringBuilder();
-            Pattern pattern = Pattern.compile("\\*\\*(.+?)\\*\\*");
-            Matcher matcher = pattern.matcher(text);
+            Matcher matcher = BOLD_PATTERN.matcher(text);
 
             int lastEnd = 0;
             while (matcher.find()) {
@@ -1,10 +1,16 @@
 package com.example.mymoney.chatbot;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class ChatMessage {
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id = NEXT_ID.incrementAndGet();  // stable id for the chat list
     private String message;
     private boolean isUser;
     private long timestamp;
     private boolean isLoading;
+    private String latencyInfo;  // e.g. "⏱ Chữ đầu tiên 1.2 s · Tổng 6.8 s", shown under bot answers
 
     public ChatMessage(String message, boolean isUser) {
         this.message = message;
@@ -19,6 +25,10 @@ public class ChatMessage {
         this.timestamp = System.currentTimeMillis();
     }
 
+    public long getId() {
+        return id;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -50,4 +60,12 @@ public class ChatMessage {
     public void setLoading(boolean loading) {
         isLoading = loading;
     }
+
+    public String getLatencyInfo() {
+        return latencyInfo;
+    }
+
+    public void setLatencyInfo(String latencyInfo) {
+        this.latencyInfo = latencyInfo;
+    }
 }
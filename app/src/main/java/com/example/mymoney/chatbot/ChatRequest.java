@@ -0,0 +1,81 @@
+package com.example.mymoney.chatbot;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import retrofit2.Call;
+
+/**
+ * Handle for one run of the chatbot pipeline ({@link ChatbotService#generateFinancialAdvice}).
+ * <p>
+ * {@link #cancel()} cancels every tracked stage and in-flight backend call, so a new message
+ * does not wait behind the previous one. The callback of a cancelled request is never called
+ * again, so a late result cannot overwrite a newer one.
+ */
+public final class ChatRequest {
+
+    private final List<CompletableFuture<?>> stages = new CopyOnWriteArrayList<>();
+    private final List<Call<?>> calls = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    ChatRequest() {
+    }
+
+    /** Cancels {@code stage} together with this request. */
+    <T> CompletableFuture<T> track(@NonNull CompletableFuture<T> stage) {
+        stages.add(stage);
+        if (cancelled) stage.cancel(true);
+        return stage;
+    }
+
+    /** Cancels {@code call} (e.g. a blocking stream read) together with this request. */
+    <T> Call<T> track(@NonNull Call<T> call) {
+        calls.add(call);
+        if (cancelled) call.cancel();
+        return call;
+    }
+
+    /** Cancels the request. Safe to call more than once, from any thread. */
+    public void cancel() {
+        if (cancelled) return;
+        cancelled = true;
+        for (CompletableFuture<?> stage : stages) {
+            stage.cancel(true);
+        }
+        for (Call<?> call : calls) {
+            call.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Wraps {@code callback} so that nothing is delivered once this request is cancelled. */
+    ChatbotService.ChatbotCallback guard(@NonNull ChatbotService.ChatbotCallback callback) {
+        return new ChatbotService.ChatbotCallback() {
+            @Override
+            public void onSuccess(String response) {
+                if (!cancelled) callback.onSuccess(response);
+            }
+
+            @Override
+            public void onError(String error) {
+                if (!cancelled) callback.onError(error);
+            }
+
+            @Override
+            public void onPartial(String textSoFar) {
+                if (!cancelled) callback.onPartial(textSoFar);
+            }
+
+            @Override
+            public void onTimings(long firstTokenMs, long totalMs) {
+                if (!cancelled) callback.onTimings(firstTokenMs, totalMs);
+            }
+        };
+    }
+}
@@ -1,45 +1,52 @@
 package com.example.mymoney.chatbot;
 
 import android.content.Context;
+import android.os.SystemClock;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+
 import com.example.mymoney.BuildConfig;
 import com.example.mymoney.budget.BudgetContextProvider;
 import com.example.mymoney.budget.BudgetNotificationService;
 import com.example.mymoney.budget.BudgetRuleEngine;
 import com.example.mymoney.budget.SpendingPatternAnalyzer;
 import com.example.mymoney.database.AppDatabase;
-import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.database.TableVersions;
 import com.example.mymoney.database.entity.SavingGoal;
-import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.model.CategoryTypeTotal;
+import com.example.mymoney.utils.AppExecutors;
+import com.example.mymoney.utils.Futures;
+import com.example.mymoney.utils.HttpClients;
+import com.example.mymoney.utils.LatencyTimer;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
-
-import okhttp3.OkHttpClient;
+import java.util.concurrent.CompletableFuture;
 
-import retrofit2.Call;
-import retrofit2.Callback;
+import okhttp3.ResponseBody;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class ChatbotService {
     private static final String TAG = "ChatbotService";
     private static final String DEFAULT_BACKEND_BASE_URL = "http://192.168.1.16:8000/";
-    private static final int CONNECT_TIMEOUT_SECONDS = 15;
-    private static final int READ_TIMEOUT_SECONDS = 90;
-    private static final int WRITE_TIMEOUT_SECONDS = 60;
-    private static final int CALL_TIMEOUT_SECONDS = 120;
+    // /generate chờ LLM trả lời: read/call timeout dài
+    private static final HttpClients.Timeouts GENERATE_TIMEOUTS = new HttpClients.Timeouts(15, 90, 60, 120);
+    // Streaming: cập nhật bong bóng chat tối đa ~12 lần/giây
+    private static final long PARTIAL_UPDATE_INTERVAL_MS = 80;
+    private static final String TIMER_FIRST_TOKEN = "chat.first_token";
+    private static final String TIMER_ANSWER = "chat.answer";
+    // Stage deadlines; /generate itself is bounded by GENERATE_TIMEOUTS' call timeout
+    private static final long CONTEXT_DEADLINE_MS = 20_000;
+    private static final long RETRIEVE_DEADLINE_MS = 20_000;
+    private static final int TOP_CATEGORIES = 5;
 
     private BackendApiService backendApiService;
     private AppDatabase database;
@@ -48,6 +55,8 @@ public class ChatbotService {
     private BudgetNotificationService notificationService;
     private SpendingPatternAnalyzer patternAnalyzer;
     private QueryParser queryParser;
+    private TableVersions tableVersions;
+    private volatile boolean streamingSupported = true;
 
     public ChatbotService(Context context) {
         this.context = context;
@@ -56,22 +65,10 @@ public class ChatbotService {
         this.notificationService = new BudgetNotificationService(context);
         this.patternAnalyzer = new SpendingPatternAnalyzer(context);
         this.queryParser = new QueryParser(context);
+        this.tableVersions = TableVersions.getInstance(database);
 
-        OkHttpClient httpClient = new OkHttpClient.Builder()
-            .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-            .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-            .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-            .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-            .retryOnConnectionFailure(true)
-            .build();
-
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(resolveBackendBaseUrl())
-            .client(httpClient)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        this.backendApiService = retrofit.create(BackendApiService.class);
+        this.backendApiService = HttpClients.getInstance()
+                .service(resolveBackendBaseUrl(), BackendApiService.class, GENERATE_TIMEOUTS);
     }
 
     private String resolveBackendBaseUrl() {
@@ -137,144 +134,251 @@ public class ChatbotService {
         return normalized;
     }
 
-    public void generateFinancialAdvice(int userId, int walletId, String userMessage, ChatbotCallback callback) {
+    /**
+     * Answers {@code userMessage}. Pipeline, on the shared executors:
+     * <pre>
+     *   A: /parse → SQLite → financial context   (deadline {@link #CONTEXT_DEADLINE_MS})
+     *   B: /retrieve → retrieval id              (deadline {@link #RETRIEVE_DEADLINE_MS})
+     *   A + B → /generate (streamed)             (OkHttp call timeout)
+     * </pre>
+     * A stage that fails or misses its deadline degrades the answer (empty context, or local
+     * advice without retrieval) instead of failing it.
+     *
+     * @return handle to cancel the request, e.g. when a new message is sent
+     */
+    public ChatRequest generateFinancialAdvice(int userId, int walletId, String userMessage, ChatbotCallback callback) {
         Log.d(TAG, "Starting financial advice generation (parallel) for user: " + userId + ", wallet: " + walletId);
 
-        new Thread(() -> {
-            try {
-                // ─── Run two tasks in parallel ─────────────────────────
-                // Thread A: /parse → SQLite queries → build financial context
-                // Thread B: /retrieve → vector search + rerank (no LLM)
-
-                final CountDownLatch latch = new CountDownLatch(2);
-                final AtomicReference<String> financialAnalysisRef = new AtomicReference<>("");
-                final AtomicReference<String> budgetContextRef = new AtomicReference<>("");
-                final AtomicReference<String> patternContextRef = new AtomicReference<>("");
-                final AtomicReference<String> retrievalIdRef = new AtomicReference<>(null);
-
-                // ─── Thread A: Parse + Financial Context ───────────────
-                new Thread(() -> {
-                    try {
-                        QueryIntent intent = queryParser.parseQuerySync(userMessage);
-                        Log.d(TAG, "[Thread A] Parsed intent: " + intent);
-
-                        String financialAnalysis = analyzeUserFinancialData(userId, walletId, intent);
-                        financialAnalysisRef.set(financialAnalysis);
-
-                        BudgetRuleEngine.BudgetAnalysisResult budgetAnalysis =
-                                budgetContextProvider.analyzeBudgetsSync(walletId);
-
-                        SpendingPatternAnalyzer.PatternAnalysisResult patternResult =
-                                patternAnalyzer.analyzePatterns(walletId);
-
-                        if (budgetAnalysis != null) {
-                            notificationService.checkAndNotify(budgetAnalysis);
-                        }
-
-                        if (budgetAnalysis != null && isBudgetRelatedQuery(userMessage)) {
-                            budgetContextRef.set(BudgetContextProvider.buildPromptEnhancement(budgetAnalysis));
-                        }
-                        if (patternResult != null && isPatternRelatedQuery(userMessage)) {
-                            patternContextRef.set(buildPatternPromptEnhancement(patternResult));
-                        }
-
-                        Log.d(TAG, "[Thread A] Financial context ready");
-                    } catch (Exception e) {
-                        Log.e(TAG, "[Thread A] Error", e);
-                    } finally {
-                        latch.countDown();
+        final ChatRequest request = new ChatRequest();
+        final ChatbotCallback guarded = request.guard(callback);
+        final long startedAt = SystemClock.elapsedRealtime();
+        final StreamProgress progress = new StreamProgress(startedAt, guarded);
+        AppExecutors executors = AppExecutors.getInstance();
+
+        // ─── A: Parse + Financial Context ──────────────────────
+        CompletableFuture<QueryIntent> parse = request.track(queryParser.parseQueryAsync(userMessage));
+        CompletableFuture<AdviceContext> context = request.track(Futures.withDeadline(
+                parse.thenApplyAsync(intent -> buildAdviceContext(userId, walletId, userMessage, intent),
+                        executors.diskIO()),
+                CONTEXT_DEADLINE_MS, "financial context"))
+                .exceptionally(error -> {
+                    if (!Futures.isCancellation(error)) {
+                        Log.e(TAG, "[A] Financial context failed: " + Futures.unwrap(error).getMessage());
+                    }
+                    return new AdviceContext();
+                });
+
+        // ─── B: Retrieve Documents ─────────────────────────────
+        CompletableFuture<String> retrieval = request.track(Futures.withDeadline(
+                Futures.enqueue(backendApiService.retrieve(new BackendApiService.BackendRetrieveRequest(userMessage))),
+                RETRIEVE_DEADLINE_MS, "/retrieve"))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Log.e(TAG, "[B] /retrieve failure: " + Futures.unwrap(error).getMessage());
+                        return null;
+                    }
+                    if (response.isSuccessful() && response.body() != null) {
+                        Log.d(TAG, "[B] Retrieval done: " + response.body().getRetrievalId());
+                        return response.body().getRetrievalId();
+                    }
+                    Log.e(TAG, "[B] /retrieve error: " + response.code());
+                    return null;
+                });
+
+        // ─── Phase 2: Generate response ────────────────────────
+        request.track(context.thenCombineAsync(retrieval, (adviceContext, retrievalId) -> {
+            String answer = null;
+            if (retrievalId != null) {
+                // Use split pipeline: /generate with pre-retrieved docs
+                String conversationId = "user_" + userId + "_wallet_" + walletId;
+
+                BackendApiService.BackendGenerateRequest generateReq =
+                        new BackendApiService.BackendGenerateRequest(
+                                retrievalId,
+                                userMessage,
+                                new BackendApiService.FinancialContext(
+                                        adviceContext.financialAnalysis,
+                                        adviceContext.budgetContext,
+                                        adviceContext.patternContext
+                                ),
+                                conversationId,
+                                userId,
+                                walletId
+                        );
+
+                answer = generateAnswer(request, generateReq, progress);
+            } else {
+                // Fallback: /retrieve failed, return local advice instantly
+                Log.w(TAG, "Retrieval failed, returning local advice instantly");
+            }
+            if (answer == null) {
+                answer = generateLocalFinancialAdvice(userId, walletId, userMessage, adviceContext.financialAnalysis);
+            }
+            return answer;
+        }, executors.networkIO()))
+                .whenComplete((answer, error) -> {
+                    if (request.isCancelled()) {
+                        Log.d(TAG, "Request cancelled after " + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+                        return;
                     }
-                }).start();
-
-                // ─── Thread B: Retrieve Documents ──────────────────────
-                new Thread(() -> {
-                    try {
-                        BackendApiService.BackendRetrieveRequest retrieveReq =
-                                new BackendApiService.BackendRetrieveRequest(userMessage);
-
-                        Response<BackendApiService.BackendRetrieveResponse> response =
-                                backendApiService.retrieve(retrieveReq).execute();
-
-                        if (response.isSuccessful() && response.body() != null) {
-                            retrievalIdRef.set(response.body().getRetrievalId());
-                            Log.d(TAG, "[Thread B] Retrieval done: " + response.body().getRetrievalId());
-                        } else {
-                            Log.e(TAG, "[Thread B] /retrieve error: " + response.code());
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "[Thread B] /retrieve failure", e);
-                    } finally {
-                        latch.countDown();
+                    if (error != null) {
+                        Log.e(TAG, "Error in financial analysis", Futures.unwrap(error));
+                        guarded.onError("Đã xảy ra lỗi khi phân tích dữ liệu tài chính");
+                        return;
                     }
-                }).start();
+                    long totalMs = SystemClock.elapsedRealtime() - startedAt;
+                    LatencyTimer.record(TIMER_ANSWER, totalMs);
+                    guarded.onTimings(progress.firstTokenMs, totalMs);
+                    guarded.onSuccess(answer);
+                });
+
+        return request;
+    }
+
+    /** Stage A's output: the context sent to /generate along with the question. */
+    private static final class AdviceContext {
+        String financialAnalysis = "";
+        String budgetContext = "";
+        String patternContext = "";
+    }
+
+    /**
+     * Stage A, on the disk pool: SQLite analysis for the parsed intent, budgets and habits.
+     * Reused from {@link FinancialContextCache} while the data has not changed.
+     */
+    private AdviceContext buildAdviceContext(int userId, int walletId, String userMessage, QueryIntent intent) {
+        Log.d(TAG, "[A] Parsed intent: " + intent);
+        AdviceContext result = new AdviceContext();
+        FinancialContextCache cache = FinancialContextCache.getInstance();
+
+        result.financialAnalysis = cache.getAnalysis(tableVersions, walletId, intent,
+                () -> analyzeUserFinancialData(userId, walletId, intent));
+
+        FinancialContextCache.Snapshot snapshot = cache.getSnapshot(tableVersions, walletId, () -> {
+            BudgetRuleEngine.BudgetAnalysisResult budgetAnalysis =
+                    budgetContextProvider.analyzeBudgetsSync(walletId);
+
+            // Only on fresh data: a cached snapshot has already been checked
+            if (budgetAnalysis != null) {
+                notificationService.checkAndNotify(budgetAnalysis);
+            }
+
+            return new FinancialContextCache.Snapshot(budgetAnalysis, patternAnalyzer.analyzePatterns(walletId));
+        });
+
+        if (snapshot.budgetAnalysis != null && isBudgetRelatedQuery(userMessage)) {
+            result.budgetContext = BudgetContextProvider.buildPromptEnhancement(snapshot.budgetAnalysis);
+        }
+        if (snapshot.patternResult != null && isPatternRelatedQuery(userMessage)) {
+            result.patternContext = buildPatternPromptEnhancement(snapshot.patternResult);
+        }
+
+        Log.d(TAG, "[A] Financial context ready");
+        return result;
+    }
 
-                // ─── Wait for both threads ─────────────────────────────
-                boolean completed = latch.await(30, TimeUnit.SECONDS);
-                if (!completed) {
-                    Log.w(TAG, "Parallel tasks timed out after 30s");
+    /**
+     * Generates the answer on the calling (network) thread. Streams /generate/stream, reporting
+     * partial text through {@code progress}; if the backend has no streaming endpoint, or the
+     * stream fails before its first token, falls back to the blocking /generate.
+     *
+     * @return the generated text, or null if the backend gave nothing usable
+     */
+    private String generateAnswer(ChatRequest request, BackendApiService.BackendGenerateRequest generateReq,
+                                  StreamProgress progress) {
+        if (streamingSupported) {
+            try {
+                String streamed = streamGenerate(request, generateReq, progress);
+                if (streamed != null && !streamed.trim().isEmpty()) {
+                    Log.d(TAG, "Backend /generate/stream done, first token after " + progress.firstTokenMs + " ms");
+                    return cleanGeneratedText(streamed);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Backend /generate/stream failure: " + e.getMessage(), e);
+                // Giữ phần đã hiển thị thay vì thay bằng câu trả lời khác
+                String partial = progress.textSoFar();
+                if (!partial.trim().isEmpty()) {
+                    return cleanGeneratedText(partial);
                 }
+            }
+        }
 
-                String financialAnalysis = financialAnalysisRef.get();
-                String retrievalId = retrievalIdRef.get();
-
-                // ─── Phase 2: Generate response ────────────────────────
-                if (retrievalId != null) {
-                    // Use split pipeline: /generate with pre-retrieved docs
-                    String conversationId = "user_" + userId + "_wallet_" + walletId;
-
-                    BackendApiService.BackendGenerateRequest generateReq =
-                            new BackendApiService.BackendGenerateRequest(
-                                    retrievalId,
-                                    userMessage,
-                                    new BackendApiService.FinancialContext(
-                                            financialAnalysis,
-                                            budgetContextRef.get(),
-                                            patternContextRef.get()
-                                    ),
-                                    conversationId,
-                                    userId,
-                                    walletId
-                            );
-
-                    Call<BackendChatResponse> call = backendApiService.generate(generateReq);
-                    call.enqueue(new Callback<BackendChatResponse>() {
-                        @Override
-                        public void onResponse(Call<BackendChatResponse> call, Response<BackendChatResponse> response) {
-                            if (response.isSuccessful() && response.body() != null) {
-                                Log.d(TAG, "Backend /generate response successful");
-                                String generatedText = response.body().getResponse();
-                                if (generatedText != null && !generatedText.isEmpty()) {
-                                    callback.onSuccess(cleanGeneratedText(generatedText));
-                                } else {
-                                    callback.onSuccess(generateLocalFinancialAdvice(userId, walletId, userMessage, financialAnalysis));
-                                }
-                            } else {
-                                Log.e(TAG, "Backend /generate error: " + response.code());
-                                callback.onSuccess(generateLocalFinancialAdvice(userId, walletId, userMessage, financialAnalysis));
-                            }
-                        }
-
-                        @Override
-                        public void onFailure(Call<BackendChatResponse> call, Throwable t) {
-                            Log.e(TAG, "Backend /generate failure: " + t.getMessage(), t);
-                            callback.onSuccess(generateLocalFinancialAdvice(userId, walletId, userMessage, financialAnalysis));
-                        }
-                    });
-                    // Fallback: /retrieve failed, return local advice instantly
-                    Log.w(TAG, "Retrieval failed, returning local advice instantly");
-                    callback.onSuccess(generateLocalFinancialAdvice(userId, walletId, userMessage, financialAnalysis));
+        if (request.isCancelled()) return null;
+        try {
+            Response<BackendChatResponse> response = request.track(backendApiService.generate(generateReq)).execute();
+            if (response.isSuccessful() && response.body() != null) {
+                Log.d(TAG, "Backend /generate response successful");
+                String generatedText = response.body().getResponse();
+                if (generatedText != null && !generatedText.isEmpty()) {
+                    return cleanGeneratedText(generatedText);
                 }
+            } else {
+                Log.e(TAG, "Backend /generate error: " + response.code());
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Backend /generate failure: " + e.getMessage(), e);
+        }
+        return null;
+    }
 
-            } catch (Exception e) {
-                Log.e(TAG, "Error in financial analysis", e);
-                callback.onError("Đã xảy ra lỗi khi phân tích dữ liệu tài chính");
+    /** @return the streamed text, or null if the endpoint answered with an error status */
+    private String streamGenerate(ChatRequest request, BackendApiService.BackendGenerateRequest generateReq,
+                                  StreamProgress progress) throws IOException {
+        Response<ResponseBody> response = request.track(backendApiService.generateStream(generateReq)).execute();
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            if (response.code() == 404 || response.code() == 405) {
+                // Backend cũ chưa có /generate/stream: dùng /generate cho các lần sau
+                Log.w(TAG, "Backend has no /generate/stream, using /generate from now on");
+                streamingSupported = false;
+            } else {
+                Log.e(TAG, "Backend /generate/stream error: " + response.code());
             }
-        }).start();
+            if (body != null) body.close();
+            return null;
+        }
+        return GenerateStream.read(body, progress);
+    }
+
+    /**
+     * Tracks a streamed answer: time to first token, and partial text forwarded to the callback
+     * at most every {@link #PARTIAL_UPDATE_INTERVAL_MS} (the first token immediately).
+     */
+    private static final class StreamProgress implements GenerateStream.Listener {
+        private final long startedAt;
+        private final ChatbotCallback callback;
+        private CharSequence text = "";
+        private long lastPartialAt;
+        volatile long firstTokenMs = -1;
+
+        StreamProgress(long startedAt, ChatbotCallback callback) {
+            this.startedAt = startedAt;
+            this.callback = callback;
+        }
+
+        @Override
+        public void onToken(@NonNull CharSequence textSoFar) {
+            text = textSoFar;
+            long now = SystemClock.elapsedRealtime();
+            if (firstTokenMs < 0) {
+                firstTokenMs = now - startedAt;
+                LatencyTimer.record(TIMER_FIRST_TOKEN, firstTokenMs);
+            } else if (now - lastPartialAt < PARTIAL_UPDATE_INTERVAL_MS) {
+                return;
+            }
+            lastPartialAt = now;
+            callback.onPartial(textSoFar.toString());
+        }
+
+        String textSoFar() {
+            return text.toString();
+        }
     }
 
     /**
      * Analyze financial data based on parsed query intent.
-     * Fetches data for the specific time range and category requested.
+     * Totals, per-category sums and the top categories come from one grouped query over the
+     * intent's time range, filtered by the category IDs that QueryParser resolved.
      */
     private String analyzeUserFinancialData(int userId, int walletId, QueryIntent intent) {
         StringBuilder analysis = new StringBuilder();
@@ -290,65 +394,50 @@ public class ChatbotService {
         // Build time period description
         String periodDescription = buildPeriodDescription(intent);
 
-        // Get transactions for the specified time range
-        List<Transaction> transactions = database.transactionDao()
-                .getTransactionsByWalletAndDateRange(walletId, startTimestamp, endTimestamp);
-        
-        Log.d(TAG, "Found " + transactions.size() + " transactions in date range for wallet " + walletId);
-        
-        // Debug: Show all unique category IDs in the found transactions
-        StringBuilder categoryDebug = new StringBuilder("Categories in transactions: ");
-        java.util.Set<Integer> uniqueCatIds = new java.util.HashSet<>();
-        for (Transaction t : transactions) {
-            uniqueCatIds.add(t.getCategoryId());
-        }
-        for (Integer catId : uniqueCatIds) {
-            Category cat = database.categoryDao().getCategoryById(catId);
-            categoryDebug.append(catId).append("=").append(cat != null ? cat.getName() : "null").append(", ");
-        }
-        Log.d(TAG, categoryDebug.toString());
-
-        // Filter by category if specified - ALWAYS use category name to avoid ID mismatch issues
-        if (intent.getCategoryName() != null && !intent.getCategoryName().isEmpty()) {
-            String categoryName = intent.getCategoryName();
-            int beforeCount = transactions.size();
-            Log.d(TAG, "Filtering by categoryName: " + categoryName);
-            transactions.removeIf(t -> {
-                Category cat = database.categoryDao().getCategoryById(t.getCategoryId());
-                return cat == null || !cat.getName().equalsIgnoreCase(categoryName);
-            });
-            Log.d(TAG, "After category filter: " + transactions.size() + " transactions (was " + beforeCount + ")");
+        // The category was resolved to every ID with that name by QueryParser.resolveCategoryIds;
+        // a name without IDs is a category this database doesn't have, so nothing matches.
+        String categoryName = intent.getCategoryName();
+        boolean categoryQuery = categoryName != null && !categoryName.isEmpty();
+        List<Integer> categoryIds = intent.getCategoryIds();
+        List<CategoryTypeTotal> totals;
+        if (!categoryQuery) {
+            totals = database.transactionDao().getCategoryTotalsByWalletAndDateRange(
+                    walletId, startTimestamp, endTimestamp);
+        } else if (categoryIds.isEmpty()) {
+            totals = Collections.emptyList();
+        } else {
+            totals = database.transactionDao().getCategoryTotalsByWalletAndDateRange(
+                    walletId, startTimestamp, endTimestamp, categoryIds);
         }
 
-        // Calculate totals
+        // Calculate totals (rows are already summed per type + category, largest first)
         double totalExpenses = 0;
         double totalIncome = 0;
-        Map<Integer, Double> categoryExpenses = new HashMap<>();
-        Map<Integer, Double> categoryIncomes = new HashMap<>();
-
-        for (Transaction transaction : transactions) {
-            if ("expense".equals(transaction.getType())) {
-                totalExpenses += transaction.getAmount();
-                categoryExpenses.put(
-                        transaction.getCategoryId(),
-                        categoryExpenses.getOrDefault(transaction.getCategoryId(), 0.0) + transaction.getAmount()
-                );
-            } else if ("income".equals(transaction.getType())) {
-                totalIncome += transaction.getAmount();
-                categoryIncomes.put(
-                        transaction.getCategoryId(),
-                        categoryIncomes.getOrDefault(transaction.getCategoryId(), 0.0) + transaction.getAmount()
-                );
+        int transactionCount = 0;
+        List<CategoryTypeTotal> categoryExpenses = new ArrayList<>();
+        for (CategoryTypeTotal row : totals) {
+            transactionCount += row.count;
+            if ("expense".equals(row.type)) {
+                totalExpenses += row.total;
+                categoryExpenses.add(row);
+            } else if ("income".equals(row.type)) {
+                totalIncome += row.total;
             }
         }
+        Log.d(TAG, "Found " + transactionCount + " transactions in " + totals.size()
+                + " category groups for wallet " + walletId
+                + (categoryQuery ? " (category " + categoryName + " → " + categoryIds + ")" : ""));
 
         // Build analysis based on query type
         analysis.append("📊 ").append(periodDescription).append(" (Ví hiện tại):\n");
 
-        if (intent.getCategoryName() != null) {
+        if (categoryQuery) {
             // Category-specific query
-            analysis.append(String.format("Chi tiêu cho %s: %.0f VNĐ\n", intent.getCategoryName(), totalExpenses));
-            analysis.append(String.format("Số giao dịch: %d\n", transactions.size()));
+            analysis.append(String.format("Chi tiêu cho %s: %.0f VNĐ\n", categoryName, totalExpenses));
+            if (totalIncome > 0) {
+                analysis.append(String.format("Thu nhập từ %s: %.0f VNĐ\n", categoryName, totalIncome));
+            }
+            analysis.append(String.format("Số giao dịch: %d\n", transactionCount));
         } else {
             // General query
             analysis.append(String.format("Thu nhập: %.0f VNĐ\n", totalIncome));
@@ -358,16 +447,12 @@ public class ChatbotService {
             // Top spending categories
             if (!categoryExpenses.isEmpty()) {
                 analysis.append("\n💰 Chi tiêu theo danh mục:\n");
-                categoryExpenses.entrySet().stream()
-                        .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
-                        .limit(5)
-                        .forEach(entry -> {
-                            Category category = database.categoryDao().getCategoryById(entry.getKey());
-                            if (category != null) {
-                                analysis.append(String.format("- %s: %.0f VNĐ\n",
-                                        category.getName(), entry.getValue()));
-                            }
-                        });
+                int shown = 0;
+                for (CategoryTypeTotal row : categoryExpenses) {
+                    if (row.categoryName == null) continue;
+                    analysis.append(String.format("- %s: %.0f VNĐ\n", row.categoryName, row.total));
+                    if (++shown == TOP_CATEGORIES) break;
+                }
             }
         }
 
@@ -481,7 +566,7 @@ public class ChatbotService {
      * Get quick budget recommendation without LLM
      */
     public void getQuickBudgetRecommendation(int walletId, ChatbotCallback callback) {
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BudgetRuleEngine.BudgetAnalysisResult result =
                         budgetContextProvider.analyzeBudgetsSync(walletId);
@@ -501,14 +586,14 @@ public class ChatbotService {
             } catch (Exception e) {
                 callback.onError("Không thể phân tích ngân sách: " + e.getMessage());
             }
-        }).start();
+        });
     }
 
     /**
      * Get spending pattern analysis
      */
     public void getSpendingPatternAnalysis(int walletId, ChatbotCallback callback) {
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 SpendingPatternAnalyzer.PatternAnalysisResult result =
                         patternAnalyzer.analyzePatterns(walletId);
@@ -558,7 +643,7 @@ public class ChatbotService {
                 Log.e(TAG, "Error analyzing spending patterns", e);
                 callback.onError("Không thể phân tích thói quen chi tiêu: " + e.getMessage());
             }
-        }).start();
+        });
     }
 
     /**
@@ -645,8 +730,27 @@ public class ChatbotService {
         }
     }
 
+    /** Hit/miss counters of the financial context cache shared by all instances. */
+    public static String getContextCacheStats() {
+        return FinancialContextCache.getInstance().getStats();
+    }
+
     public interface ChatbotCallback {
         void onSuccess(String response);
         void onError(String error);
+
+        /**
+         * Streamed answers only: the text generated so far, throttled. Called on a background
+         * thread, always before {@link #onSuccess} (which carries the final text).
+         */
+        default void onPartial(String textSoFar) {
+        }
+
+        /**
+         * Timing of an answer, called right before {@link #onSuccess}: ms from the request to the
+         * first streamed token (-1 if nothing was streamed) and to the complete answer.
+         */
+        default void onTimings(long firstTokenMs, long totalMs) {
+        }
     }
 }
\ No newline at end of file
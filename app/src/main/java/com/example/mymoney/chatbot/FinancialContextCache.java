@@ -0,0 +1,115 @@
+package com.example.mymoney.chatbot;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import com.example.mymoney.budget.BudgetRuleEngine;
+import com.example.mymoney.budget.SpendingPatternAnalyzer;
+import com.example.mymoney.database.TableVersions;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the chatbot's financial context (stage A of {@link ChatbotService}) across messages.
+ * <ul>
+ *   <li>the SQLite analysis text, per (wallet, intent time range, category)</li>
+ *   <li>the budget and spending-pattern analyses, per wallet</li>
+ * </ul>
+ * Every key also holds today's date and the data version of the tables the analyses read
+ * ({@link TableVersions}), so any write — a new transaction, an edited budget — makes the next
+ * question recompute. Shared by all {@link ChatbotService} instances; hit/miss counters are
+ * exposed through {@link #getStats()}.
+ * <p>
+ * Room reports writes a moment after they commit, so a question asked in that instant may
+ * still see the previous snapshot.
+ */
+final class FinancialContextCache {
+
+    private static final String TAG = "FinancialContextCache";
+
+    /** Tables read by analyzeUserFinancialData, the budget rule engine and the pattern analyzer. */
+    private static final String[] SOURCE_TABLES = {
+            TableVersions.TRANSACTION, TableVersions.DAILY_TOTAL, TableVersions.BUDGET,
+            TableVersions.CATEGORY, TableVersions.WALLET
+    };
+
+    /** Budget + pattern analyses of one wallet, computed together. */
+    static final class Snapshot {
+        final BudgetRuleEngine.BudgetAnalysisResult budgetAnalysis;
+        final SpendingPatternAnalyzer.PatternAnalysisResult patternResult;
+
+        Snapshot(BudgetRuleEngine.BudgetAnalysisResult budgetAnalysis,
+                 SpendingPatternAnalyzer.PatternAnalysisResult patternResult) {
+            this.budgetAnalysis = budgetAnalysis;
+            this.patternResult = patternResult;
+        }
+    }
+
+    private static final FinancialContextCache INSTANCE = new FinancialContextCache();
+
+    // Old versions are never hit again and simply age out
+    private final LruCache<String, String> analyses = new LruCache<>(32);
+    private final LruCache<String, Snapshot> snapshots = new LruCache<>(4);
+
+    private final AtomicInteger analysisHits = new AtomicInteger();
+    private final AtomicInteger analysisMisses = new AtomicInteger();
+    private final AtomicInteger snapshotHits = new AtomicInteger();
+    private final AtomicInteger snapshotMisses = new AtomicInteger();
+
+    private FinancialContextCache() {
+    }
+
+    static FinancialContextCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Cached SQLite analysis for {@code intent}, or {@code compute}'s result.
+     * The key uses the intent's range type and parameters, not its timestamps: "this month"
+     * ends at "now", which changes with every question.
+     */
+    String getAnalysis(@NonNull TableVersions versions, int walletId, @NonNull QueryIntent intent,
+                       @NonNull Supplier<String> compute) {
+        String key = String.format(Locale.ROOT, "%d|%s|%d|%d|%d|%s|%d|%d",
+                walletId, intent.getTimeRangeType(), intent.getYear(), intent.getMonth(), intent.getDays(),
+                intent.getCategoryName() != null ? intent.getCategoryName().toLowerCase(Locale.ROOT) : "",
+                LocalDate.now().toEpochDay(), versions.getVersion(SOURCE_TABLES));
+        return getOrCompute(analyses, key, compute, analysisHits, analysisMisses);
+    }
+
+    /** Cached budget + pattern analyses of {@code walletId}, or {@code compute}'s result. */
+    Snapshot getSnapshot(@NonNull TableVersions versions, int walletId, @NonNull Supplier<Snapshot> compute) {
+        String key = walletId + "|" + LocalDate.now().toEpochDay() + "|" + versions.getVersion(SOURCE_TABLES);
+        return getOrCompute(snapshots, key, compute, snapshotHits, snapshotMisses);
+    }
+
+    // The key (version included) is taken before computing: a write made meanwhile bumps the
+    // version, so the value is stored under the old key and never served as current.
+    private static <V> V getOrCompute(LruCache<String, V> cache, String key, Supplier<V> compute,
+                                      AtomicInteger hits, AtomicInteger misses) {
+        V value = cache.get(key);
+        if (value != null) {
+            hits.incrementAndGet();
+            return value;
+        }
+        misses.incrementAndGet();
+        long start = System.currentTimeMillis();
+        value = compute.get();
+        Log.d(TAG, "Computed " + key + " in " + (System.currentTimeMillis() - start) + " ms");
+        if (value != null) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /** Hit/miss counters, e.g. {@code analysis: hit=5 miss=3 · budget/pattern: hit=7 miss=1}. */
+    String getStats() {
+        return "analysis: hit=" + analysisHits.get() + " miss=" + analysisMisses.get()
+                + " · budget/pattern: hit=" + snapshotHits.get() + " miss=" + snapshotMisses.get();
+    }
+}
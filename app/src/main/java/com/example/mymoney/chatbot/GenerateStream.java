@@ -0,0 +1,121 @@
+package com.example.mymoney.chatbot;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * Reads the body of POST /generate/stream as it arrives.
+ * <p>
+ * The backend sends server-sent events, one token per event, and ends with {@code data: [DONE]}:
+ * <pre>
+ * data: {"token": "Tháng này"}
+ *
+ * data: {"token": " bạn đã chi"}
+ *
+ * data: [DONE]
+ * </pre>
+ * An event's data may also be plain text (appended as is), {@code {"done": true}} or
+ * {@code {"error": "..."}}. Newline-delimited JSON (chunked, one object per line, no
+ * {@code data:} prefix) is accepted as well.
+ */
+final class GenerateStream {
+
+    /**
+     * Called on the reading thread after every non-empty token. {@code textSoFar} is the live
+     * buffer: copy it ({@code toString()}) to keep it.
+     */
+    interface Listener {
+        void onToken(@NonNull CharSequence textSoFar);
+    }
+
+    private static final String DONE = "[DONE]";
+
+    private final StringBuilder text = new StringBuilder();
+    private final Listener listener;
+
+    private GenerateStream(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Blocks until the stream ends (or {@code [DONE]}), then closes {@code body}.
+     *
+     * @return the whole generated text
+     * @throws IOException on network errors, or when the backend reports an error in the stream
+     */
+    static String read(@NonNull ResponseBody body, @NonNull Listener listener) throws IOException {
+        GenerateStream stream = new GenerateStream(listener);
+        try (BufferedSource source = body.source()) {
+            stream.readEvents(source);
+        }
+        return stream.text.toString();
+    }
+
+    private void readEvents(BufferedSource source) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (line.isEmpty()) {
+                // Blank line = end of event
+                if (data.length() > 0) {
+                    if (dispatch(data.toString())) return;
+                    data.setLength(0);
+                }
+            } else if (line.startsWith("data:")) {
+                String value = line.substring(5);
+                if (value.startsWith(" ")) value = value.substring(1);
+                if (data.length() > 0) data.append('\n');
+                data.append(value);
+            } else if (line.startsWith("{")) {
+                // NDJSON
+                if (dispatch(line)) return;
+            }
+            // ":" keep-alive comments and event:/id:/retry: fields are ignored
+        }
+        if (data.length() > 0) {
+            dispatch(data.toString());
+        }
+    }
+
+    /** @return true when the stream is finished */
+    private boolean dispatch(String payload) throws IOException {
+        if (DONE.equals(payload.trim())) return true;
+
+        if (!payload.startsWith("{")) {
+            append(payload);
+            return false;
+        }
+
+        JsonObject event;
+        try {
+            event = JsonParser.parseString(payload).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Malformed stream event: " + payload, e);
+        }
+
+        if (event.has("error")) {
+            throw new IOException("Backend stream error: " + event.get("error"));
+        }
+        JsonElement token = event.get("token");
+        if (token != null && !token.isJsonNull()) {
+            append(token.getAsString());
+        }
+        JsonElement done = event.get("done");
+        return done != null && !done.isJsonNull() && done.getAsBoolean();
+    }
+
+    private void append(String token) {
+        if (token.isEmpty()) return;
+        text.append(token);
+        listener.onToken(text);
+    }
+}
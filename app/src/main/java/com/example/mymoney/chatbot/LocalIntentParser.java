@@ -0,0 +1,307 @@
+package com.example.mymoney.chatbot;
+
+import androidx.annotation.NonNull;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * On-device rule/lexicon parser for common Vietnamese and English questions
+ * ("tháng này tiêu bao nhiêu", "chi tiêu ăn uống 7 ngày qua", "income last month").
+ * <p>
+ * Fills the same fields as the backend /parse (time range, category name, query type) and
+ * returns a confidence in [0, 1]; {@link QueryParser} only calls the backend when it is below
+ * {@link #CONFIDENT}. Matching is done on lowercase text without diacritics, so "thang nay"
+ * and "tháng này" are the same. Timestamps and the category ID are filled in by the caller.
+ */
+final class LocalIntentParser {
+
+    /** At or above this confidence the local result is used without calling /parse. */
+    static final double CONFIDENT = 0.7;
+
+    /** Parsed intent and how sure the rules are about it. */
+    static final class Result {
+        final QueryIntent intent;
+        final double confidence;
+
+        Result(QueryIntent intent, double confidence) {
+            this.intent = intent;
+            this.confidence = confidence;
+        }
+    }
+
+    // ─── Time range ───────────────────────────────────────────
+
+    private static final Pattern CURRENT_MONTH = Pattern.compile("\\b(thang nay|this month)\\b");
+    private static final Pattern LAST_MONTH = Pattern.compile("\\b(thang truoc|thang roi|last month|previous month)\\b");
+    private static final Pattern VI_MONTH = Pattern.compile(
+            "\\bthang (\\d{1,2})(?:\\s*(?:/|-|nam)\\s*(\\d{4}|nay|ngoai|truoc))?\\b");
+    private static final Pattern EN_MONTH = Pattern.compile(
+            "\\b(?:in |of )?(january|february|march|april|may|june|july|august|september|october|november|december"
+                    + "|jan|feb|mar|apr|jun|jul|aug|sep|sept|oct|nov|dec)\\b(?:,? (\\d{4}))?");
+    private static final Pattern CURRENT_YEAR = Pattern.compile("\\b(nam nay|this year)\\b");
+    private static final Pattern LAST_YEAR = Pattern.compile("\\b(nam ngoai|nam truoc|nam roi|last year)\\b");
+    // Only with a year word: "tiêu 2000 cho ăn uống" is an amount (a year after a month is read by VI_MONTH / EN_MONTH)
+    private static final Pattern SPECIFIC_YEAR = Pattern.compile("\\b(?:nam|in|year|of) ((?:19|20)\\d{2})\\b");
+    private static final Pattern VI_DAYS = Pattern.compile("\\b(\\d{1,3}) ngay(?: qua| gan day| gan nhat| vua qua| truoc)?\\b");
+    private static final Pattern EN_DAYS = Pattern.compile("\\b(?:last|past|previous) (\\d{1,3}) days?\\b");
+    private static final Pattern WEEK = Pattern.compile("\\b(tuan nay|tuan qua|tuan truoc|tuan roi|this week|last week|past week)\\b");
+    private static final Pattern TODAY = Pattern.compile("\\b(hom nay|today)\\b");
+    private static final Pattern ALL_TIME = Pattern.compile("\\b(tu truoc den nay|tu truoc toi nay|tu dau|toan bo|tat ca thoi gian|all time|ever|overall)\\b");
+
+    private static final String[] EN_MONTHS = {"jan", "feb", "mar", "apr", "may", "jun",
+            "jul", "aug", "sep", "oct", "nov", "dec"};
+
+    // ─── Query type (checked in this order) ───────────────────
+
+    private static final Map<QueryIntent.QueryType, Pattern> QUERY_TYPES = new LinkedHashMap<>();
+
+    static {
+        QUERY_TYPES.put(QueryIntent.QueryType.COMPARISON,
+                Pattern.compile("\\b(so sanh|so voi|compare|compared|versus|vs)\\b"));
+        QUERY_TYPES.put(QueryIntent.QueryType.TREND,
+                Pattern.compile("\\b(xu huong|trung binh|moi thang|hang thang|trend|average|per month|monthly)\\b"));
+        QUERY_TYPES.put(QueryIntent.QueryType.CATEGORY_LIST,
+                Pattern.compile("\\b(danh muc nao|nhung danh muc|theo danh muc|loai nao|vao nhung gi|vao dau|vao gi"
+                        + "|which categor\\w*|by category|breakdown|on what|spend on most)\\b"));
+        QUERY_TYPES.put(QueryIntent.QueryType.INCOME,
+                Pattern.compile("\\b(thu nhap|thu vao|kiem duoc|nhan duoc|income|earn|earned|earnings)\\b"));
+        QUERY_TYPES.put(QueryIntent.QueryType.SPENDING,
+                Pattern.compile("\\b(chi tieu|tieu|chi|xai|ton|het bao nhieu|spend|spent|spending|expense|expenses|cost|paid)\\b"));
+    }
+
+    // ─── Category lexicon: keyword → default category name (AppDatabase) ──
+
+    private static final Map<String, String> CATEGORY_KEYWORDS = new LinkedHashMap<>();
+    private static final List<String> INCOME_CATEGORIES = new ArrayList<>();
+
+    static {
+        // Longer phrases first: "thue nha" (Home) must win over "thue" (Tax)
+        addCategory("Home", "thue nha", "tien nha", "nha cua", "dien nuoc", "tien dien", "tien nuoc", "rent", "home", "utilities");
+        addCategory("Food", "an uong", "do an", "an sang", "an trua", "an toi", "an vat", "ca phe", "cafe", "coffee",
+                "nha hang", "food", "restaurant", "restaurants", "dining", "eating");
+        addCategory("Transport", "di chuyen", "xang", "xe buyt", "gui xe", "grab", "taxi", "transport", "transportation",
+                "fuel", "uber", "bus");
+        addCategory("Entertainment", "giai tri", "xem phim", "entertainment", "movie", "movies", "netflix", "game", "games");
+        addCategory("Medical", "y te", "thuoc", "benh vien", "kham benh", "medical", "medicine", "doctor", "hospital", "pharmacy");
+        addCategory("Tax", "tien thue", "thue", "tax", "taxes");
+        addCategory("Gym & Fitness", "the duc", "the hinh", "tap luyen", "gym", "fitness");
+        addCategory("Beauty", "lam dep", "my pham", "cat toc", "spa", "beauty", "cosmetics", "salon", "haircut");
+        addCategory("Clothing", "quan ao", "giay dep", "thoi trang", "clothes", "clothing", "fashion", "shoes");
+        addCategory("Education", "giao duc", "hoc phi", "khoa hoc", "education", "tuition", "course", "courses", "books");
+        addCategory("Childcare", "con cai", "tre em", "bim sua", "childcare", "baby", "kids");
+        addCategory("Groceries", "tap hoa", "di cho", "sieu thi", "groceries", "grocery", "supermarket");
+        addCategory("Relationship", "hen ho", "nguoi yeu", "relationship", "dating");
+        addCategory("Salary", "tien luong", "nhan luong", "luong thang", "luong", "salary", "paycheck", "wage", "wages");
+        addCategory("Business", "kinh doanh", "ban hang", "business");
+        addCategory("Gifts", "qua tang", "li xi", "lixi", "duoc tang", "gift", "gifts");
+        INCOME_CATEGORIES.add("Salary");
+        INCOME_CATEGORIES.add("Business");
+        INCOME_CATEGORIES.add("Gifts");
+    }
+
+    private static void addCategory(String category, String... keywords) {
+        for (String keyword : keywords) {
+            CATEGORY_KEYWORDS.put(keyword, category);
+        }
+    }
+
+    /** "for X" / "cho X" where X is not a known category: the backend may know better. */
+    private static final Pattern CATEGORY_HINT = Pattern.compile("\\b(?:cho|vao|ve|on|for) (\\p{L}+)");
+    private static final Pattern NOT_A_CATEGORY = Pattern.compile(
+            "toi|minh|em|anh|chi|ban|thang|nam|tuan|ngay|hom|the|this|last|my|me|i|a|an|bao|tat|nhung|gi|dau|what|all|it");
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}/&-]+");
+
+    /**
+     * @param categoryNames the user's category names, matched as whole words in addition to the
+     *                      built-in lexicon (custom categories)
+     */
+    @NonNull
+    Result parse(@NonNull String message, @NonNull Collection<String> categoryNames) {
+        String text = normalize(message);
+        QueryIntent intent = new QueryIntent();
+        intent.setOriginalQuery(message);
+        double confidence = 0;
+
+        // Time range
+        int timeMatches = parseTimeRange(text, intent, LocalDate.now());
+        confidence += timeMatches > 0 ? 0.45 : 0.25;  // none = this month, same default as /parse
+        if (timeMatches > 1) confidence -= 0.3;      // "tháng 3 so với tháng 4": one range can't express it
+
+        // Category
+        String category = findCategory(text, categoryNames);
+        if (category != null) {
+            intent.setCategoryName(category);
+            confidence += 0.2;
+        } else {
+            confidence += 0.15;
+            if (hasUnknownCategoryHint(text)) confidence -= 0.3;
+        }
+
+        // Query type
+        QueryIntent.QueryType type = null;
+        for (Map.Entry<QueryIntent.QueryType, Pattern> entry : QUERY_TYPES.entrySet()) {
+            if (entry.getValue().matcher(text).find()) {
+                type = entry.getKey();
+                break;
+            }
+        }
+        if (type != null) {
+            confidence += 0.35;
+        } else if (category != null) {
+            // "ăn uống tháng 3": a bare category means its total
+            type = INCOME_CATEGORIES.contains(category) ? QueryIntent.QueryType.INCOME : QueryIntent.QueryType.SPENDING;
+            confidence += 0.3;
+        } else {
+            type = QueryIntent.QueryType.GENERAL;
+            confidence += 0.1;
+        }
+        intent.setQueryType(type);
+        intent.setNeedsClarification(false);
+
+        return new Result(intent, Math.max(0, Math.min(1, confidence)));
+    }
+
+    /** @return number of time expressions found; the first one wins */
+    private static int parseTimeRange(String text, QueryIntent intent, LocalDate today) {
+        TimeScanner scanner = new TimeScanner(text);
+        int matches = 0;
+        Matcher m;
+
+        while ((m = scanner.find(VI_MONTH)) != null) {
+            int month = Integer.parseInt(m.group(1));
+            if (month < 1 || month > 12) continue;
+            String year = m.group(2);
+            int y = year == null || "nay".equals(year) ? today.getYear()
+                    : "ngoai".equals(year) || "truoc".equals(year) ? today.getYear() - 1
+                    : Integer.parseInt(year);
+            matches += setMonth(intent, matches, month, y);
+        }
+        while ((m = scanner.find(EN_MONTH)) != null) {
+            // "may" is only a month in "in May" / "May 2024"
+            if ("may".equals(m.group(1)) && !m.group(0).startsWith("in ") && m.group(2) == null) continue;
+            int year = m.group(2) != null ? Integer.parseInt(m.group(2)) : today.getYear();
+            matches += setMonth(intent, matches, monthOf(m.group(1)), year);
+        }
+        if (scanner.find(CURRENT_MONTH) != null) {
+            if (matches++ == 0) intent.setTimeRangeType(QueryIntent.TimeRangeType.CURRENT_MONTH);
+        }
+        if (scanner.find(LAST_MONTH) != null) {
+            LocalDate lastMonth = today.minusMonths(1);
+            matches += setMonth(intent, matches, lastMonth.getMonthValue(), lastMonth.getYear());
+        }
+        if ((m = scanner.find(VI_DAYS)) != null || (m = scanner.find(EN_DAYS)) != null) {
+            matches += setDays(intent, matches, Integer.parseInt(m.group(1)));
+        }
+        if (scanner.find(WEEK) != null) {
+            matches += setDays(intent, matches, 7);
+        }
+        if (scanner.find(TODAY) != null) {
+            matches += setDays(intent, matches, 0);
+        }
+        if (scanner.find(CURRENT_YEAR) != null) {
+            matches += setYear(intent, matches, today.getYear());
+        }
+        if (scanner.find(LAST_YEAR) != null) {
+            matches += setYear(intent, matches, today.getYear() - 1);
+        }
+        if ((m = scanner.find(SPECIFIC_YEAR)) != null) {
+            matches += setYear(intent, matches, Integer.parseInt(m.group(1)));
+        }
+        if (scanner.find(ALL_TIME) != null) {
+            if (matches++ == 0) intent.setTimeRangeType(QueryIntent.TimeRangeType.ALL_TIME);
+        }
+        return matches;
+    }
+
+    /** Finds time expressions left to right by kind, blanking each one so it is counted once. */
+    private static final class TimeScanner {
+        private String rest;
+
+        TimeScanner(String text) {
+            this.rest = text;
+        }
+
+        Matcher find(Pattern pattern) {
+            Matcher m = pattern.matcher(rest);
+            if (!m.find()) return null;
+            rest = rest.substring(0, m.start()) + " " + rest.substring(m.end());
+            return m;
+        }
+    }
+
+    private static int setMonth(QueryIntent intent, int found, int month, int year) {
+        if (found == 0) {
+            intent.setTimeRangeType(QueryIntent.TimeRangeType.SPECIFIC_MONTH);
+            intent.setMonth(month);
+            intent.setYear(year);
+        }
+        return 1;
+    }
+
+    private static int setDays(QueryIntent intent, int found, int days) {
+        if (found == 0) {
+            intent.setTimeRangeType(QueryIntent.TimeRangeType.LAST_N_DAYS);
+            intent.setDays(days);
+        }
+        return 1;
+    }
+
+    private static int setYear(QueryIntent intent, int found, int year) {
+        if (found == 0) {
+            intent.setTimeRangeType(QueryIntent.TimeRangeType.YEAR);
+            intent.setYear(year);
+        }
+        return 1;
+    }
+
+    private static int monthOf(String name) {
+        String prefix = name.substring(0, 3);
+        for (int i = 0; i < EN_MONTHS.length; i++) {
+            if (EN_MONTHS[i].equals(prefix)) return i + 1;
+        }
+        return 1;
+    }
+
+    private static String findCategory(String text, Collection<String> categoryNames) {
+        String padded = " " + text + " ";
+        // The user's own names first ("Trà sữa", or a default one typed as is)
+        for (String name : categoryNames) {
+            String normalized = normalize(name);
+            if (!normalized.isEmpty() && padded.contains(" " + normalized + " ")) {
+                return name;
+            }
+        }
+        for (Map.Entry<String, String> entry : CATEGORY_KEYWORDS.entrySet()) {
+            if (padded.contains(" " + entry.getKey() + " ")) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasUnknownCategoryHint(String text) {
+        Matcher m = CATEGORY_HINT.matcher(text);
+        while (m.find()) {
+            if (!NOT_A_CATEGORY.matcher(m.group(1)).matches()) return true;
+        }
+        return false;
+    }
+
+    /** Lowercase, no diacritics (đ → d), punctuation as spaces, single-spaced. */
+    static String normalize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT).replace('đ', 'd');
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped).replaceAll(" ").trim();
+    }
+}
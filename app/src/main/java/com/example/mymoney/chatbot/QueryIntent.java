@@ -1,5 +1,8 @@
 package com.example.mymoney.chatbot;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents the parsed intent from a user's natural language query.
  * Used to extract structured information for database queries.
@@ -34,7 +37,7 @@ public class QueryIntent {
     
     // Category filter
     private String categoryName;
-    private Integer categoryId;
+    private List<Integer> categoryIds = Collections.emptyList(); // every category with that name
     
     // Query type
     private QueryType queryType;
@@ -109,12 +112,12 @@ public class QueryIntent {
         this.categoryName = categoryName;
     }
 
-    public Integer getCategoryId() {
-        return categoryId;
+    public List<Integer> getCategoryIds() {
+        return categoryIds;
     }
 
-    public void setCategoryId(Integer categoryId) {
-        this.categoryId = categoryId;
+    public void setCategoryIds(List<Integer> categoryIds) {
+        this.categoryIds = categoryIds;
     }
 
     public QueryType getQueryType() {
@@ -156,6 +159,7 @@ public class QueryIntent {
                 ", month=" + month +
                 ", year=" + year +
                 ", categoryName='" + categoryName + '\'' +
+                ", categoryIds=" + categoryIds +
                 ", queryType=" + queryType +
                 ", needsClarification=" + needsClarification +
                 '}';
@@ -5,57 +5,50 @@ import android.util.Log;
 
 import com.example.mymoney.BuildConfig;
 import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.CategoryCache;
 import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.utils.AppExecutors;
+import com.example.mymoney.utils.Futures;
+import com.example.mymoney.utils.HttpClients;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
-import okhttp3.OkHttpClient;
-
-import retrofit2.Call;
-import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
- * Query parser that calls the backend /parse endpoint to extract structured intent
- * from natural language questions. Supports both Vietnamese and English queries.
+ * Query parser that extracts structured intent from natural language questions, on-device
+ * for common phrasings and through the backend /parse endpoint otherwise.
+ * Supports both Vietnamese and English queries.
  *
  * All LLM calls are now server-side — the Android app never needs the OpenRouter API token.
  */
 public class QueryParser {
     private static final String TAG = "QueryParser";
     private static final String DEFAULT_BACKEND_BASE_URL = "http://192.168.1.16:8010/";
-    private static final int CONNECT_TIMEOUT_SECONDS = 10;
-    private static final int READ_TIMEOUT_SECONDS = 30;
+    private static final HttpClients.Timeouts PARSE_TIMEOUTS = new HttpClients.Timeouts(10, 30, 30, 0);
+    // /parse chỉ là bước phụ: quá hạn thì dùng intent mặc định (tháng này)
+    private static final long PARSE_DEADLINE_MS = 8_000;
 
     private BackendApiService apiService;
     private AppDatabase database;
     private Context context;
+    private final LocalIntentParser localParser = new LocalIntentParser();
 
     public QueryParser(Context context) {
         this.context = context;
         this.database = AppDatabase.getInstance(context);
 
-        OkHttpClient httpClient = new OkHttpClient.Builder()
-                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .retryOnConnectionFailure(true)
-                .build();
-
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(resolveBackendBaseUrl())
-                .client(httpClient)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        this.apiService = retrofit.create(BackendApiService.class);
+        this.apiService = HttpClients.getInstance()
+                .service(resolveBackendBaseUrl(), BackendApiService.class, PARSE_TIMEOUTS);
     }
 
     private String resolveBackendBaseUrl() {
@@ -85,22 +78,76 @@ public class QueryParser {
      * Parse user query to extract intent (async with callback)
      */
     public void parseQuery(String userMessage, QueryParserCallback callback) {
-        new Thread(() -> {
-            try {
-                QueryIntent intent = parseQuerySync(userMessage);
-                callback.onSuccess(intent);
-            } catch (Exception e) {
-                Log.e(TAG, "Error parsing query", e);
-                QueryIntent defaultIntent = createDefaultIntent(userMessage);
-                callback.onSuccess(defaultIntent);
-            }
-        }).start();
+        parseQueryAsync(userMessage).thenAccept(callback::onSuccess);
+    }
+
+    /**
+     * Parse query: on-device rules first ({@link LocalIntentParser}), the backend /parse endpoint
+     * only when they are not confident. Completes on the disk pool (timestamps and category
+     * lookup) and never fails: a backend error or the {@link #PARSE_DEADLINE_MS} deadline gives
+     * the default intent (current month). Cancelling the returned future cancels the /parse call.
+     */
+    public CompletableFuture<QueryIntent> parseQueryAsync(String userMessage) {
+        AtomicReference<CompletableFuture<QueryIntent>> backendParse = new AtomicReference<>();
+
+        CompletableFuture<QueryIntent> result = CompletableFuture
+                .supplyAsync(() -> parseLocally(userMessage), AppExecutors.getInstance().diskIO())
+                .thenCompose(local -> {
+                    if (local.confidence >= LocalIntentParser.CONFIDENT) {
+                        return CompletableFuture.completedFuture(local.intent);
+                    }
+                    CompletableFuture<QueryIntent> backend = parseWithBackend(userMessage);
+                    backendParse.set(backend);
+                    return backend;
+                })
+                .thenApplyAsync(intent -> {
+                    // Calculate actual timestamps from parsed data
+                    calculateTimestamps(intent);
+
+                    // Resolve category name to ID if specified
+                    resolveCategoryIds(intent);
+
+                    Log.d(TAG, "Parsed intent: " + intent);
+                    return intent;
+                }, AppExecutors.getInstance().diskIO());
+
+        // Caller gave up (cancelled): stop the /parse call if it is still running
+        result.whenComplete((intent, error) -> {
+            CompletableFuture<QueryIntent> backend = backendParse.get();
+            if (backend != null) backend.cancel(true);
+        });
+        return result;
+    }
+
+    /** On-device parse (category names from {@link CategoryCache}: disk pool). Time range and category name only. */
+    LocalIntentParser.Result parseLocally(String userMessage) {
+        long start = System.nanoTime();
+        CategoryCache categories = CategoryCache.getInstance(database);
+        categories.ensureLoaded();
+        Collection<String> categoryNames = categories.isLoaded()
+                ? categories.getNames()
+                // Categories changed while loading: ask the database directly
+                : namesFromDatabase();
+        LocalIntentParser.Result result = localParser.parse(userMessage, categoryNames);
+        Log.d(TAG, String.format(Locale.ROOT, "Local parse: confidence=%.2f in %.2f ms%s",
+                result.confidence, (System.nanoTime() - start) / 1e6,
+                result.confidence >= LocalIntentParser.CONFIDENT ? "" : " → backend /parse"));
+        return result;
+    }
+
+    private Collection<String> namesFromDatabase() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Category category : database.categoryDao().getAllCategories()) {
+            names.add(category.getName());
+        }
+        return names;
     }
 
     /**
-     * Parse query synchronously by calling the backend /parse endpoint.
+     * Backend /parse: time range and category name, without timestamps. Never fails (default
+     * intent instead); cancelling the returned future cancels the call.
      */
-    public QueryIntent parseQuerySync(String userMessage) {
+    CompletableFuture<QueryIntent> parseWithBackend(String userMessage) {
         Log.d(TAG, "Parsing query via backend: " + userMessage);
 
         Calendar now = Calendar.getInstance();
@@ -111,54 +158,25 @@ public class QueryParser {
         BackendApiService.BackendParseRequest request =
                 new BackendApiService.BackendParseRequest(userMessage, currentMonth, currentYear);
 
-        AtomicReference<QueryIntent> resultRef = new AtomicReference<>();
-        CountDownLatch latch = new CountDownLatch(1);
-
-        Call<BackendApiService.BackendParseResponse> call = apiService.parse(request);
-        call.enqueue(new Callback<BackendApiService.BackendParseResponse>() {
-            @Override
-            public void onResponse(Call<BackendApiService.BackendParseResponse> call,
-                                   Response<BackendApiService.BackendParseResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    BackendApiService.BackendParseResponse parseResponse = response.body();
-                    Log.d(TAG, "Backend parse response: queryType=" + parseResponse.getQueryType()
-                            + ", category=" + parseResponse.getCategory());
-                    QueryIntent intent = convertToQueryIntent(parseResponse, userMessage, currentMonth, currentYear);
-                    resultRef.set(intent);
-                } else {
-                    Log.e(TAG, "Backend /parse error: " + response.code());
-                    resultRef.set(createDefaultIntent(userMessage));
-                }
-                latch.countDown();
-            }
+        CompletableFuture<Response<BackendApiService.BackendParseResponse>> parseCall =
+                Futures.withDeadline(Futures.enqueue(apiService.parse(request)), PARSE_DEADLINE_MS, "/parse");
 
-            @Override
-            public void onFailure(Call<BackendApiService.BackendParseResponse> call, Throwable t) {
-                Log.e(TAG, "Backend /parse failure", t);
-                resultRef.set(createDefaultIntent(userMessage));
-                latch.countDown();
+        CompletableFuture<QueryIntent> result = parseCall.handle((response, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Backend /parse failure: " + Futures.unwrap(error).getMessage());
+                return createDefaultIntent(userMessage);
             }
-        });
-
-        try {
-            latch.await(15, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Parse timeout");
+            if (response.isSuccessful() && response.body() != null) {
+                BackendApiService.BackendParseResponse parseResponse = response.body();
+                Log.d(TAG, "Backend parse response: queryType=" + parseResponse.getQueryType()
+                        + ", category=" + parseResponse.getCategory());
+                return convertToQueryIntent(parseResponse, userMessage, currentMonth, currentYear);
+            }
+            Log.e(TAG, "Backend /parse error: " + response.code());
             return createDefaultIntent(userMessage);
-        }
-
-        QueryIntent result = resultRef.get();
-        if (result == null) {
-            result = createDefaultIntent(userMessage);
-        }
-
-        // Calculate actual timestamps from parsed data
-        calculateTimestamps(result);
-
-        // Resolve category name to ID if specified
-        resolveCategoryId(result);
+        });
 
-        Log.d(TAG, "Parsed intent: " + result);
+        result.whenComplete((intent, error) -> parseCall.cancel(true));
         return result;
     }
 
@@ -277,23 +295,27 @@ public class QueryParser {
         }
     }
 
-    private void resolveCategoryId(QueryIntent intent) {
+    /**
+     * Sets the intent's category IDs (and canonical name) from its category name, case-insensitively,
+     * so the analysis can aggregate by ID in SQL. A name can match several categories ("Others"
+     * exists for expenses and for income); unknown names are left without IDs.
+     */
+    private void resolveCategoryIds(QueryIntent intent) {
         if (intent.getCategoryName() != null && !intent.getCategoryName().isEmpty()) {
             Log.d(TAG, "Resolving category: " + intent.getCategoryName());
-            Category category = database.categoryDao().getCategoryByName(intent.getCategoryName());
-            if (category != null) {
-                intent.setCategoryId(category.getId());
-                Log.d(TAG, "Category resolved to ID: " + category.getId());
+            CategoryCache categories = CategoryCache.getInstance(database);
+            categories.ensureLoaded();
+            List<Category> matches = categories.isLoaded()
+                    ? categories.getAllByName(intent.getCategoryName())
+                    // Categories changed while loading: ask the database directly
+                    : database.categoryDao().getCategoriesByName(intent.getCategoryName());
+            if (!matches.isEmpty()) {
+                List<Integer> ids = new ArrayList<>(matches.size());
+                for (Category category : matches) ids.add(category.getId());
+                intent.setCategoryIds(ids);
+                intent.setCategoryName(matches.get(0).getName());
+                Log.d(TAG, "Category resolved to IDs: " + ids);
             } else {
-                List<Category> allCategories = database.categoryDao().getAllCategories();
-                for (Category cat : allCategories) {
-                    if (cat.getName().equalsIgnoreCase(intent.getCategoryName())) {
-                        intent.setCategoryId(cat.getId());
-                        intent.setCategoryName(cat.getName());
-                        Log.d(TAG, "Category resolved (case-insensitive) to ID: " + cat.getId());
-                        return;
-                    }
-                }
                 Log.w(TAG, "Category not found: " + intent.getCategoryName());
             }
         }
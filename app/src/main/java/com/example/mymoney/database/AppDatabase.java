@@ -10,19 +10,24 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.example.mymoney.database.dao.BudgetDao;
 import com.example.mymoney.database.dao.CategoryDao;
+import com.example.mymoney.database.dao.DailyCategoryTotalDao;
 import com.example.mymoney.database.dao.SavingGoalDao;
+import com.example.mymoney.database.dao.StatsCacheDao;
 import com.example.mymoney.database.dao.TransactionDao;
 import com.example.mymoney.database.dao.UserDao;
 import com.example.mymoney.database.dao.WalletDao;
 import com.example.mymoney.database.entity.Budget;
 import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.database.entity.DailyCategoryTotal;
+import com.example.mymoney.database.entity.MonthlyCategoryTotal;
 import com.example.mymoney.database.entity.SavingGoal;
+import com.example.mymoney.database.entity.StatsCacheStatus;
 import com.example.mymoney.database.entity.Transaction;
 import com.example.mymoney.database.entity.User;
 import com.example.mymoney.database.entity.Wallet;
+import com.example.mymoney.utils.AppExecutors;
 
 import java.util.List;
-import java.util.concurrent.Executors;
 
 @Database(
         entities = {
@@ -31,10 +36,13 @@ import java.util.concurrent.Executors;
                 Category.class,
                 Transaction.class,
                 Budget.class,
-                SavingGoal.class
+                SavingGoal.class,
+                DailyCategoryTotal.class,
+                MonthlyCategoryTotal.class,
+                StatsCacheStatus.class
         },
-        version = 16,
-        exportSchema = false
+        version = 21,
+        exportSchema = true
 )
 public abstract class AppDatabase extends RoomDatabase {
 
@@ -47,6 +55,25 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract TransactionDao transactionDao();
     public abstract BudgetDao budgetDao();
     public abstract SavingGoalDao savingGoalDao();
+    public abstract DailyCategoryTotalDao dailyCategoryTotalDao();
+    public abstract StatsCacheDao statsCacheDao();
+
+    /**
+     * Creates the triggers that keep derived data current (daily rollup, epoch_day / year_month,
+     * wallet balances, statistics cache) on every open. onCreate is not enough: Room's destructive
+     * migration from a legacy version recreates the tables without calling it. All statements
+     * are IF NOT EXISTS, so an open with the triggers in place costs a few no-op statements.
+     */
+    static final Callback TRIGGERS = new Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            super.onOpen(db);
+            TransactionRollups.createTriggers(db);
+            TransactionRollups.createLocalDayTriggers(db);
+            WalletBalances.createTriggers(db);
+            StatsCache.createTriggers(db);
+        }
+    };
 
     public static synchronized AppDatabase getInstance(Context context) {
         if (instance == null) {
@@ -55,12 +82,15 @@ public abstract class AppDatabase extends RoomDatabase {
                             AppDatabase.class,
                             DATABASE_NAME
                     )
-                    .fallbackToDestructiveMigration() // ✅ tránh crash khi thay đổi entity
+                    .addMigrations(DatabaseMigrations.ALL)
+                    // Chỉ các bản cũ hơn v16 (chưa có schema export) mới được phép reset dữ liệu
+                    .fallbackToDestructiveMigrationFrom(DatabaseMigrations.LEGACY_VERSIONS)
+                    .addCallback(TRIGGERS)
                     .addCallback(new Callback() {
                         @Override
                         public void onCreate(@NonNull SupportSQLiteDatabase db) {
                             super.onCreate(db);
-                            Executors.newSingleThreadExecutor().execute(() -> {
+                            AppExecutors.getInstance().diskIO().execute(() -> {
                                 createDefaultUser(context);
                                 createDefaultCategories(context);
                             });
@@ -69,9 +99,11 @@ public abstract class AppDatabase extends RoomDatabase {
                         @Override
                         public void onOpen(@NonNull SupportSQLiteDatabase db) {
                             super.onOpen(db);
-                            Executors.newSingleThreadExecutor().execute(() -> {
+                            AppExecutors.getInstance().diskIO().execute(() -> {
                                 ensureDefaultUserExists(context);
                                 ensureDefaultCategoriesExist(context);
+                                // Sửa số dư ví bị lệch (nếu có) so với tổng giao dịch
+                                WalletBalances.reconcile(getInstance(context));
                             });
                         }
                     })
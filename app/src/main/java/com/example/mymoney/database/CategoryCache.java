@@ -0,0 +1,142 @@
+package com.example.mymoney.database;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.InvalidationTracker;
+
+import com.example.mymoney.database.entity.Category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory lookup of categories by id and by name.
+ * <p>
+ * Loaded once from the database (call {@link #ensureLoaded()} off the main thread) and dropped
+ * whenever Room reports a write to the category table, so list adapters can resolve categories
+ * synchronously while binding instead of querying per row.
+ */
+public final class CategoryCache {
+
+    private static final String TAG = "CategoryCache";
+    private static volatile CategoryCache instance;
+
+    private final AppDatabase database;
+    private final Object lock = new Object();
+    private volatile Map<Integer, Category> byId;      // null = not loaded / invalidated
+    private volatile Map<String, List<Category>> byName; // lowercase name -> every category with it
+    private volatile List<String> names;               // distinct names, in load order
+    private volatile int version = 0;
+
+    private CategoryCache(AppDatabase database) {
+        this.database = database;
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("category") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        });
+    }
+
+    /** Cache of {@code database}; a different database (e.g. a test one) gets a new cache. */
+    public static CategoryCache getInstance(@NonNull AppDatabase database) {
+        CategoryCache cache = instance;
+        if (cache == null || cache.database != database) {
+            synchronized (CategoryCache.class) {
+                cache = instance;
+                if (cache == null || cache.database != database) {
+                    cache = new CategoryCache(database);
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Incremented whenever the cache is invalidated; views that cached something derived from a
+     * category (name, icon) compare it to know they must re-bind.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isLoaded() {
+        return byId != null;
+    }
+
+    /**
+     * Loads the categories if the cache is empty. Must not be called on the main thread.
+     */
+    public void ensureLoaded() {
+        if (byId != null) return;
+
+        int loadVersion;
+        synchronized (lock) {
+            if (byId != null) return;
+            loadVersion = version;
+        }
+
+        List<Category> categories = database.categoryDao().getAllCategories();
+        Map<Integer, Category> idMap = new HashMap<>(categories.size() * 2);
+        Map<String, List<Category>> nameMap = new HashMap<>(categories.size() * 2);
+        Set<String> nameSet = new LinkedHashSet<>();
+        for (Category category : categories) {
+            idMap.put(category.getId(), category);
+            if (category.getName() != null) {
+                // Một tên có thể thuộc nhiều danh mục ("Others" chi tiêu và thu nhập)
+                nameMap.computeIfAbsent(category.getName().toLowerCase(Locale.ROOT), k -> new ArrayList<>(1))
+                        .add(category);
+                nameSet.add(category.getName());
+            }
+        }
+
+        synchronized (lock) {
+            // Chỉ publish nếu không có thay đổi nào trong lúc đang load
+            if (loadVersion == version) {
+                byName = Collections.unmodifiableMap(nameMap);
+                names = Collections.unmodifiableList(new ArrayList<>(nameSet));
+                byId = Collections.unmodifiableMap(idMap);
+            }
+        }
+        Log.d(TAG, "Loaded " + categories.size() + " categories");
+    }
+
+    @Nullable
+    public Category get(int categoryId) {
+        Map<Integer, Category> map = byId;
+        return map != null ? map.get(categoryId) : null;
+    }
+
+    /** Every category named {@code name} (case-insensitive), e.g. both "Others"; empty if none. */
+    @NonNull
+    public List<Category> getAllByName(@Nullable String name) {
+        Map<String, List<Category>> map = byName;
+        List<Category> categories = map != null && name != null ? map.get(name.toLowerCase(Locale.ROOT)) : null;
+        return categories != null ? Collections.unmodifiableList(categories) : Collections.emptyList();
+    }
+
+    /** Distinct category names, or an empty list if not loaded. */
+    @NonNull
+    public List<String> getNames() {
+        List<String> list = names;
+        return list != null ? list : Collections.emptyList();
+    }
+
+    public void invalidate() {
+        synchronized (lock) {
+            version++;
+            byId = null;
+            byName = null;
+            names = null;
+        }
+    }
+}
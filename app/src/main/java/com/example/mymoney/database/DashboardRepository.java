@@ -0,0 +1,130 @@
+package com.example.mymoney.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.mymoney.database.entity.SavingGoal;
+import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.database.entity.Wallet;
+import com.example.mymoney.model.DailyTransactionGroup;
+import com.example.mymoney.model.DayTotal;
+import com.example.mymoney.model.PeriodTotals;
+import com.example.mymoney.utils.TransactionFormatter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the home screen shows, read as one consistent snapshot inside a single
+ * database transaction:
+ * <ul>
+ *   <li>the wallet (the user's first active wallet if none is selected)</li>
+ *   <li>its saving goals</li>
+ *   <li>expense / income totals for the period (one query on the daily rollup)</li>
+ *   <li>the most recent days with transactions: days and their totals are picked in SQL
+ *       from the rollup, then only those days' rows are loaded</li>
+ * </ul>
+ */
+public final class DashboardRepository {
+
+    /** Immutable result of {@link #load}. */
+    public static final class Snapshot {
+        public final int walletId;    // -1: user has no wallet yet
+        @Nullable
+        public final Wallet wallet;
+        public final double totalExpense;
+        public final double totalIncome;
+        public final List<SavingGoal> savingGoals;
+        public final List<DailyTransactionGroup> recentGroups;
+
+        Snapshot(int walletId, @Nullable Wallet wallet, double totalExpense, double totalIncome,
+                 List<SavingGoal> savingGoals, List<DailyTransactionGroup> recentGroups) {
+            this.walletId = walletId;
+            this.wallet = wallet;
+            this.totalExpense = totalExpense;
+            this.totalIncome = totalIncome;
+            this.savingGoals = Collections.unmodifiableList(savingGoals);
+            this.recentGroups = Collections.unmodifiableList(recentGroups);
+        }
+    }
+
+    private final AppDatabase database;
+
+    public DashboardRepository(@NonNull AppDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * @param walletId  selected wallet, or -1 to pick the user's first active wallet
+     * @param maxDays   number of most recent days (with transactions) to return as groups
+     */
+    @NonNull
+    public Snapshot load(int userId, int walletId, long startDate, long endDate, int maxDays) {
+        return database.runInTransaction(() -> loadInTransaction(userId, walletId, startDate, endDate, maxDays));
+    }
+
+    private Snapshot loadInTransaction(int userId, int walletId, long startDate, long endDate, int maxDays) {
+        // ================= AUTO SELECT WALLET =================
+        if (walletId == -1) {
+            List<Wallet> wallets = database.walletDao().getActiveWalletsByUserId(userId);
+            if (!wallets.isEmpty()) {
+                walletId = wallets.get(0).getId();
+            }
+        }
+        if (walletId == -1) {
+            return new Snapshot(-1, null, 0, 0, Collections.emptyList(), Collections.emptyList());
+        }
+
+        Wallet wallet = database.walletDao().getWalletById(walletId);
+        List<SavingGoal> savingGoals = database.savingGoalDao().getSavingGoalsByUserAndWallet(userId, walletId);
+
+        // ================= EXPENSE / INCOME (one rollup query) =================
+        long startDay = TransactionRollups.localEpochDay(startDate);
+        long endDay = TransactionRollups.localEpochDay(endDate);
+        PeriodTotals totals = database.dailyCategoryTotalDao().getPeriodTotalsByUser(userId, startDay, endDay);
+
+        // ================= RECENT DAYS (picked in SQL) =================
+        List<DailyTransactionGroup> groups = new ArrayList<>();
+        List<DayTotal> days = database.dailyCategoryTotalDao()
+                .getRecentDayTotals(walletId, startDay, endDay, maxDays);
+        if (!days.isEmpty()) {
+            CategoryCache.getInstance(database).ensureLoaded();
+            long oldestDay = days.get(days.size() - 1).day;
+            long from = Math.max(startDate, TransactionRollups.startOfLocalDay(oldestDay));
+            List<Transaction> txs = database.transactionDao()
+                    .getTransactionsByWalletAndDateRange(walletId, from, endDate);
+            groups = groupByDay(days, txs);
+        }
+
+        return new Snapshot(walletId, wallet, totals.expense, totals.income, savingGoals, groups);
+    }
+
+    /**
+     * Splits rows (newest first) into the given days (newest first), walking both lists once and
+     * comparing each row's stored epoch_day. Each group is a view over {@code txs}; labels come
+     * from the cached day formatters.
+     */
+    private static List<DailyTransactionGroup> groupByDay(List<DayTotal> days, List<Transaction> txs) {
+        TransactionFormatter formatter = TransactionFormatter.get().syncTimeZone();
+
+        List<DailyTransactionGroup> groups = new ArrayList<>(days.size());
+        int i = 0;
+        for (DayTotal day : days) {
+            // skip rows outside the selected days (should not happen)
+            while (i < txs.size() && txs.get(i).getEpochDay() > day.day) i++;
+            int from = i;
+            while (i < txs.size() && txs.get(i).getEpochDay() == day.day) i++;
+            if (i == from) continue;
+
+            groups.add(new DailyTransactionGroup(
+                    formatter.dayLabel(day.day),
+                    formatter.fullDayLabel(day.day),
+                    txs.get(from).getCreatedAt(),
+                    txs.subList(from, i),
+                    day.income,
+                    day.expense));
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.mymoney.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.mymoney.database.entity.DailyCategoryTotal;
+
+/**
+ * Explicit schema migrations for {@link AppDatabase}.
+ * <p>
+ * Every schema change must bump the database version and add a {@link Migration} here;
+ * the exported schema JSON for each version lives in {@code app/schemas}. A migration's SQL is
+ * frozen at its target version: never call helpers that follow the latest schema from here.
+ */
+public final class DatabaseMigrations {
+
+    /** Versions shipped before schemas were exported; these are still reset on upgrade. */
+    public static final int[] LEGACY_VERSIONS = {
+            1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15
+    };
+
+    private DatabaseMigrations() {
+    }
+
+    // 16 -> 17: thay index đơn cột trên `transaction` bằng composite index (wallet/user + type + created_at)
+    public static final Migration MIGRATION_16_17 = new Migration(16, 17) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_transaction_wallet_id`");
+            db.execSQL("DROP INDEX IF EXISTS `index_transaction_user_id`");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transaction_wallet_id_created_at` "
+                    + "ON `transaction` (`wallet_id`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transaction_user_id_created_at` "
+                    + "ON `transaction` (`user_id`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transaction_wallet_id_type_created_at` "
+                    + "ON `transaction` (`wallet_id`, `type`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transaction_user_id_type_created_at_category_id` "
+                    + "ON `transaction` (`user_id`, `type`, `created_at`, `category_id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transaction_type_created_at` "
+                    + "ON `transaction` (`type`, `created_at`)");
+            db.execSQL("ANALYZE `transaction`");
+        }
+    };
+
+    // 17 -> 18: bảng rollup daily_category_total + trigger đồng bộ, dựng lại từ dữ liệu hiện có
+    public static final Migration MIGRATION_17_18 = new Migration(17, 18) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `daily_category_total` ("
+                    + "`wallet_id` INTEGER NOT NULL, `type` TEXT NOT NULL, `day` INTEGER NOT NULL, "
+                    + "`category_id` INTEGER NOT NULL, `user_id` INTEGER NOT NULL, "
+                    + "`total` REAL NOT NULL, `tx_count` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`wallet_id`, `type`, `day`, `category_id`, `user_id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_daily_category_total_user_id_type_day` "
+                    + "ON `daily_category_total` (`user_id`, `type`, `day`)");
+            TransactionRollups.createTriggers(db);
+            // Dựng lại inline theo schema v18 (chưa có epoch_day), không gọi TransactionRollups.rebuild
+            db.execSQL("INSERT INTO daily_category_total "
+                    + "(wallet_id, type, day, category_id, user_id, total, tx_count) "
+                    + "SELECT wallet_id, type, " + DailyCategoryTotal.DAY_OF_CREATED_AT + " AS day, category_id, user_id, "
+                    + "SUM(amount), COUNT(*) "
+                    + "FROM `transaction` GROUP BY wallet_id, type, day, category_id, user_id");
+        }
+    };
+
+    // 18 -> 19: wallet.opening_balance + trigger cập nhật số dư theo từng giao dịch
+    public static final Migration MIGRATION_18_19 = new Migration(18, 19) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `wallet` ADD COLUMN `opening_balance` REAL NOT NULL DEFAULT 0");
+            WalletBalances.backfillOpeningBalances(db);
+            WalletBalances.createTriggers(db);
+        }
+    };
+
+    // 19 -> 20: cache thống kê theo (ví, năm, tháng, loại, danh mục) + trigger đánh dấu tháng cần tính lại
+    public static final Migration MIGRATION_19_20 = new Migration(19, 20) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `monthly_category_total` ("
+                    + "`wallet_id` INTEGER NOT NULL, `year` INTEGER NOT NULL, `month` INTEGER NOT NULL, "
+                    + "`type` TEXT NOT NULL, `category_id` INTEGER NOT NULL, "
+                    + "`total` REAL NOT NULL, `tx_count` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`wallet_id`, `year`, `month`, `type`, `category_id`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `stats_cache_status` ("
+                    + "`wallet_id` INTEGER NOT NULL, `year` INTEGER NOT NULL, "
+                    + "`dirty_months` INTEGER NOT NULL, `computed_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`wallet_id`, `year`))");
+            // Bảng rỗng = chưa năm nào được tính; StatsCacheWorker sẽ tính trong nền
+            StatsCache.createTriggers(db);
+        }
+    };
+
+    // 20 -> 21: cột epoch_day / year_month (ngày, tháng theo giờ địa phương) trên `transaction`
+    public static final Migration MIGRATION_20_21 = new Migration(20, 21) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `transaction` ADD COLUMN `epoch_day` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `transaction` ADD COLUMN `year_month` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("UPDATE `transaction` SET epoch_day = " + DailyCategoryTotal.DAY_OF_CREATED_AT);
+            db.execSQL("UPDATE `transaction` SET year_month = " + TransactionRollups.YEAR_MONTH_OF_EPOCH_DAY);
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_transaction_wallet_id_type_epoch_day` "
+                    + "ON `transaction` (`wallet_id`, `type`, `epoch_day`)");
+            TransactionRollups.createLocalDayTriggers(db);
+        }
+    };
+
+    public static final Migration[] ALL = {
+            MIGRATION_16_17,
+            MIGRATION_17_18,
+            MIGRATION_18_19,
+            MIGRATION_19_20,
+            MIGRATION_20_21
+    };
+}
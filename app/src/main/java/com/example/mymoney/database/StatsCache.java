@@ -0,0 +1,122 @@
+package com.example.mymoney.database;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.mymoney.database.dao.StatsCacheDao;
+import com.example.mymoney.database.entity.DailyCategoryTotal;
+import com.example.mymoney.database.entity.StatsCacheStatus;
+import com.example.mymoney.database.entity.Wallet;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Maintains the statistics cache: monthly_category_total per (wallet, year), plus a per-year
+ * bitmask of months that need recomputing (stats_cache_status).
+ * <p>
+ * SQLite triggers on `transaction` only flag the month a written row belongs to; the months
+ * themselves are recomputed from the daily rollup by {@link #refresh}, normally in the background
+ * ({@link StatsCacheWorker}). A new transaction therefore costs one month's recompute, and the
+ * statistics screen reads at most 12 rows per category.
+ */
+public final class StatsCache {
+
+    private static final String TAG = "StatsCache";
+
+    /** All 12 month bits set. */
+    public static final int ALL_MONTHS = (1 << 12) - 1;
+
+    private StatsCache() {
+    }
+
+    public static void createTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_stats_cache_insert` " +
+                "AFTER INSERT ON `transaction` BEGIN " + markDirty("NEW") + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_stats_cache_delete` " +
+                "AFTER DELETE ON `transaction` BEGIN " + markDirty("OLD") + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_stats_cache_update` " +
+                "AFTER UPDATE OF wallet_id, category_id, type, amount, created_at ON `transaction` " +
+                "BEGIN " + markDirty("OLD") + " " + markDirty("NEW") + " END");
+
+        // Ví bị xoá: bỏ luôn cache của ví đó
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_stats_cache_wallet_delete` " +
+                "AFTER DELETE ON `wallet` BEGIN " +
+                "DELETE FROM monthly_category_total WHERE wallet_id = OLD.id; " +
+                "DELETE FROM stats_cache_status WHERE wallet_id = OLD.id; END");
+    }
+
+    /**
+     * Recomputes the dirty months of (wallet, year), or the whole year if it was never computed.
+     * Cheap when the cache is fresh (one status lookup). Runs on a background thread.
+     *
+     * @return number of months recomputed
+     */
+    public static int refresh(@NonNull AppDatabase database, int walletId, int year) {
+        if (walletId < 0) return 0; // no wallet selected
+        StatsCacheDao dao = database.statsCacheDao();
+        StatsCacheStatus status = dao.getStatus(walletId, year);
+        if (status != null && status.getDirtyMonths() == 0) return 0;
+
+        long start = System.currentTimeMillis();
+        int months = database.runInTransaction(() -> {
+            // Re-read inside the transaction: a write may have flagged more months meanwhile
+            StatsCacheStatus current = dao.getStatus(walletId, year);
+            int dirty = current != null ? current.getDirtyMonths() : ALL_MONTHS;
+
+            int count = 0;
+            for (int month = 1; month <= 12; month++) {
+                if ((dirty & (1 << (month - 1))) == 0) continue;
+                YearMonth yearMonth = YearMonth.of(year, month);
+                dao.deleteMonth(walletId, year, month);
+                dao.insertMonthFromRollup(walletId, year, month,
+                        yearMonth.atDay(1).toEpochDay(), yearMonth.atEndOfMonth().toEpochDay());
+                count++;
+            }
+
+            long now = System.currentTimeMillis();
+            if (current == null) {
+                dao.markComputed(walletId, year, now);
+            } else {
+                dao.clearDirtyMonths(walletId, year, dirty, now);
+            }
+            return count;
+        });
+
+        Log.d(TAG, "refresh wallet=" + walletId + " year=" + year + ": " + months
+                + " month(s) in " + (System.currentTimeMillis() - start) + " ms");
+        return months;
+    }
+
+    /**
+     * Brings every wallet's current year up to date, plus any other year with dirty months.
+     */
+    public static void refreshAll(@NonNull AppDatabase database) {
+        int currentYear = LocalDate.now().getYear();
+        for (Wallet wallet : database.walletDao().getAllWallets()) {
+            refresh(database, wallet.getId(), currentYear);
+        }
+        List<StatsCacheStatus> dirty = database.statsCacheDao().getDirtyStatuses();
+        for (StatsCacheStatus status : dirty) {
+            refresh(database, status.getWalletId(), status.getYear());
+        }
+    }
+
+    /** Flags every cached month for recomputing, e.g. after the daily rollup was rebuilt. */
+    public static void invalidateAll(@NonNull AppDatabase database) {
+        database.statsCacheDao().markAllDirty(ALL_MONTHS);
+    }
+
+    private static String markDirty(String row) {
+        String day = DailyCategoryTotal.DAY_OF_CREATED_AT.replace("created_at", row + ".created_at");
+        return "UPDATE stats_cache_status " +
+                "SET dirty_months = dirty_months | (1 << (CAST(strftime('%m', " + day + " * 86400, 'unixepoch') AS INTEGER) - 1)) " +
+                "WHERE wallet_id = " + row + ".wallet_id " +
+                "AND year = CAST(strftime('%Y', " + day + " * 86400, 'unixepoch') AS INTEGER);";
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.mymoney.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that keeps the statistics cache ({@link StatsCache}) fresh:
+ * <ul>
+ *   <li>periodically (daily), for every wallet's current year and any dirty year</li>
+ *   <li>shortly after transactions are written, debounced so an import runs it once</li>
+ * </ul>
+ */
+public class StatsCacheWorker extends Worker {
+
+    private static final String TAG = "StatsCacheWorker";
+
+    private static final String PERIODIC_WORK = "stats_cache_periodic";
+    private static final String REFRESH_WORK = "stats_cache_refresh";
+    private static final long REFRESH_DELAY_SECONDS = 2;
+
+    private static boolean installed = false;
+
+    public StatsCacheWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            long start = System.currentTimeMillis();
+            StatsCache.refreshAll(AppDatabase.getInstance(getApplicationContext()));
+            Log.d(TAG, "Stats cache refreshed in " + (System.currentTimeMillis() - start) + " ms");
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Error refreshing stats cache", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Schedules the daily job and refreshes the cache after every write to `transaction`.
+     * Safe to call more than once (e.g. from every activity onCreate).
+     */
+    public static synchronized void install(@NonNull Context context) {
+        if (installed) return;
+        installed = true;
+
+        Context appContext = context.getApplicationContext();
+        WorkManager.getInstance(appContext).enqueueUniquePeriodicWork(
+                PERIODIC_WORK,
+                ExistingPeriodicWorkPolicy.KEEP,
+                new PeriodicWorkRequest.Builder(StatsCacheWorker.class, 1, TimeUnit.DAYS).build());
+
+        AppDatabase.getInstance(appContext).getInvalidationTracker().addObserver(
+                new InvalidationTracker.Observer(TableVersions.TRANSACTION) {
+                    @Override
+                    public void onInvalidated(@NonNull Set<String> tables) {
+                        enqueueRefresh(appContext);
+                    }
+                });
+
+        // Lần đầu: tính sẵn năm hiện tại cho màn hình thống kê
+        enqueueRefresh(appContext);
+    }
+
+    /** Runs a refresh soon; a newer request replaces a pending one. */
+    public static void enqueueRefresh(@NonNull Context context) {
+        WorkManager.getInstance(context).enqueueUniqueWork(
+                REFRESH_WORK,
+                ExistingWorkPolicy.REPLACE,
+                new OneTimeWorkRequest.Builder(StatsCacheWorker.class)
+                        .setInitialDelay(REFRESH_DELAY_SECONDS, TimeUnit.SECONDS)
+                        .build());
+    }
+}
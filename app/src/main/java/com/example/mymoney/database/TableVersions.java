@@ -0,0 +1,130 @@
+package com.example.mymoney.database;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-table change counters fed by Room's {@link InvalidationTracker}.
+ * <p>
+ * Screens observe {@link #observe(String...)} and reload only when a table they read was
+ * actually written, instead of being refreshed by hand after every insert/update/delete.
+ * The counters also serve as a cheap "data version" for caches built on top of these tables.
+ */
+public final class TableVersions {
+
+    private static final String TAG = "TableVersions";
+
+    public static final String TRANSACTION = "transaction";
+    public static final String WALLET = "wallet";
+    public static final String BUDGET = "budget";
+    public static final String SAVING_GOAL = "saving_goals";
+    public static final String CATEGORY = "category";
+    public static final String DAILY_TOTAL = "daily_category_total";
+
+    private static volatile TableVersions instance;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<ChangeLiveData> activeObservers = new CopyOnWriteArrayList<>();
+
+    private TableVersions(AppDatabase database) {
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(
+                TRANSACTION, WALLET, BUDGET, SAVING_GOAL, CATEGORY, DAILY_TOTAL) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                for (String table : tables) {
+                    counter(table).incrementAndGet();
+                }
+                Log.d(TAG, "Invalidated: " + tables);
+                for (ChangeLiveData observer : activeObservers) {
+                    observer.onTablesChanged(tables);
+                }
+            }
+        });
+    }
+
+    public static TableVersions getInstance(@NonNull AppDatabase database) {
+        if (instance == null) {
+            synchronized (TableVersions.class) {
+                if (instance == null) {
+                    instance = new TableVersions(database);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /** Combined version of the given tables; changes whenever any of them is written. */
+    public long getVersion(@NonNull String... tables) {
+        long sum = 0;
+        for (String table : tables) {
+            sum += counter(table).get();
+        }
+        return sum;
+    }
+
+    /**
+     * Emits the combined version of {@code tables} once when first observed and again after each
+     * write to one of them. While there is no active observer nothing is emitted; on becoming
+     * active again it only emits if the tables changed in the meantime.
+     */
+    public LiveData<Long> observe(@NonNull String... tables) {
+        return new ChangeLiveData(tables);
+    }
+
+    private AtomicLong counter(String table) {
+        AtomicLong counter = versions.get(table);
+        if (counter == null) {
+            versions.putIfAbsent(table, new AtomicLong());
+            counter = versions.get(table);
+        }
+        return counter;
+    }
+
+    private final class ChangeLiveData extends LiveData<Long> {
+
+        private final String[] tables;
+        private long delivered = -1;
+
+        ChangeLiveData(String[] tables) {
+            this.tables = tables;
+        }
+
+        @Override
+        protected void onActive() {
+            activeObservers.add(this);
+            long version = getVersion(tables);
+            if (version != delivered) {
+                setValue(version);
+            }
+        }
+
+        @Override
+        protected void onInactive() {
+            activeObservers.remove(this);
+        }
+
+        @Override
+        protected void setValue(Long value) {
+            delivered = value;
+            super.setValue(value);
+        }
+
+        void onTablesChanged(Set<String> changed) {
+            for (String table : tables) {
+                if (changed.contains(table)) {
+                    postValue(getVersion(tables));
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.mymoney.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Filter chosen on the history screen, translated into one parameterised SQL statement
+ * for {@link com.example.mymoney.database.dao.TransactionDao#getTransactionsPage}.
+ * Only the predicates that are set are emitted, so SQLite can pick the matching composite index.
+ */
+public final class TransactionFilter {
+
+    private int walletId = -1;     // -1: every wallet of the user
+    private int userId = -1;
+    private String type = null;    // null: expense + income
+    private int categoryId = -1;   // -1: all categories
+    private long startDate = 0;    // 0: unbounded
+    private long endDate = 0;      // 0: unbounded
+
+    public TransactionFilter setWalletId(int walletId) {
+        this.walletId = walletId;
+        return this;
+    }
+
+    public TransactionFilter setUserId(int userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    /** @param type "expense", "income", or null / "all" for both */
+    public TransactionFilter setType(@Nullable String type) {
+        this.type = (type == null || "all".equals(type)) ? null : type;
+        return this;
+    }
+
+    public TransactionFilter setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+        return this;
+    }
+
+    public TransactionFilter setDateRange(long startDate, long endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        return this;
+    }
+
+    /** @return "expense", "income", or "all" */
+    @NonNull
+    public String getType() {
+        return type != null ? type : "all";
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public long getStartDate() {
+        return startDate;
+    }
+
+    public long getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Builds the keyset page query: rows after (beforeCreatedAt, beforeId) ordered by
+     * created_at DESC, id DESC.
+     */
+    @NonNull
+    public SupportSQLiteQuery toPageQuery(long beforeCreatedAt, int beforeId, int limit) {
+        return pageQuery("(created_at < ? OR (created_at = ? AND id < ?)) ",
+                "ORDER BY created_at DESC, id DESC LIMIT ?", beforeCreatedAt, beforeId, limit);
+    }
+
+    /**
+     * Builds the reverse keyset page query, to reload a page dropped from the top of the list:
+     * rows before (afterCreatedAt, afterId) in list order, nearest first (created_at ASC, id ASC).
+     */
+    @NonNull
+    public SupportSQLiteQuery toNewerPageQuery(long afterCreatedAt, int afterId, int limit) {
+        return pageQuery("(created_at > ? OR (created_at = ? AND id > ?)) ",
+                "ORDER BY created_at ASC, id ASC LIMIT ?", afterCreatedAt, afterId, limit);
+    }
+
+    private SupportSQLiteQuery pageQuery(String cursorClause, String orderClause,
+                                         long cursorCreatedAt, int cursorId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM `transaction` WHERE ");
+        List<Object> args = new ArrayList<>();
+
+        if (walletId > 0) {
+            sql.append("wallet_id = ? AND ");
+            args.add(walletId);
+        } else {
+            sql.append("user_id = ? AND ");
+            args.add(userId);
+        }
+        if (type != null) {
+            sql.append("type = ? AND ");
+            args.add(type);
+        }
+        if (categoryId > 0) {
+            sql.append("category_id = ? AND ");
+            args.add(categoryId);
+        }
+        if (startDate > 0) {
+            sql.append("created_at >= ? AND ");
+            args.add(startDate);
+        }
+        if (endDate > 0) {
+            sql.append("created_at <= ? AND ");
+            args.add(endDate);
+        }
+
+        sql.append(cursorClause);
+        args.add(cursorCreatedAt);
+        args.add(cursorCreatedAt);
+        args.add(cursorId);
+
+        sql.append(orderClause);
+        args.add(limit);
+
+        return new SimpleSQLiteQuery(sql.toString(), args.toArray());
+    }
+
+    /** Two filters are equal when they select the same rows (used to reuse loaded pages). */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionFilter)) return false;
+        TransactionFilter other = (TransactionFilter) o;
+        return walletId == other.walletId
+                && userId == other.userId
+                && categoryId == other.categoryId
+                && startDate == other.startDate
+                && endDate == other.endDate
+                && Objects.equals(type, other.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(walletId, userId, type, categoryId, startDate, endDate);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.mymoney.database;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.mymoney.database.dao.DailyCategoryTotalDao;
+import com.example.mymoney.database.entity.DailyCategoryTotal;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+/**
+ * Maintains the daily_category_total rollup and the `transaction`.epoch_day / year_month columns.
+ * <p>
+ * Every insert/update/delete on `transaction` is mirrored into the rollup by SQLite triggers,
+ * so all write paths (DAO, cascades, bulk imports) keep it current without extra code.
+ * {@link #rebuild} and {@link #verify} recompute/check it against the raw rows.
+ * <p>
+ * epoch_day / year_month are stamped the same way ({@link #createLocalDayTriggers}); Java code
+ * never sets them, so they always agree with the rollup's day of created_at.
+ */
+public final class TransactionRollups {
+
+    private static final String TAG = "TransactionRollups";
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    /** yyyyMM of the `transaction`.epoch_day column, for SQL (backfill, triggers). */
+    static final String YEAR_MONTH_OF_EPOCH_DAY =
+            "CAST(strftime('%Y%m', epoch_day * 86400, 'unixepoch') AS INTEGER)";
+
+    private static final String KEY_MATCH =
+            "wallet_id = %1$s.wallet_id AND type = %1$s.type AND day = %2$s " +
+            "AND category_id = %1$s.category_id AND user_id = %1$s.user_id";
+
+    private TransactionRollups() {
+    }
+
+    /** Local epoch day for a timestamp; matches {@link DailyCategoryTotal#DAY_OF_CREATED_AT}. */
+    public static long localEpochDay(long millis) {
+        return Math.floorDiv(millis + TimeZone.getDefault().getOffset(millis), DAY_MS);
+    }
+
+    /** yyyyMM of a local epoch day (e.g. 202403); matches {@link #YEAR_MONTH_OF_EPOCH_DAY}. */
+    public static int yearMonth(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    /** First millisecond of a local epoch day; inverse of {@link #localEpochDay(long)}. */
+    public static long startOfLocalDay(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static void createTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_daily_total_insert` " +
+                "AFTER INSERT ON `transaction` BEGIN " + addRow("NEW") + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_daily_total_delete` " +
+                "AFTER DELETE ON `transaction` BEGIN " + removeRow("OLD") + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_daily_total_update` " +
+                "AFTER UPDATE OF wallet_id, user_id, category_id, type, amount, created_at ON `transaction` " +
+                "BEGIN " + removeRow("OLD") + " " + addRow("NEW") + " END");
+    }
+
+    /**
+     * Stamps epoch_day / year_month from created_at when a row is inserted or its created_at
+     * changes. The UPDATE only touches those two columns, so the column-scoped update triggers
+     * (rollup, wallet balances, statistics cache) do not fire again.
+     */
+    public static void createLocalDayTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_transaction_local_day_insert` " +
+                "AFTER INSERT ON `transaction` BEGIN " + stampLocalDay() + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_transaction_local_day_update` " +
+                "AFTER UPDATE OF created_at ON `transaction` BEGIN " + stampLocalDay() + " END");
+    }
+
+    /**
+     * Recomputes the whole rollup from the `transaction` table (grouped on the stored epoch_day).
+     * Current schema only: migrations rebuild with their own SQL.
+     */
+    public static void rebuild(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("DELETE FROM daily_category_total");
+        db.execSQL("INSERT INTO daily_category_total " +
+                "(wallet_id, type, day, category_id, user_id, total, tx_count) " +
+                "SELECT wallet_id, type, epoch_day, category_id, user_id, " +
+                "SUM(amount), COUNT(*) " +
+                "FROM `transaction` GROUP BY wallet_id, type, epoch_day, category_id, user_id");
+    }
+
+    public static void rebuild(@NonNull AppDatabase database) {
+        database.runInTransaction(() -> {
+            rebuild(database.getOpenHelper().getWritableDatabase());
+            // the statistics cache is built from the rollup
+            StatsCache.invalidateAll(database);
+        });
+    }
+
+    /**
+     * @return number of rollup groups that disagree with the raw rows (0 means consistent)
+     */
+    public static int verify(@NonNull AppDatabase database) {
+        DailyCategoryTotalDao dao = database.dailyCategoryTotalDao();
+        int mismatched = dao.countMismatchedGroups();
+        int orphaned = Math.max(0, dao.countRollupRows() - dao.countRawGroups());
+        Log.d(TAG, "verify: mismatched=" + mismatched + ", orphaned=" + orphaned);
+        return mismatched + orphaned;
+    }
+
+    private static String dayOf(String row) {
+        return DailyCategoryTotal.DAY_OF_CREATED_AT.replace("created_at", row + ".created_at");
+    }
+
+    private static String stampLocalDay() {
+        String day = dayOf("NEW");
+        return "UPDATE `transaction` SET epoch_day = " + day + ", " +
+                "year_month = " + YEAR_MONTH_OF_EPOCH_DAY.replace("epoch_day", "(" + day + ")") + " " +
+                "WHERE id = NEW.id;";
+    }
+
+    private static String addRow(String row) {
+        String day = dayOf(row);
+        return "INSERT OR IGNORE INTO daily_category_total " +
+                "(wallet_id, type, day, category_id, user_id, total, tx_count) " +
+                "VALUES (" + row + ".wallet_id, " + row + ".type, " + day + ", " +
+                row + ".category_id, " + row + ".user_id, 0, 0); " +
+                "UPDATE daily_category_total SET total = total + " + row + ".amount, tx_count = tx_count + 1 " +
+                "WHERE " + String.format(KEY_MATCH, row, day) + ";";
+    }
+
+    private static String removeRow(String row) {
+        String day = dayOf(row);
+        return "UPDATE daily_category_total SET total = total - " + row + ".amount, tx_count = tx_count - 1 " +
+                "WHERE " + String.format(KEY_MATCH, row, day) + "; " +
+                "DELETE FROM daily_category_total WHERE tx_count <= 0 AND " +
+                String.format(KEY_MATCH, row, day) + ";";
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.mymoney.database;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.mymoney.model.WalletBalanceDrift;
+
+import java.util.List;
+
+/**
+ * Maintains wallet.balance as opening_balance + income - expense.
+ * <p>
+ * Every insert/update/delete on `transaction` applies its signed amount to the wallet with an
+ * O(1) UPDATE from an SQLite trigger, inside the same database transaction as the write itself.
+ * Screens therefore never touch the balance when saving or deleting a transaction.
+ * {@link #reconcile} checks all wallets against the raw rows with one SUM query and repairs drift.
+ */
+public final class WalletBalances {
+
+    private static final String TAG = "WalletBalances";
+
+    /** Differences below this are floating-point noise from incremental updates, not drift. */
+    private static final double TOLERANCE = 0.005;
+
+    private static final String NOW_MS = "CAST(strftime('%s', 'now') AS INTEGER) * 1000";
+
+    private WalletBalances() {
+    }
+
+    public static void createTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_wallet_balance_insert` " +
+                "AFTER INSERT ON `transaction` BEGIN " + apply("NEW", "+") + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_wallet_balance_delete` " +
+                "AFTER DELETE ON `transaction` BEGIN " + apply("OLD", "-") + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `trg_wallet_balance_update` " +
+                "AFTER UPDATE OF wallet_id, type, amount ON `transaction` " +
+                "BEGIN " + apply("OLD", "-") + " " + apply("NEW", "+") + " END");
+    }
+
+    /**
+     * Sets opening_balance so that the current balances stay unchanged:
+     * opening_balance = balance - (income - expense). Used when the column is added.
+     */
+    public static void backfillOpeningBalances(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("UPDATE wallet SET opening_balance = balance - " +
+                "(SELECT IFNULL(SUM(" + signedAmount("t") + "), 0) " +
+                "FROM `transaction` t WHERE t.wallet_id = wallet.id)");
+    }
+
+    /**
+     * Compares every wallet balance with opening_balance + SUM(signed amounts) and recomputes
+     * the ones that drifted. Runs on a background thread.
+     *
+     * @return number of wallets repaired (0 means consistent)
+     */
+    public static int reconcile(@NonNull AppDatabase database) {
+        long start = System.currentTimeMillis();
+        List<WalletBalanceDrift> drifted = database.walletDao().findBalanceDrift(TOLERANCE);
+        long checkedMs = System.currentTimeMillis() - start;
+
+        if (!drifted.isEmpty()) {
+            database.runInTransaction(() -> {
+                long now = System.currentTimeMillis();
+                for (WalletBalanceDrift drift : drifted) {
+                    Log.w(TAG, "Wallet " + drift.walletId + " drifted: stored=" + drift.balance
+                            + ", expected=" + drift.expected);
+                    database.walletDao().recalculateBalance(drift.walletId, now);
+                }
+            });
+        }
+
+        Log.d(TAG, "reconcile: checked in " + checkedMs + " ms, repaired " + drifted.size()
+                + " wallet(s) in " + (System.currentTimeMillis() - start - checkedMs) + " ms");
+        return drifted.size();
+    }
+
+    private static String signedAmount(String row) {
+        return "CASE WHEN " + row + ".type = 'income' THEN " + row + ".amount ELSE -" + row + ".amount END";
+    }
+
+    private static String apply(String row, String sign) {
+        return "UPDATE wallet SET balance = balance " + sign + " (" + signedAmount(row) + "), " +
+                "updated_at = " + NOW_MS + " WHERE id = " + row + ".wallet_id;";
+    }
+}
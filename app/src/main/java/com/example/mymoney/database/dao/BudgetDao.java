@@ -1,5 +1,6 @@
 package com.example.mymoney.database.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -25,6 +26,9 @@ public interface BudgetDao {
     @Query("SELECT * FROM budget WHERE id = :budgetId")
     Budget getBudgetById(int budgetId);
 
+    @Query("SELECT * FROM budget WHERE id = :budgetId")
+    LiveData<Budget> observeBudgetById(int budgetId);
+
     @Query("SELECT * FROM budget WHERE user_id = :userId")
     List<Budget> getBudgetsByUserId(int userId);
 
@@ -36,6 +36,10 @@ public interface CategoryDao {
     
     @Query("SELECT * FROM category WHERE name = :name LIMIT 1")
     Category getCategoryByName(String name);
+
+    // Mọi danh mục trùng tên (không phân biệt hoa thường), vd "Others" chi tiêu và thu nhập
+    @Query("SELECT * FROM category WHERE name = :name COLLATE NOCASE")
+    List<Category> getCategoriesByName(String name);
     
     @Query("DELETE FROM category WHERE id = :categoryId")
     void deleteById(int categoryId);
@@ -0,0 +1,96 @@
+package com.example.mymoney.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import com.example.mymoney.CategoryTotal;
+import com.example.mymoney.database.entity.DailyCategoryTotal;
+import com.example.mymoney.model.BudgetSpend;
+import com.example.mymoney.model.DayTotal;
+import com.example.mymoney.model.MonthCategoryTotal;
+import com.example.mymoney.model.PeriodTotals;
+
+import java.util.List;
+
+/**
+ * Read side of the daily_category_total rollup. Day arguments are local epoch days
+ * (see {@link com.example.mymoney.database.TransactionRollups#localEpochDay(long)}).
+ */
+@Dao
+public interface DailyCategoryTotalDao {
+
+    @Query("SELECT IFNULL(SUM(total), 0) FROM daily_category_total " +
+            "WHERE user_id = :userId AND type = :type AND day BETWEEN :startDay AND :endDay")
+    double getTotalByUser(int userId, String type, long startDay, long endDay);
+
+    // Tổng chi và tổng thu trong một lần quét
+    @Query("SELECT IFNULL(SUM(CASE WHEN type = 'expense' THEN total END), 0) AS expense, " +
+            "IFNULL(SUM(CASE WHEN type = 'income' THEN total END), 0) AS income " +
+            "FROM daily_category_total " +
+            "WHERE user_id = :userId AND day BETWEEN :startDay AND :endDay")
+    PeriodTotals getPeriodTotalsByUser(int userId, long startDay, long endDay);
+
+    // :limit ngày gần nhất có giao dịch trong ví, kèm tổng thu / chi của từng ngày
+    @Query("SELECT day, " +
+            "IFNULL(SUM(CASE WHEN type = 'income' THEN total END), 0) AS income, " +
+            "IFNULL(SUM(CASE WHEN type = 'expense' THEN total END), 0) AS expense " +
+            "FROM daily_category_total " +
+            "WHERE wallet_id = :walletId AND day BETWEEN :startDay AND :endDay " +
+            "GROUP BY day ORDER BY day DESC LIMIT :limit")
+    List<DayTotal> getRecentDayTotals(int walletId, long startDay, long endDay, int limit);
+
+    @Query("SELECT IFNULL(SUM(total), 0) FROM daily_category_total " +
+            "WHERE wallet_id = :walletId AND type = :type AND day BETWEEN :startDay AND :endDay")
+    double getTotalByWallet(int walletId, String type, long startDay, long endDay);
+
+    @Query("SELECT IFNULL(SUM(total), 0) FROM daily_category_total " +
+            "WHERE wallet_id = :walletId AND type = :type AND category_id = :categoryId " +
+            "AND day BETWEEN :startDay AND :endDay")
+    double getTotalByWalletAndCategory(int walletId, int categoryId, String type, long startDay, long endDay);
+
+    @Query("SELECT c.name AS category, SUM(d.total) AS total " +
+            "FROM daily_category_total d " +
+            "JOIN category c ON d.category_id = c.id " +
+            "WHERE d.type = 'expense' AND d.user_id = :userId AND d.wallet_id = :walletId " +
+            "AND d.day BETWEEN :startDay AND :endDay " +
+            "GROUP BY c.name " +
+            "ORDER BY total DESC")
+    List<CategoryTotal> getExpensesByCategory(int userId, int walletId, long startDay, long endDay);
+
+    // (year, month, category) expense totals for a window, newest month first
+    @Query("SELECT CAST(strftime('%Y', day * 86400, 'unixepoch') AS INTEGER) AS year, " +
+            "CAST(strftime('%m', day * 86400, 'unixepoch') AS INTEGER) AS month, " +
+            "category_id AS categoryId, SUM(total) AS total " +
+            "FROM daily_category_total " +
+            "WHERE wallet_id = :walletId AND type = 'expense' AND day BETWEEN :startDay AND :endDay " +
+            "GROUP BY year, month, category_id " +
+            "ORDER BY year DESC, month DESC")
+    List<MonthCategoryTotal> getMonthlyExpensesByCategory(int walletId, long startDay, long endDay);
+
+    // Query được tạo bởi BudgetSpendCalculator (UNION ALL, mỗi ngân sách một nhánh)
+    @RawQuery(observedEntities = DailyCategoryTotal.class)
+    List<BudgetSpend> getBudgetSpends(SupportSQLiteQuery query);
+
+    // ===== VERIFY =====
+    @Query("SELECT COUNT(*) FROM daily_category_total")
+    int countRollupRows();
+
+    // Số nhóm (wallet, type, day, category, user) trong bảng gốc không khớp với rollup
+    @Query("SELECT COUNT(*) FROM (" +
+            "SELECT wallet_id, type, epoch_day AS day, category_id, user_id, " +
+            "SUM(amount) AS total, COUNT(*) AS tx_count " +
+            "FROM `transaction` GROUP BY wallet_id, type, day, category_id, user_id" +
+            ") raw " +
+            "LEFT JOIN daily_category_total d " +
+            "ON d.wallet_id = raw.wallet_id AND d.type = raw.type AND d.day = raw.day " +
+            "AND d.category_id = raw.category_id AND d.user_id = raw.user_id " +
+            "WHERE d.day IS NULL OR d.tx_count != raw.tx_count OR ABS(d.total - raw.total) > 0.005")
+    int countMismatchedGroups();
+
+    @Query("SELECT COUNT(*) FROM (" +
+            "SELECT 1 FROM `transaction` " +
+            "GROUP BY wallet_id, type, epoch_day, category_id, user_id)")
+    int countRawGroups();
+}
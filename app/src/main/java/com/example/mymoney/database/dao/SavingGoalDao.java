@@ -1,5 +1,6 @@
 package com.example.mymoney.database.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -34,6 +35,12 @@ public interface SavingGoalDao {
     @Query("SELECT * FROM saving_goals WHERE user_id = :userId AND wallet_id = :walletId")
     List<SavingGoal> getSavingGoalsByUserAndWallet(int userId, int walletId);
 
+    @Query("SELECT * FROM saving_goals WHERE user_id = :userId")
+    LiveData<List<SavingGoal>> observeSavingGoalsByUserId(int userId);
+
+    @Query("SELECT * FROM saving_goals WHERE user_id = :userId AND wallet_id = :walletId")
+    LiveData<List<SavingGoal>> observeSavingGoalsByUserAndWallet(int userId, int walletId);
+
     @Query("SELECT * FROM saving_goals WHERE user_id = :userId AND wallet_id = :walletId AND status = :status")
     List<SavingGoal> getSavingGoalsByUserWalletAndStatus(int userId, int walletId, String status);
 
@@ -0,0 +1,68 @@
+package com.example.mymoney.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.mymoney.CategoryTotal;
+import com.example.mymoney.MonthTotal;
+import com.example.mymoney.database.entity.StatsCacheStatus;
+
+import java.util.List;
+
+/**
+ * Statistics cache (monthly_category_total + stats_cache_status), written by
+ * {@link com.example.mymoney.database.StatsCache}. Months are 1..12.
+ */
+@Dao
+public interface StatsCacheDao {
+
+    // ===== STATUS =====
+    @Query("SELECT * FROM stats_cache_status WHERE wallet_id = :walletId AND year = :year")
+    StatsCacheStatus getStatus(int walletId, int year);
+
+    @Query("SELECT * FROM stats_cache_status WHERE dirty_months != 0")
+    List<StatsCacheStatus> getDirtyStatuses();
+
+    @Query("INSERT OR REPLACE INTO stats_cache_status (wallet_id, year, dirty_months, computed_at) " +
+            "VALUES (:walletId, :year, 0, :computedAt)")
+    void markComputed(int walletId, int year, long computedAt);
+
+    // Chỉ xoá các bit đã tính lại (cùng transaction với phần tính lại)
+    @Query("UPDATE stats_cache_status SET dirty_months = dirty_months & ~:months, computed_at = :computedAt " +
+            "WHERE wallet_id = :walletId AND year = :year")
+    void clearDirtyMonths(int walletId, int year, int months, long computedAt);
+
+    @Query("UPDATE stats_cache_status SET dirty_months = :allMonths")
+    void markAllDirty(int allMonths);
+
+    // ===== RECOMPUTE (từ bảng rollup theo ngày) =====
+    @Query("DELETE FROM monthly_category_total WHERE wallet_id = :walletId AND year = :year AND month = :month")
+    void deleteMonth(int walletId, int year, int month);
+
+    @Query("INSERT INTO monthly_category_total (wallet_id, year, month, type, category_id, total, tx_count) " +
+            "SELECT wallet_id, :year, :month, type, category_id, SUM(total), SUM(tx_count) " +
+            "FROM daily_category_total " +
+            "WHERE wallet_id = :walletId AND day BETWEEN :startDay AND :endDay " +
+            "GROUP BY wallet_id, type, category_id")
+    void insertMonthFromRollup(int walletId, int year, int month, long startDay, long endDay);
+
+    // ===== READ =====
+    @Query("SELECT printf('%02d', month) AS month, SUM(total) AS total " +
+            "FROM monthly_category_total " +
+            "WHERE wallet_id = :walletId AND year = :year AND type = 'expense' " +
+            "GROUP BY month " +
+            "ORDER BY month")
+    List<MonthTotal> getMonthlyExpenses(int walletId, int year);
+
+    // Khoảng tháng [from, to] tính theo year * 12 + (month - 1)
+    @Query("SELECT c.name AS category, SUM(m.total) AS total " +
+            "FROM monthly_category_total m " +
+            "JOIN category c ON m.category_id = c.id " +
+            "WHERE m.wallet_id = :walletId AND m.type = 'expense' " +
+            "AND m.year BETWEEN :fromYear AND :toYear " +
+            "AND m.year * 12 + m.month - 1 BETWEEN :fromMonthIndex AND :toMonthIndex " +
+            "GROUP BY c.name " +
+            "ORDER BY total DESC")
+    List<CategoryTotal> getExpensesByCategory(int walletId, int fromYear, int toYear,
+                                              int fromMonthIndex, int toMonthIndex);
+}
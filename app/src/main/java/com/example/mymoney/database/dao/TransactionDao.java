@@ -1,10 +1,13 @@
 package com.example.mymoney.database.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import com.example.mymoney.CategoryTotal;
 import com.example.mymoney.MonthTotal;
@@ -12,6 +15,7 @@ import com.example.mymoney.CategoryTotal;
 import com.example.mymoney.MonthTotal;
 import com.example.mymoney.database.entity.Transaction;
 import com.example.mymoney.model.CategoryExpense;
+import com.example.mymoney.model.CategoryTypeTotal;
 
 import java.util.List;
 
@@ -21,6 +25,10 @@ public interface TransactionDao {
     @Insert
     long insert(Transaction transaction);
 
+    /** Wallet balances and the daily rollup follow via triggers (WalletBalances, TransactionRollups). */
+    @Insert
+    List<Long> insertAll(List<Transaction> transactions);
+
     @Update
     void update(Transaction transaction);
 
@@ -36,6 +44,18 @@ public interface TransactionDao {
     @Query("SELECT * FROM `transaction` WHERE user_id = :userId ORDER BY created_at DESC")
     List<Transaction> getTransactionsByUserId(int userId);
 
+    // ===== KEYSET PAGING (created_at DESC, id DESC) =====
+    // Query được tạo bởi TransactionFilter.toPageQuery() / toNewerPageQuery()
+    @RawQuery(observedEntities = Transaction.class)
+    List<Transaction> getTransactionsPage(SupportSQLiteQuery query);
+
+    @Query("SELECT * FROM `transaction` WHERE wallet_id = :walletId " +
+            "AND created_at BETWEEN :startDate AND :endDate " +
+            "AND (created_at < :beforeCreatedAt OR (created_at = :beforeCreatedAt AND id < :beforeId)) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    List<Transaction> getTransactionsPageByWalletAndDateRange(int walletId, long startDate, long endDate,
+                                                              long beforeCreatedAt, int beforeId, int limit);
+
     @Query("SELECT * FROM `transaction` WHERE category_id = :categoryId ORDER BY created_at DESC")
     List<Transaction> getTransactionsByCategoryId(int categoryId);
 
@@ -54,6 +74,29 @@ public interface TransactionDao {
     @Query("SELECT * FROM `transaction` WHERE wallet_id = :walletId AND created_at BETWEEN :startDate AND :endDate ORDER BY created_at DESC")
     List<Transaction> getTransactionsByWalletAndDateRange(int walletId, long startDate, long endDate);
 
+    // Chatbot: tổng theo (loại, danh mục) của một ví trong khoảng thời gian, một lần quét index (wallet_id, created_at).
+    // Sắp xếp giảm dần theo tổng để lấy top N.
+    @Query("SELECT t.type AS type, t.category_id AS categoryId, c.name AS categoryName, " +
+            "SUM(t.amount) AS total, COUNT(*) AS count " +
+            "FROM `transaction` t " +
+            "LEFT JOIN category c ON c.id = t.category_id " +
+            "WHERE t.wallet_id = :walletId AND t.created_at BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.type, t.category_id " +
+            "ORDER BY total DESC")
+    List<CategoryTypeTotal> getCategoryTotalsByWalletAndDateRange(int walletId, long startDate, long endDate);
+
+    // Như trên, chỉ các danh mục cho trước (mọi ID của một tên, vd "Others" chi tiêu và thu nhập)
+    @Query("SELECT t.type AS type, t.category_id AS categoryId, c.name AS categoryName, " +
+            "SUM(t.amount) AS total, COUNT(*) AS count " +
+            "FROM `transaction` t " +
+            "LEFT JOIN category c ON c.id = t.category_id " +
+            "WHERE t.wallet_id = :walletId AND t.created_at BETWEEN :startDate AND :endDate " +
+            "AND t.category_id IN (:categoryIds) " +
+            "GROUP BY t.type, t.category_id " +
+            "ORDER BY total DESC")
+    List<CategoryTypeTotal> getCategoryTotalsByWalletAndDateRange(int walletId, long startDate, long endDate,
+                                                                  List<Integer> categoryIds);
+
     @Query("SELECT SUM(amount) FROM `transaction` WHERE user_id = :userId AND type = 'expense' AND created_at BETWEEN :startDate AND :endDate")
     Double getTotalExpensesByDateRange(int userId, long startDate, long endDate);
 
@@ -81,19 +124,22 @@ public interface TransactionDao {
     @Query("DELETE FROM `transaction` WHERE id = :transactionId")
     void deleteById(int transactionId);
 
+    @Query("DELETE FROM `transaction` WHERE wallet_id = :walletId")
+    int deleteByWalletId(int walletId);
+
     @Query("SELECT * FROM `transaction` ORDER BY created_at DESC LIMIT :limit")
     List<Transaction> getRecentTransactions(int limit);
 
 
-    // 🟢 Thêm phương thức thống kê top chi tiêu (wallet + user specific)
+    // 🟢 Thêm phương thức thống kê top chi tiêu (wallet + user specific), theo ngày địa phương
     @Query("SELECT c.name AS category, SUM(t.amount) AS total " +
             "FROM `transaction` t " +
             "JOIN category c ON t.category_id = c.id " +
-            "WHERE t.type = 'expense' AND t.user_id = :userId AND t.wallet_id = :walletId AND t.created_at BETWEEN :startDate AND :endDate " +
+            "WHERE t.type = 'expense' AND t.user_id = :userId AND t.wallet_id = :walletId AND t.epoch_day BETWEEN :startDay AND :endDay " +
             "GROUP BY c.name " +
             "ORDER BY total DESC " +
             "LIMIT 5")
-    List<CategoryTotal> getTopExpensesByYear(int userId, int walletId, long startDate, long endDate);
+    List<CategoryTotal> getTopExpensesByYear(int userId, int walletId, long startDay, long endDay);
 
     @Query("SELECT IFNULL(SUM(t.amount), 0) FROM `transaction` t " +
             "JOIN category c ON t.category_id = c.id " +
@@ -145,21 +191,23 @@ public interface TransactionDao {
                     "GROUP BY c.name"
     )
     List<CategoryExpense> getExpensesByCategorySince(long from, int userId);
-    @Query("SELECT strftime('%m', datetime(created_at / 1000, 'unixepoch')) AS month, " +
-            "SUM(amount) AS total " +
+    // Chi tiêu theo tháng (giờ địa phương): quét index (wallet_id, type, epoch_day), gom nhóm theo year_month
+    @Query("SELECT printf('%02d', year_month % 100) AS month, SUM(amount) AS total " +
             "FROM `transaction` " +
-            "WHERE type = 'expense' AND user_id = :userId AND wallet_id = :walletId AND created_at BETWEEN :startDate AND :endDate " +
-            "GROUP BY month " +
-            "ORDER BY month")
-    List<MonthTotal> getMonthlyExpensesByYear(int userId, int walletId, long startDate, long endDate);
+            "WHERE wallet_id = :walletId AND type = 'expense' AND epoch_day BETWEEN :startDay AND :endDay " +
+            "AND user_id = :userId " +
+            "GROUP BY year_month " +
+            "ORDER BY year_month")
+    List<MonthTotal> getMonthlyExpensesByYear(int userId, int walletId, long startDay, long endDay);
 
+    // Chi tiêu theo danh mục trong khoảng ngày địa phương (epoch_day)
     @Query("SELECT c.name AS category, SUM(t.amount) AS total " +
             "FROM `transaction` t " +
             "JOIN category c ON t.category_id = c.id " +
-            "WHERE t.type = 'expense' AND t.user_id = :userId AND t.wallet_id = :walletId AND t.created_at BETWEEN :startDate AND :endDate " +
+            "WHERE t.type = 'expense' AND t.user_id = :userId AND t.wallet_id = :walletId AND t.epoch_day BETWEEN :startDay AND :endDay " +
             "GROUP BY c.name " +
             "ORDER BY total DESC")
-    List<CategoryTotal> getExpensesByDateRange(int userId, int walletId, long startDate, long endDate);
+    List<CategoryTotal> getExpensesByDateRange(int userId, int walletId, long startDay, long endDay);
     // 🟢 ===== HÀM CHO MỤC SAVING GOAL (dùng trong SavingGoalFragment) =====
     @Query("SELECT c.name AS category, SUM(t.amount) AS total " +
             "FROM `transaction` t " +
@@ -179,6 +227,10 @@ public interface TransactionDao {
             "WHERE type = 'expense' AND created_at >= :startDate")
     double getTotalExpenseSince(long startDate);
 
+    @Query("SELECT IFNULL(SUM(amount), 0) FROM `transaction` " +
+            "WHERE type = 'expense' AND created_at >= :startDate")
+    LiveData<Double> observeTotalExpenseSince(long startDate);
+
     // Tổng chi tiêu trong khoảng thời gian cụ thể (for Budget tracking)
     @Query("SELECT IFNULL(SUM(amount), 0) FROM `transaction` " +
             "WHERE type = 'expense' AND created_at BETWEEN :startDate AND :endDate")
@@ -1,5 +1,6 @@
 package com.example.mymoney.database.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -7,6 +8,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.example.mymoney.database.entity.Wallet;
+import com.example.mymoney.model.WalletBalanceDrift;
 
 import java.util.List;
 
@@ -30,6 +32,9 @@ public interface WalletDao {
     
     @Query("SELECT * FROM wallet WHERE user_id = :userId AND is_active = 1")
     List<Wallet> getActiveWalletsByUserId(int userId);
+
+    @Query("SELECT * FROM wallet WHERE user_id = :userId AND is_active = 1")
+    LiveData<List<Wallet>> observeActiveWalletsByUserId(int userId);
     
     @Query("SELECT * FROM wallet")
     List<Wallet> getAllWallets();
@@ -42,4 +47,18 @@ public interface WalletDao {
     
     @Query("DELETE FROM wallet WHERE id = :walletId")
     void deleteById(int walletId);
+
+    // ===== RECONCILIATION (xem WalletBalances) =====
+    // Một truy vấn SUM duy nhất cho tất cả ví; chỉ trả về các ví bị lệch
+    @Query("SELECT w.id AS walletId, w.balance AS balance, " +
+            "w.opening_balance + IFNULL(SUM(CASE WHEN t.type = 'income' THEN t.amount ELSE -t.amount END), 0) AS expected " +
+            "FROM wallet w LEFT JOIN `transaction` t ON t.wallet_id = w.id " +
+            "GROUP BY w.id HAVING ABS(balance - expected) > :tolerance")
+    List<WalletBalanceDrift> findBalanceDrift(double tolerance);
+
+    @Query("UPDATE wallet SET balance = opening_balance + " +
+            "(SELECT IFNULL(SUM(CASE WHEN type = 'income' THEN amount ELSE -amount END), 0) " +
+            "FROM `transaction` WHERE wallet_id = :walletId), updated_at = :timestamp " +
+            "WHERE id = :walletId")
+    void recalculateBalance(int walletId, long timestamp);
 }
@@ -0,0 +1,100 @@
+package com.example.mymoney.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Rollup of `transaction` rows per (wallet, type, local day, category, user).
+ * Kept in sync by SQLite triggers, see {@link com.example.mymoney.database.TransactionRollups}.
+ */
+@Entity(tableName = "daily_category_total",
+        primaryKeys = {"wallet_id", "type", "day", "category_id", "user_id"},
+        indices = {@Index({"user_id", "type", "day"})})
+public class DailyCategoryTotal {
+
+    /** Local epoch day of a `transaction`.created_at value, usable inside @Query strings. */
+    public static final String DAY_OF_CREATED_AT =
+            "(CAST(strftime('%s', created_at / 1000, 'unixepoch', 'localtime') AS INTEGER) / 86400)";
+
+    @ColumnInfo(name = "wallet_id")
+    private int walletId;
+
+    @NonNull
+    @ColumnInfo(name = "type")
+    private String type = "expense"; // "expense" or "income"
+
+    @ColumnInfo(name = "day")
+    private long day; // local epoch day
+
+    @ColumnInfo(name = "category_id")
+    private int categoryId;
+
+    @ColumnInfo(name = "user_id")
+    private int userId;
+
+    @ColumnInfo(name = "total")
+    private double total;
+
+    @ColumnInfo(name = "tx_count")
+    private int txCount;
+
+    // Getters and Setters
+    public int getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(int walletId) {
+        this.walletId = walletId;
+    }
+
+    @NonNull
+    public String getType() {
+        return type;
+    }
+
+    public void setType(@NonNull String type) {
+        this.type = type;
+    }
+
+    public long getDay() {
+        return day;
+    }
+
+    public void setDay(long day) {
+        this.day = day;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
+    public int getTxCount() {
+        return txCount;
+    }
+
+    public void setTxCount(int txCount) {
+        this.txCount = txCount;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.mymoney.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/**
+ * Precomputed statistics cache: totals per (wallet, year, month, type, category), built from
+ * {@link DailyCategoryTotal} in the background, see {@link com.example.mymoney.database.StatsCache}.
+ */
+@Entity(tableName = "monthly_category_total",
+        primaryKeys = {"wallet_id", "year", "month", "type", "category_id"})
+public class MonthlyCategoryTotal {
+
+    @ColumnInfo(name = "wallet_id")
+    private int walletId;
+
+    @ColumnInfo(name = "year")
+    private int year;
+
+    @ColumnInfo(name = "month")
+    private int month; // 1..12
+
+    @NonNull
+    @ColumnInfo(name = "type")
+    private String type = "expense"; // "expense" or "income"
+
+    @ColumnInfo(name = "category_id")
+    private int categoryId;
+
+    @ColumnInfo(name = "total")
+    private double total;
+
+    @ColumnInfo(name = "tx_count")
+    private int txCount;
+
+    // Getters and Setters
+    public int getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(int walletId) {
+        this.walletId = walletId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public void setMonth(int month) {
+        this.month = month;
+    }
+
+    @NonNull
+    public String getType() {
+        return type;
+    }
+
+    public void setType(@NonNull String type) {
+        this.type = type;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
+    public int getTxCount() {
+        return txCount;
+    }
+
+    public void setTxCount(int txCount) {
+        this.txCount = txCount;
+    }
+}
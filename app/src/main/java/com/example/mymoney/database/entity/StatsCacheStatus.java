@@ -0,0 +1,61 @@
+package com.example.mymoney.database.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/**
+ * Freshness of the statistics cache for one (wallet, year).
+ * <p>
+ * Bit {@code month - 1} of {@code dirty_months} is set by SQLite triggers whenever a transaction
+ * of that month is written, so a refresh only recomputes those months. No row means the year has
+ * never been computed.
+ */
+@Entity(tableName = "stats_cache_status",
+        primaryKeys = {"wallet_id", "year"})
+public class StatsCacheStatus {
+
+    @ColumnInfo(name = "wallet_id")
+    private int walletId;
+
+    @ColumnInfo(name = "year")
+    private int year;
+
+    @ColumnInfo(name = "dirty_months")
+    private int dirtyMonths;
+
+    @ColumnInfo(name = "computed_at")
+    private long computedAt;
+
+    // Getters and Setters
+    public int getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(int walletId) {
+        this.walletId = walletId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public int getDirtyMonths() {
+        return dirtyMonths;
+    }
+
+    public void setDirtyMonths(int dirtyMonths) {
+        this.dirtyMonths = dirtyMonths;
+    }
+
+    public long getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(long computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -27,7 +27,17 @@ import androidx.room.PrimaryKey;
                         onDelete = ForeignKey.CASCADE
                 )
         },
-        indices = {@Index("wallet_id"), @Index("category_id"), @Index("user_id")})
+        indices = {
+                @Index("category_id"),
+                // Composite indexes covering the wallet/user + type + date range queries in TransactionDao
+                @Index({"wallet_id", "created_at"}),
+                @Index({"user_id", "created_at"}),
+                @Index({"wallet_id", "type", "created_at"}),
+                @Index({"user_id", "type", "created_at", "category_id"}),
+                @Index({"type", "created_at"}),
+                // Local-day / local-month range scans and grouping (see epoch_day, year_month)
+                @Index({"wallet_id", "type", "epoch_day"})
+        })
 public class Transaction {
     
     @PrimaryKey(autoGenerate = true)
@@ -64,6 +74,14 @@ public class Transaction {
     @ColumnInfo(name = "type")
     private String type; // "expense" or "income"
 
+    // Local day / month of created_at, stamped by SQLite triggers on insert and on created_at
+    // updates (TransactionRollups.createLocalDayTriggers); the setters are for Room only
+    @ColumnInfo(name = "epoch_day", defaultValue = "0")
+    private long epochDay; // local epoch day
+
+    @ColumnInfo(name = "year_month", defaultValue = "0")
+    private int yearMonth; // local yyyyMM, e.g. 202403
+
     // Constructors
     public Transaction() {
         this.createdAt = System.currentTimeMillis();
@@ -159,4 +177,20 @@ public class Transaction {
     public void setType(String type) {
         this.type = type;
     }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public void setEpochDay(long epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    public int getYearMonth() {
+        return yearMonth;
+    }
+
+    public void setYearMonth(int yearMonth) {
+        this.yearMonth = yearMonth;
+    }
 }
@@ -31,6 +31,10 @@ public class Wallet {
     
     @ColumnInfo(name = "balance")
     private double balance;
+
+    // Số dư ban đầu khi tạo ví; balance = opening_balance + thu - chi (xem WalletBalances)
+    @ColumnInfo(name = "opening_balance", defaultValue = "0")
+    private double openingBalance;
     
     @ColumnInfo(name = "is_active")
     private boolean isActive;
@@ -96,6 +100,14 @@ public class Wallet {
         this.balance = balance;
     }
 
+    public double getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public void setOpeningBalance(double openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+
     public boolean isActive() {
         return isActive;
     }
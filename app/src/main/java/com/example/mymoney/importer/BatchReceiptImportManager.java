@@ -16,6 +16,7 @@ import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.core.content.FileProvider;
 import androidx.fragment.app.Fragment;
+import com.example.mymoney.utils.AppExecutors;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -27,8 +28,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -48,7 +48,7 @@ public class BatchReceiptImportManager {
     private final Context context;
     private final BatchListener listener;
     private final ReceiptOcrRepository repository;
-    private final ExecutorService executor;
+    private final List<Future<?>> ocrTasks = new ArrayList<>();
 
     private final ActivityResultLauncher<String> cameraPermissionLauncher;
     private final ActivityResultLauncher<String> storagePermissionLauncher;
@@ -67,7 +67,6 @@ public class BatchReceiptImportManager {
         this.context = fragment.requireContext();
         this.listener = listener;
         this.repository = new ReceiptOcrRepository();
-        this.executor = Executors.newFixedThreadPool(2);
 
         this.cameraPermissionLauncher = fragment.registerForActivityResult(
                 new ActivityResultContracts.RequestPermission(),
@@ -235,7 +234,7 @@ public class BatchReceiptImportManager {
             final PendingReceipt receipt = pendingReceipts.get(i);
             receipt.setProcessing(true);
 
-            executor.execute(() -> {
+            ocrTasks.add(AppExecutors.getInstance().networkIO().submit(() -> {
                 repository.processReceipt(receipt.getImageFile(), new ReceiptOcrRepository.ReceiptOcrCallback() {
                     @Override
                     public void onSuccess(ReceiptOcrResponse.ReceiptData data) {
@@ -265,7 +264,7 @@ public class BatchReceiptImportManager {
                         }
                     }
                 });
-            });
+            }));
         }
     }
 
@@ -336,7 +335,11 @@ public class BatchReceiptImportManager {
         return Manifest.permission.READ_EXTERNAL_STORAGE;
     }
 
+    /** Cancels OCR uploads that have not started yet (the shared network pool stays alive). */
     public void shutdown() {
-        executor.shutdown();
+        for (Future<?> task : ocrTasks) {
+            task.cancel(false);
+        }
+        ocrTasks.clear();
     }
 }
\ No newline at end of file
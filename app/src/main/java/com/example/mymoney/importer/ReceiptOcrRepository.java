@@ -3,22 +3,19 @@ package com.example.mymoney.importer;
 import android.util.Log;
 
 import com.example.mymoney.BuildConfig;
+import com.example.mymoney.utils.HttpClients;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URLConnection;
-import java.util.concurrent.TimeUnit;
 
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
-import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class ReceiptOcrRepository {
 
@@ -27,24 +24,14 @@ public class ReceiptOcrRepository {
     // For physical device, use your computer's actual IP address
     private static final String DEFAULT_BASE_URL = "http://172.20.10.2:5000/";
 
+    // Image upload + OCR on the server: long write/read timeouts
+    private static final HttpClients.Timeouts OCR_TIMEOUTS = new HttpClients.Timeouts(30, 60, 60, 0);
+
     private final ReceiptOcrApiService apiService;
 
     public ReceiptOcrRepository() {
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(resolveBaseUrl())
-                .client(buildClient())
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-        apiService = retrofit.create(ReceiptOcrApiService.class);
-    }
-
-    private OkHttpClient buildClient() {
-        return new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .retryOnConnectionFailure(true)
-                .build();
+        apiService = HttpClients.getInstance()
+                .service(resolveBaseUrl(), ReceiptOcrApiService.class, OCR_TIMEOUTS);
     }
 
     private String resolveBaseUrl() {
@@ -31,6 +31,7 @@ import com.example.mymoney.R;
 import com.example.mymoney.adapter.CategoryAdapter;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.utils.AppExecutors;
 import com.example.mymoney.view.ZoomableImageView;
 
 import java.io.File;
@@ -168,7 +169,7 @@ public class ReceiptReviewDialog extends DialogFragment {
     }
 
     private void loadCategories() {
-        new Thread(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 AppDatabase db = AppDatabase.getInstance(requireContext());
                 availableCategories = db.categoryDao().getAllExpenseCategories();
@@ -184,7 +185,7 @@ public class ReceiptReviewDialog extends DialogFragment {
             } catch (Exception e) {
                 e.printStackTrace();
             }
-        }).start();
+        });
     }
 
     private void displayReceipt(int index) {
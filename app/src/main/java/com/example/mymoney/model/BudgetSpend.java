@@ -0,0 +1,10 @@
+package com.example.mymoney.model;
+
+/**
+ * Số tiền đã chi của một ngân sách trong kỳ của nó.
+ * Dùng để nhận dữ liệu từ Room (kết quả của BudgetSpendCalculator).
+ */
+public class BudgetSpend {
+    public int budgetId;
+    public double spent;
+}
@@ -0,0 +1,13 @@
+package com.example.mymoney.model;
+
+/**
+ * Tổng tiền và số giao dịch của một danh mục theo loại (expense / income) trong một khoảng thời gian.
+ * Dùng để nhận dữ liệu từ Room (projection GROUP BY type, category_id).
+ */
+public class CategoryTypeTotal {
+    public String type;             // "expense" hoặc "income"
+    public int categoryId;
+    public String categoryName;     // null nếu danh mục đã bị xóa
+    public double total;
+    public int count;
+}
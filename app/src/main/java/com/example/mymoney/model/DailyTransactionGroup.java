@@ -25,6 +25,20 @@ public class DailyTransactionGroup {
         calculateTotals();
     }
 
+    /**
+     * Group whose totals were already computed (e.g. from the daily rollup in SQL)
+     */
+    public DailyTransactionGroup(String date, String fullDate, long timestamp, List<Transaction> transactions,
+                                 double totalIncome, double totalExpense) {
+        this.date = date;
+        this.fullDate = fullDate;
+        this.timestamp = timestamp;
+        this.transactions = transactions;
+        this.isExpanded = true;  // Default to expanded
+        this.totalIncome = totalIncome;
+        this.totalExpense = totalExpense;
+    }
+
     private void calculateTotals() {
         totalIncome = 0;
         totalExpense = 0;
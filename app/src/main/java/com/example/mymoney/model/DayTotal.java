@@ -0,0 +1,11 @@
+package com.example.mymoney.model;
+
+/**
+ * Tổng thu / chi của một ngày (local epoch day) trong một ví.
+ * Dùng để nhận dữ liệu từ Room (một truy vấn trên bảng daily_category_total).
+ */
+public class DayTotal {
+    public long day;
+    public double income;
+    public double expense;
+}
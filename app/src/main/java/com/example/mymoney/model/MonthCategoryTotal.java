@@ -0,0 +1,12 @@
+package com.example.mymoney.model;
+
+/**
+ * Tổng chi tiêu của một danh mục trong một tháng (tháng theo giờ địa phương).
+ * Dùng để nhận dữ liệu từ Room (projection GROUP BY year, month, category_id).
+ */
+public class MonthCategoryTotal {
+    public int year;
+    public int month;       // 1..12
+    public int categoryId;
+    public double total;
+}
@@ -0,0 +1,10 @@
+package com.example.mymoney.model;
+
+/**
+ * Tổng chi / tổng thu trong một khoảng thời gian.
+ * Dùng để nhận dữ liệu từ Room (một truy vấn trên bảng daily_category_total).
+ */
+public class PeriodTotals {
+    public double expense;
+    public double income;
+}
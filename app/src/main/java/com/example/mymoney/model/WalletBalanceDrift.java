@@ -0,0 +1,11 @@
+package com.example.mymoney.model;
+
+/**
+ * Ví có số dư lưu trữ lệch với số dư tính lại từ giao dịch.
+ * Dùng để nhận dữ liệu từ Room (kết quả của WalletBalances.reconcile).
+ */
+public class WalletBalanceDrift {
+    public int walletId;
+    public double balance;
+    public double expected;
+}
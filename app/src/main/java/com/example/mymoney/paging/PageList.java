@@ -0,0 +1,107 @@
+package com.example.mymoney.paging;
+
+import androidx.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list over a window of loaded pages.
+ * <p>
+ * {@link #plus}, {@link #plusFirst} and the {@code minus} methods return a new instance that
+ * shares the pages of this one, so every snapshot handed to a ListAdapter is a distinct list while
+ * adding or dropping a page costs O(pages) instead of copying every row held. Pages must not be
+ * modified once added.
+ */
+public final class PageList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final PageList<?> EMPTY = new PageList<>(new List<?>[0], new int[0], 0);
+
+    private final List<? extends T>[] pages;
+    private final int[] offsets; // offsets[i] = rows before pages[i]
+    private final int size;
+
+    private PageList(List<? extends T>[] pages, int[] offsets, int size) {
+        this.pages = pages;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PageList<T> empty() {
+        return (PageList<T>) EMPTY;
+    }
+
+    /** This list followed by {@code page}; this instance is left unchanged. */
+    @NonNull
+    public PageList<T> plus(@NonNull List<? extends T> page) {
+        if (page.isEmpty()) return this;
+        List<? extends T>[] newPages = Arrays.copyOf(pages, pages.length + 1);
+        int[] newOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+        newPages[pages.length] = page;
+        newOffsets[offsets.length] = size;
+        return new PageList<>(newPages, newOffsets, size + page.size());
+    }
+
+    /** {@code page} followed by this list; this instance is left unchanged. */
+    @NonNull
+    public PageList<T> plusFirst(@NonNull List<? extends T> page) {
+        if (page.isEmpty()) return this;
+        List<? extends T>[] newPages = newArray(pages.length + 1);
+        System.arraycopy(pages, 0, newPages, 1, pages.length);
+        newPages[0] = page;
+        return of(newPages);
+    }
+
+    /** This list without its first page; this instance is left unchanged. */
+    @NonNull
+    public PageList<T> minusFirst() {
+        if (pages.length == 0) return this;
+        return of(Arrays.copyOfRange(pages, 1, pages.length));
+    }
+
+    /** This list without its last page; this instance is left unchanged. */
+    @NonNull
+    public PageList<T> minusLast() {
+        if (pages.length == 0) return this;
+        return new PageList<>(Arrays.copyOf(pages, pages.length - 1),
+                Arrays.copyOf(offsets, offsets.length - 1), offsets[offsets.length - 1]);
+    }
+
+    /** Number of pages (not rows) held. */
+    public int pageCount() {
+        return pages.length;
+    }
+
+    private static <T> PageList<T> of(List<? extends T>[] pages) {
+        int[] offsets = new int[pages.length];
+        int size = 0;
+        for (int i = 0; i < pages.length; i++) {
+            offsets[i] = size;
+            size += pages[i].size();
+        }
+        return new PageList<>(pages, offsets, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<? extends T>[] newArray(int length) {
+        return (List<? extends T>[]) new List<?>[length];
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int page = Arrays.binarySearch(offsets, index);
+        if (page < 0) page = -page - 2; // insertion point - 1: the page starting before index
+        return pages[page].get(index - offsets[page]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.mymoney.paging;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Keyset pager for transaction lists ordered by (created_at DESC, id DESC).
+ * <p>
+ * Pages are loaded on the shared disk executor using the last row of the previous page as the
+ * cursor, so each page is an indexed range scan regardless of how deep the user scrolls.
+ * Results are delivered on the main thread; pages from a previous {@link #reset} are dropped.
+ * <p>
+ * At most {@link #MAX_PAGES} pages are held: scrolling down past that drops the top page, and
+ * scrolling back up reloads it from the first row still held (and drops the bottom one), so
+ * memory stays bounded however deep the user scrolls.
+ */
+public class TransactionPager {
+
+    private static final String TAG = "TransactionPager";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGES = 10;
+    private static final int PREFETCH_DISTANCE = 15;
+
+    public interface PageLoader {
+        /**
+         * Loads up to {@code limit} rows next to the (cursorCreatedAt, cursorId) cursor: the rows
+         * after it in list order, or with {@code newer} the rows before it, nearest first.
+         */
+        List<Transaction> loadPage(long cursorCreatedAt, int cursorId, int limit, boolean newer);
+    }
+
+    public interface Listener {
+        /** @param pages the pages now held, a new snapshot on every change */
+        void onPagesChanged(@NonNull PageList<Transaction> pages);
+    }
+
+    private final Executor executor = AppExecutors.getInstance().diskIO();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Listener listener;
+    private final int pageSize;
+    private final int maxPages;
+
+    private PageLoader loader;
+    private int generation = 0;
+    private PageList<Transaction> pages = PageList.empty();
+    private boolean loading;
+    private boolean endReached;
+    private boolean topDropped; // pages above the first one held were dropped
+
+    public TransactionPager(@NonNull Listener listener) {
+        this(listener, DEFAULT_PAGE_SIZE, MAX_PAGES);
+    }
+
+    public TransactionPager(@NonNull Listener listener, int pageSize, int maxPages) {
+        this.listener = listener;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+    }
+
+    /** Starts over with a new query; must be called on the main thread. */
+    public void reset(@NonNull PageLoader loader) {
+        this.loader = loader;
+        generation++;
+        pages = PageList.empty();
+        loading = false;
+        endReached = false;
+        topDropped = false;
+        load(false);
+    }
+
+    /** Loads the next page unless one is in flight or the end was reached. */
+    public void loadNextPage() {
+        if (endReached) return;
+        load(false);
+    }
+
+    /** Reloads the page above the first one held, if it was dropped. */
+    public void loadPreviousPage() {
+        if (!topDropped) return;
+        load(true);
+    }
+
+    private void load(boolean newer) {
+        if (loader == null || loading) return;
+        loading = true;
+
+        final int requestGeneration = generation;
+        final PageLoader pageLoader = loader;
+        final boolean first = pages.isEmpty();
+        final Transaction cursor = first ? null : pages.get(newer ? 0 : pages.size() - 1);
+        final long cursorCreatedAt = cursor != null ? cursor.getCreatedAt() : Long.MAX_VALUE;
+        final int cursorId = cursor != null ? cursor.getId() : Integer.MAX_VALUE;
+
+        executor.execute(() -> {
+            List<Transaction> page;
+            try {
+                page = pageLoader.loadPage(cursorCreatedAt, cursorId, pageSize, newer);
+                if (newer) {
+                    page = new ArrayList<>(page);
+                    Collections.reverse(page);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading page", e);
+                mainHandler.post(() -> {
+                    if (requestGeneration == generation) loading = false;
+                });
+                return;
+            }
+
+            final List<Transaction> loaded = page;
+            mainHandler.post(() -> {
+                if (requestGeneration != generation) return; // stale page from an older query
+                loading = false;
+                if (newer) {
+                    onPreviousPage(loaded);
+                } else {
+                    onNextPage(loaded, first);
+                }
+            });
+        });
+    }
+
+    private void onNextPage(List<Transaction> page, boolean first) {
+        endReached = page.size() < pageSize;
+        if (page.isEmpty() && !first) return;
+        pages = pages.plus(page);
+        if (pages.pageCount() > maxPages) {
+            pages = pages.minusFirst();
+            topDropped = true;
+        }
+        listener.onPagesChanged(pages);
+    }
+
+    private void onPreviousPage(List<Transaction> page) {
+        topDropped = page.size() == pageSize;
+        if (page.isEmpty()) return;
+        pages = pages.plusFirst(page);
+        if (pages.pageCount() > maxPages) {
+            pages = pages.minusLast();
+            endReached = false;
+        }
+        listener.onPagesChanged(pages);
+    }
+
+    /**
+     * Requests the next page when the list is scrolled close to its end, and a dropped page
+     * when it is scrolled back close to its start.
+     */
+    public void attachTo(@NonNull RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy == 0) return;
+                RecyclerView.LayoutManager lm = rv.getLayoutManager();
+                if (!(lm instanceof LinearLayoutManager)) return;
+                LinearLayoutManager llm = (LinearLayoutManager) lm;
+                if (dy > 0 && llm.findLastVisibleItemPosition() >= lm.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                } else if (dy < 0 && llm.findFirstVisibleItemPosition() <= PREFETCH_DISTANCE) {
+                    loadPreviousPage();
+                }
+            }
+        });
+    }
+
+    /** Stops paging (e.g. while search results replace the list) until the next {@link #reset}. */
+    public void cancel() {
+        generation++;
+        loader = null;
+        loading = false;
+    }
+
+    /** Drops in-flight pages for good; the shared executor itself stays alive. */
+    public void shutdown() {
+        generation++;
+        loader = null;
+    }
+}
@@ -29,6 +29,7 @@ import com.example.mymoney.database.dao.TransactionDao;
 import com.example.mymoney.database.entity.Budget;
 import com.example.mymoney.database.entity.Category;
 import com.example.mymoney.model.CategoryExpense;
+import com.example.mymoney.utils.AppExecutors;
 
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
@@ -39,7 +40,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Executors;
 
 public class AutoSavingGoal extends Fragment {
 
@@ -115,7 +115,7 @@ public class AutoSavingGoal extends Fragment {
             long months = args.getLong("months_arg");
             long income = args.getLong("income_arg");
 
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 calculateBudget(target, months, income);
                 requireActivity().runOnUiThread(this::loadSavedPlan);
             });
@@ -377,7 +377,7 @@ public class AutoSavingGoal extends Fragment {
     // ============================================================
     private void loadSavedPlan() {
 
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
 
             rebuildSummary();
             checkSavingProgress(); // 🔥 BẮT BUỘC PHẢI CÓ
@@ -565,7 +565,7 @@ public class AutoSavingGoal extends Fragment {
         long start = prefs.getLong(goalName + "_start", 0);
         long end = System.currentTimeMillis();
 
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 int userId = getCurrentUserId();
                 int walletId = MainActivity.getSelectedWalletId();
@@ -713,7 +713,7 @@ public class AutoSavingGoal extends Fragment {
 
         // Ensure expense categories are loaded
         if (expenseCategories == null || expenseCategories.isEmpty()) {
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 expenseCategories = categoryDao.getAllExpenseCategories();
                 requireActivity().runOnUiThread(() -> showEditAllLimitsDialog(spentMap));
             });
@@ -772,7 +772,7 @@ public class AutoSavingGoal extends Fragment {
 
                     editor.apply();
 
-                    Executors.newSingleThreadExecutor().execute(() -> {
+                    AppExecutors.getInstance().diskIO().execute(() -> {
                         rebuildSummary();
                         requireActivity().runOnUiThread(this::loadSavedPlan);
                     });
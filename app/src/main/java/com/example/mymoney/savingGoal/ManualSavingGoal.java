@@ -26,6 +26,7 @@ import com.example.mymoney.R;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.dao.TransactionDao;
 import com.example.mymoney.model.CategoryExpense;
+import com.example.mymoney.utils.AppExecutors;
 import android.media.RingtoneManager;
 import android.media.Ringtone;
 import android.os.VibrationEffect;
@@ -44,7 +45,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class ManualSavingGoal extends Fragment {
@@ -132,7 +132,7 @@ public class ManualSavingGoal extends Fragment {
         return v;
     }
     private void loadExpenseCategories(Runnable callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             expenseCategories = categoryDao.getAllExpenseCategories();
             requireActivity().runOnUiThread(callback);
         });
@@ -162,7 +162,7 @@ public class ManualSavingGoal extends Fragment {
         int userId = getCurrentUserId();
         int walletId = MainActivity.getSelectedWalletId();
 
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             try {
                 com.example.mymoney.database.entity.SavingGoal dbGoal =
                         AppDatabase.getInstance(requireContext())
@@ -182,7 +182,7 @@ public class ManualSavingGoal extends Fragment {
 
     // 🔥 LẤY DỮ LIỆU GIỐNG BUDGETFRAGMENT
     private void loadExpensesSinceSavingStart(long savingStart, Runnable callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
 
             TransactionDao dao =
                     AppDatabase.getInstance(requireContext()).transactionDao();
@@ -402,7 +402,7 @@ public class ManualSavingGoal extends Fragment {
         historyPref.edit().putStringSet("history_list", history).apply();
 
         // 4️⃣ XÓA DB + PREFS (BACKGROUND)
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 int userId = getCurrentUserId();
                 int walletId = MainActivity.getSelectedWalletId();
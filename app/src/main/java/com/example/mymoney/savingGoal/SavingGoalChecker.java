@@ -9,6 +9,7 @@ import androidx.appcompat.app.AlertDialog;
 
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.dao.TransactionDao;
+import com.example.mymoney.utils.AppExecutors;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,7 +17,7 @@ import java.util.Set;
 public class SavingGoalChecker {
 
     public static void checkAllGoalsBackground(Context context, String category, double amount) {
-        new Thread(() -> checkAllGoals(context, category, amount)).start();
+        AppExecutors.getInstance().diskIO().execute(() -> checkAllGoals(context, category, amount));
     }
 
     private static void checkAllGoals(Context context, String category, double amount) {
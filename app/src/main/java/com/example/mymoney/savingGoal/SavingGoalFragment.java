@@ -18,6 +18,7 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -34,6 +35,7 @@ import com.example.mymoney.model.SavingGoal;
 import com.example.mymoney.savingGoal.AutoSavingGoal;
 import com.example.mymoney.savingGoal.ManualSavingGoal;
 import com.example.mymoney.savingGoal.SavingHistoryFragment;
+import com.example.mymoney.utils.AppExecutors;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -42,7 +44,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 public class SavingGoalFragment extends Fragment {
 
@@ -108,61 +109,52 @@ public class SavingGoalFragment extends Fragment {
         recyclerSavingGoals.setLayoutManager(new LinearLayoutManager(getContext()));
         recyclerSavingGoals.setAdapter(adapter);
 
-        loadGoalsFromDatabase();
         btnAddGoal.setOnClickListener(v -> showAddGoalDialog());
 
         return view;
     }
 
     @Override
-    public void onResume() {
-        super.onResume();
-        loadGoalsFromDatabase();
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        observeGoals();
     }
 
     // ============================================================
     // DATABASE OPERATIONS
     // ============================================================
 
-    private void loadGoalsFromDatabase() {
+    /**
+     * Room re-emits the goal list whenever saving_goals is written, so saves/deletes
+     * below do not need to reload it by hand
+     */
+    private void observeGoals() {
         int userId = MainActivity.getCurrentUserId();
         int walletId = MainActivity.getSelectedWalletId();
 
-        Executors.newSingleThreadExecutor().execute(() -> {
-            try {
-                List<com.example.mymoney.database.entity.SavingGoal> dbGoals;
-
-                if (walletId > 0) {
-                    dbGoals = savingGoalDao.getSavingGoalsByUserAndWallet(userId, walletId);
-                } else {
-                    dbGoals = savingGoalDao.getSavingGoalsByUserId(userId);
-                }
-
-                List<SavingGoal> uiGoals = new ArrayList<>();
-                for (com.example.mymoney.database.entity.SavingGoal dbGoal : dbGoals) {
-                    uiGoals.add(new SavingGoal(
-                            dbGoal.getId(),
-                            dbGoal.getName(),
-                            (long) dbGoal.getTarget(),
-                            (long) dbGoal.getCurrentAmount(),
-                            dbGoal.getDescription() != null && dbGoal.getDescription().equals("auto") ? "auto" : "manual",
-                            dbGoal.getUpdatedAt(),
-                            dbGoal.getUserId(),
-                            dbGoal.getWalletId(),
-                            dbGoal.getStatus()
-                    ));
-                }
-
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        goalList.clear();
-                        goalList.addAll(uiGoals);
-                        adapter.notifyDataSetChanged();
-                    });
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error loading goals", e);
+        LiveData<List<com.example.mymoney.database.entity.SavingGoal>> source = walletId > 0
+                ? savingGoalDao.observeSavingGoalsByUserAndWallet(userId, walletId)
+                : savingGoalDao.observeSavingGoalsByUserId(userId);
+
+        source.observe(getViewLifecycleOwner(), dbGoals -> {
+            List<SavingGoal> uiGoals = new ArrayList<>();
+            for (com.example.mymoney.database.entity.SavingGoal dbGoal : dbGoals) {
+                uiGoals.add(new SavingGoal(
+                        dbGoal.getId(),
+                        dbGoal.getName(),
+                        (long) dbGoal.getTarget(),
+                        (long) dbGoal.getCurrentAmount(),
+                        dbGoal.getDescription() != null && dbGoal.getDescription().equals("auto") ? "auto" : "manual",
+                        dbGoal.getUpdatedAt(),
+                        dbGoal.getUserId(),
+                        dbGoal.getWalletId(),
+                        dbGoal.getStatus()
+                ));
             }
+
+            goalList.clear();
+            goalList.addAll(uiGoals);
+            adapter.notifyDataSetChanged();
         });
     }
 
@@ -182,7 +174,7 @@ public class SavingGoalFragment extends Fragment {
      * Delete a saving goal from database and related data
      */
     private void deleteGoal(SavingGoal goal) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 String goalName = goal.getName();
 
@@ -220,7 +212,6 @@ public class SavingGoalFragment extends Fragment {
                 if (getActivity() != null) {
                     getActivity().runOnUiThread(() -> {
                         Toast.makeText(getContext(), "Đã xóa mục tiêu \"" + goalName + "\"", Toast.LENGTH_SHORT).show();
-                        loadGoalsFromDatabase();
                     });
                 }
             } catch (Exception e) {
@@ -244,7 +235,7 @@ public class SavingGoalFragment extends Fragment {
             return;
         }
 
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 // Create SavingGoal
                 com.example.mymoney.database.entity.SavingGoal dbGoal = new com.example.mymoney.database.entity.SavingGoal();
@@ -278,7 +269,6 @@ public class SavingGoalFragment extends Fragment {
 
                 if (getActivity() != null) {
                     getActivity().runOnUiThread(() -> {
-                        loadGoalsFromDatabase();
                         if (onComplete != null) {
                             onComplete.run();
                         }
@@ -435,7 +425,7 @@ public class SavingGoalFragment extends Fragment {
     // ============================================================
     private void showDynamicLimitDialog() {
         // Load categories from database
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO(this, () -> {
             try {
                 List<Category> expenseCategories = categoryDao.getAllExpenseCategories();
 
@@ -675,7 +665,7 @@ public class SavingGoalFragment extends Fragment {
         int userId = MainActivity.getCurrentUserId();
         int walletId = MainActivity.getSelectedWalletId();
 
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 com.example.mymoney.database.entity.SavingGoal goal =
                         db.savingGoalDao().getSavingGoalByName(userId, walletId, goalName);
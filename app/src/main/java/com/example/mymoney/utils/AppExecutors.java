@@ -0,0 +1,218 @@
+package com.example.mymoney.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * App-wide background executors, shared by every screen instead of ad-hoc
+ * {@code new Thread(...)} / {@code Executors.newSingleThreadExecutor()} calls.
+ * <ul>
+ *   <li>{@link #diskIO()} – Room / file access</li>
+ *   <li>{@link #networkIO()} – backend, OCR and chatbot HTTP calls</li>
+ *   <li>{@link #computation()} – in-memory analysis (search, stats, rule engine)</li>
+ *   <li>{@link #mainThread()} – posts back to the UI thread</li>
+ *   <li>{@link #scheduler()} – timers only (deadlines, delays); never runs blocking work</li>
+ * </ul>
+ * Each pool has a fixed number of named threads; extra work waits in the queue, whose depth is
+ * tracked (see {@link #getStats()}). Pools live for the whole process and are never shut down.
+ * <p>
+ * Use {@link #execute(LifecycleOwner, ExecutorService, Runnable)} for screen loads so that
+ * queued work is dropped once the screen is destroyed. Writes the user asked for (save, delete)
+ * go to the plain pools: leaving the screen must not drop them.
+ */
+public final class AppExecutors {
+
+    private static final String TAG = "AppExecutors";
+
+    /** Log a warning when a pool's queue grows past this many waiting tasks. */
+    private static final int QUEUE_WARN_THRESHOLD = 32;
+
+    private static volatile AppExecutors instance;
+
+    private final MonitoredExecutor diskIO;
+    private final MonitoredExecutor networkIO;
+    private final MonitoredExecutor computation;
+    private final Executor mainThread;
+    private final ScheduledExecutorService scheduler;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private AppExecutors() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        // SQLite (WAL) allows a few concurrent readers alongside one writer
+        diskIO = new MonitoredExecutor("disk", 3, Process.THREAD_PRIORITY_BACKGROUND);
+        networkIO = new MonitoredExecutor("network", 4, Process.THREAD_PRIORITY_BACKGROUND);
+        computation = new MonitoredExecutor("compute", Math.max(2, Math.min(cpus - 1, 4)),
+                Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_LESS_FAVORABLE);
+        mainThread = mainHandler::post;
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                new NamedThreadFactory("timer", Process.THREAD_PRIORITY_BACKGROUND));
+        // Deadlines are usually cancelled long before they fire; don't keep them queued
+        timer.setRemoveOnCancelPolicy(true);
+        scheduler = timer;
+    }
+
+    public static AppExecutors getInstance() {
+        if (instance == null) {
+            synchronized (AppExecutors.class) {
+                if (instance == null) {
+                    instance = new AppExecutors();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public ExecutorService diskIO() {
+        return diskIO;
+    }
+
+    public ExecutorService networkIO() {
+        return networkIO;
+    }
+
+    public ExecutorService computation() {
+        return computation;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Runs {@code task} on {@code pool} and cancels it when {@code owner} is destroyed.
+     * A task that has not started yet is dropped; a running task is left to finish (Room
+     * calls are not interruptible), so UI callbacks should still check that the screen is alive.
+     * Must be called on the main thread.
+     */
+    public Future<?> execute(@NonNull LifecycleOwner owner, @NonNull ExecutorService pool,
+                             @NonNull Runnable task) {
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            future.cancel(false);
+            return future;
+        }
+
+        LifecycleEventObserver observer = (source, event) -> {
+            if (event == Lifecycle.Event.ON_DESTROY) {
+                future.cancel(false);
+            }
+        };
+        lifecycle.addObserver(observer);
+
+        pool.execute(() -> {
+            try {
+                future.run();
+                reportFailure(future);
+            } finally {
+                mainHandler.post(() -> lifecycle.removeObserver(observer));
+            }
+        });
+        return future;
+    }
+
+    /** Shorthand for a lifecycle-scoped {@link #execute} on the disk pool (screen loads). */
+    public Future<?> diskIO(@NonNull LifecycleOwner owner, @NonNull Runnable task) {
+        return execute(owner, diskIO, task);
+    }
+
+    /** FutureTask swallows exceptions; log them so failures are not silent. */
+    private static void reportFailure(Future<?> future) {
+        if (future.isCancelled()) return;
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Background task failed", e.getCause());
+        } catch (CancellationException | InterruptedException ignored) {
+        }
+    }
+
+    /** One line per pool: threads, active, queued, peak queue, completed. */
+    public String getStats() {
+        return diskIO.stats() + "\n" + networkIO.stats() + "\n" + computation.stats();
+    }
+
+    public void logStats() {
+        Log.d(TAG, getStats());
+    }
+
+    /** Fixed-size pool with named threads and queue-depth tracking. */
+    private static final class MonitoredExecutor extends ThreadPoolExecutor {
+
+        private final String name;
+        private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+        MonitoredExecutor(String name, int threads, int priority) {
+            super(threads, threads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new NamedThreadFactory(name, priority));
+            this.name = name;
+            allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            super.execute(command);
+            int depth = getQueue().size();
+            int peak = peakQueueDepth.get();
+            while (depth > peak && !peakQueueDepth.compareAndSet(peak, depth)) {
+                peak = peakQueueDepth.get();
+            }
+            if (depth == QUEUE_WARN_THRESHOLD) {
+                Log.w(TAG, "Queue backlog on " + name + " pool: " + stats());
+            }
+        }
+
+        String stats() {
+            return name + ": threads=" + getPoolSize() + "/" + getMaximumPoolSize()
+                    + " active=" + getActiveCount()
+                    + " queued=" + getQueue().size()
+                    + " peakQueued=" + peakQueueDepth.get()
+                    + " completed=" + getCompletedTaskCount();
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final int priority;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        NamedThreadFactory(String name, int priority) {
+            this.prefix = "mymoney-" + name + "-";
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable r) {
+            return new Thread(() -> {
+                Process.setThreadPriority(priority);
+                r.run();
+            }, prefix + count.getAndIncrement());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import android.os.Looper;
 
 import androidx.appcompat.app.AlertDialog;
 
+import com.example.mymoney.budget.BudgetSpendCalculator;
 import com.example.mymoney.database.AppDatabase;
 import com.example.mymoney.database.dao.BudgetDao;
 import com.example.mymoney.database.dao.CategoryDao;
@@ -21,8 +22,8 @@ import java.util.Calendar;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Executors;
 
 /**
  * Helper class to check if a new expense will exceed any existing budget.
@@ -80,7 +81,7 @@ public class BudgetExceedHelper {
      */
     public static void checkAndConfirm(Context context, int categoryId, double amount,
                                        int walletId, int userId, BudgetCheckCallback callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             List<BudgetExceedInfo> exceededBudgets = checkBudgets(context, categoryId, amount, walletId, userId);
 
             new Handler(Looper.getMainLooper()).post(() -> {
@@ -121,6 +122,8 @@ public class BudgetExceedHelper {
         // 1. Check Database Budget entities
         // =====================================================
         List<Budget> budgets = budgetDao.getBudgetsByCategoryId(categoryId);
+        List<Budget> activeBudgets = new ArrayList<>();
+        List<long[]> spendRanges = new ArrayList<>();
 
         for (Budget budget : budgets) {
             // Check if budget is for the same wallet
@@ -129,8 +132,24 @@ public class BudgetExceedHelper {
             // Check if budget is still valid (within date range)
             if (!isBudgetActive(budget)) continue;
 
-            // Calculate current spending for this budget
-            double currentSpent = calculateCurrentSpent(transactionDao, budget, categoryId, walletId);
+            activeBudgets.add(budget);
+            spendRanges.add(resolveSpendRange(budget));
+        }
+
+        // Calculate current spending for all active budgets in one query
+        List<Budget> queriedBudgets = new ArrayList<>();
+        List<long[]> queriedRanges = new ArrayList<>();
+        for (int i = 0; i < activeBudgets.size(); i++) {
+            if (spendRanges.get(i) != null) {
+                queriedBudgets.add(activeBudgets.get(i));
+                queriedRanges.add(spendRanges.get(i));
+            }
+        }
+        Map<Integer, Double> spentByBudget =
+                new BudgetSpendCalculator(db).calculate(queriedBudgets, queriedRanges);
+
+        for (Budget budget : activeBudgets) {
+            double currentSpent = spentByBudget.getOrDefault(budget.getId(), 0.0);
             double newTotal = currentSpent + amount;
 
             if (newTotal > budget.getBudgetAmount()) {
@@ -176,8 +195,11 @@ public class BudgetExceedHelper {
         }
     }
 
-    private static double calculateCurrentSpent(TransactionDao transactionDao, Budget budget,
-                                                int categoryId, int walletId) {
+    /**
+     * Period used for the exceed check: the budget's own start/end dates (end day inclusive),
+     * or the current month up to now when the budget has no dates. Null if the dates are invalid.
+     */
+    private static long[] resolveSpendRange(Budget budget) {
         try {
             String startDateStr = budget.getStartDate();
             String endDateStr = budget.getEndDate();
@@ -190,17 +212,13 @@ public class BudgetExceedHelper {
                 cal.set(Calendar.MINUTE, 0);
                 cal.set(Calendar.SECOND, 0);
                 cal.set(Calendar.MILLISECOND, 0);
-                long startOfMonth = cal.getTimeInMillis();
-
-                return transactionDao.getTotalExpenseBetweenForWalletAndCategory(
-                        startOfMonth, System.currentTimeMillis(), walletId, categoryId
-                );
+                return new long[]{cal.getTimeInMillis(), System.currentTimeMillis()};
             }
 
             java.util.Date startDate = dateFormat.parse(startDateStr);
             java.util.Date endDate = dateFormat.parse(endDateStr);
 
-            if (startDate == null || endDate == null) return 0;
+            if (startDate == null || endDate == null) return null;
 
             // Extend end date to include the whole day (23:59:59.999)
             Calendar endCal = Calendar.getInstance();
@@ -210,12 +228,10 @@ public class BudgetExceedHelper {
             endCal.set(Calendar.SECOND, 59);
             endCal.set(Calendar.MILLISECOND, 999);
 
-            return transactionDao.getTotalExpenseBetweenForWalletAndCategory(
-                    startDate.getTime(), endCal.getTimeInMillis(), walletId, categoryId
-            );
+            return new long[]{startDate.getTime(), endCal.getTimeInMillis()};
         } catch (Exception e) {
-            android.util.Log.e("BudgetExceedHelper", "Error calculating spent: " + e.getMessage());
-            return 0;
+            android.util.Log.e("BudgetExceedHelper", "Error resolving budget period: " + e.getMessage());
+            return null;
         }
     }
 
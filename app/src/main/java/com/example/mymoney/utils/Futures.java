@@ -0,0 +1,73 @@
+package com.example.mymoney.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * {@link CompletableFuture} helpers for the chatbot pipeline (minSdk 27 has no
+ * {@code orTimeout} / {@code completeOnTimeout}).
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Enqueues {@code call} on the shared OkHttp dispatcher. If the future is completed first
+     * (cancelled, or failed by a {@link #withDeadline deadline}), the call is cancelled too.
+     */
+    public static <T> CompletableFuture<Response<T>> enqueue(@NonNull Call<T> call) {
+        CompletableFuture<Response<T>> future = new CompletableFuture<>();
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@NonNull Call<T> c, @NonNull Response<T> response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<T> c, @NonNull Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((response, error) -> {
+            if (error != null) call.cancel();  // no-op if the call already finished
+        });
+        return future;
+    }
+
+    /**
+     * Fails {@code future} with a {@link TimeoutException} if it has not completed within
+     * {@code timeoutMs}. Returns the same future.
+     */
+    public static <T> CompletableFuture<T> withDeadline(@NonNull CompletableFuture<T> future,
+                                                        long timeoutMs, @NonNull String stage) {
+        ScheduledFuture<?> timer = AppExecutors.getInstance().scheduler().schedule(
+                () -> future.completeExceptionally(
+                        new TimeoutException(stage + " timed out after " + timeoutMs + " ms")),
+                timeoutMs, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> timer.cancel(false));
+        return future;
+    }
+
+    /** The cause of a failed stage, without CompletableFuture's {@link CompletionException} wrapper. */
+    public static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    public static boolean isCancellation(Throwable error) {
+        return unwrap(error) instanceof CancellationException;
+    }
+}
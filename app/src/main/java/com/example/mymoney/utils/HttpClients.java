@@ -0,0 +1,112 @@
+package com.example.mymoney.utils;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * The app's single HTTP stack: one {@link OkHttpClient} (connection pool, dispatcher, threads)
+ * shared by the chatbot, query parser and receipt OCR backends.
+ * <ul>
+ *   <li>HTTP/2 is negotiated over TLS when the backend supports it (HTTP/1.1 otherwise)</li>
+ *   <li>responses are gzip-compressed transparently (OkHttp sends Accept-Encoding: gzip)</li>
+ *   <li>each endpoint gets its own {@link Timeouts} through a derived client that still shares
+ *       the pool and dispatcher</li>
+ *   <li>every call is timed by {@link HttpLatencyInterceptor}, see {@link #getStats()}</li>
+ * </ul>
+ * Retrofit services are created once per (base URL, interface, timeouts) and cached.
+ */
+public final class HttpClients {
+
+    /** Per-endpoint timeouts in seconds (0 = no limit, OkHttp's convention). */
+    public static final class Timeouts {
+        final int connectSeconds;
+        final int readSeconds;
+        final int writeSeconds;
+        final int callSeconds;
+
+        public Timeouts(int connectSeconds, int readSeconds, int writeSeconds, int callSeconds) {
+            this.connectSeconds = connectSeconds;
+            this.readSeconds = readSeconds;
+            this.writeSeconds = writeSeconds;
+            this.callSeconds = callSeconds;
+        }
+
+        String key() {
+            return connectSeconds + "/" + readSeconds + "/" + writeSeconds + "/" + callSeconds;
+        }
+    }
+
+    private static volatile HttpClients instance;
+
+    private final OkHttpClient baseClient;
+    private final HttpLatencyInterceptor latencyInterceptor = new HttpLatencyInterceptor();
+    private final GsonConverterFactory gsonConverterFactory = GsonConverterFactory.create(new Gson());
+    private final Map<String, OkHttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, Object> services = new ConcurrentHashMap<>();
+
+    private HttpClients() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(32);
+        // The app talks to one or two hosts; allow a few more parallel calls than the default 5
+        dispatcher.setMaxRequestsPerHost(8);
+
+        baseClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(8, 5, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .retryOnConnectionFailure(true)
+                .addInterceptor(latencyInterceptor)
+                .build();
+    }
+
+    public static HttpClients getInstance() {
+        if (instance == null) {
+            synchronized (HttpClients.class) {
+                if (instance == null) {
+                    instance = new HttpClients();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /** Client with the given timeouts, sharing the connection pool, dispatcher and interceptors. */
+    public OkHttpClient client(@NonNull Timeouts timeouts) {
+        return clients.computeIfAbsent(timeouts.key(), k -> baseClient.newBuilder()
+                .connectTimeout(timeouts.connectSeconds, TimeUnit.SECONDS)
+                .readTimeout(timeouts.readSeconds, TimeUnit.SECONDS)
+                .writeTimeout(timeouts.writeSeconds, TimeUnit.SECONDS)
+                .callTimeout(timeouts.callSeconds, TimeUnit.SECONDS)
+                .build());
+    }
+
+    /** Cached Retrofit implementation of {@code api} for {@code baseUrl}. */
+    @SuppressWarnings("unchecked")
+    public <T> T service(@NonNull String baseUrl, @NonNull Class<T> api, @NonNull Timeouts timeouts) {
+        String key = api.getName() + "@" + baseUrl + "#" + timeouts.key();
+        return (T) services.computeIfAbsent(key, k -> new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client(timeouts))
+                .addConverterFactory(gsonConverterFactory)
+                .build()
+                .create(api));
+    }
+
+    /** Per-endpoint latency histograms of every call made through the shared client. */
+    public String getStats() {
+        return latencyInterceptor.getStats();
+    }
+}
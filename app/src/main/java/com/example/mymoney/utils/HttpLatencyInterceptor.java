@@ -0,0 +1,97 @@
+package com.example.mymoney.utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records per-endpoint ("POST /generate") call latency as a histogram.
+ * <p>
+ * Installed as an application interceptor on the shared client ({@link HttpClients}), so a
+ * sample covers the whole call including retries and redirects, up to the response headers
+ * (the body of a streamed response is read later by the caller).
+ */
+public final class HttpLatencyInterceptor implements Interceptor {
+
+    private static final String TAG = "HttpLatency";
+
+    /** Upper bounds (ms) of the histogram buckets; the last bucket is open-ended. */
+    private static final long[] BUCKETS_MS = {100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = request.method() + " " + request.url().encodedPath();
+        // System.nanoTime rather than SystemClock: monotonic too, and runs in JVM unit tests
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = chain.proceed(request);
+            failed = !response.isSuccessful();
+            return response;
+        } finally {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            histograms.computeIfAbsent(endpoint, k -> new Histogram()).record(elapsed, failed);
+            Log.d(TAG, endpoint + ": " + elapsed + " ms" + (failed ? " (failed)" : ""));
+        }
+    }
+
+    /**
+     * One line per endpoint: count, failures, average, max and the bucket counts, e.g.
+     * {@code POST /parse: n=12 err=1 avg=640 max=2100 ms [≤100:0 ≤250:2 ≤500:5 ...]}
+     */
+    public String getStats() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            if (sb.length() > 0) sb.append('\n');
+            sb.append(entry.getKey()).append(": ");
+            entry.getValue().appendTo(sb);
+        }
+        return sb.toString();
+    }
+
+    private static final class Histogram {
+        final int[] counts = new int[BUCKETS_MS.length + 1];
+        int count;
+        int failures;
+        long totalMs;
+        long maxMs;
+
+        synchronized void record(long elapsedMs, boolean failed) {
+            int bucket = 0;
+            while (bucket < BUCKETS_MS.length && elapsedMs > BUCKETS_MS[bucket]) bucket++;
+            counts[bucket]++;
+            count++;
+            if (failed) failures++;
+            totalMs += elapsedMs;
+            maxMs = Math.max(maxMs, elapsedMs);
+        }
+
+        synchronized void appendTo(StringBuilder sb) {
+            sb.append("n=").append(count)
+                    .append(" err=").append(failures)
+                    .append(" avg=").append(count > 0 ? totalMs / count : 0)
+                    .append(" max=").append(maxMs)
+                    .append(" ms [");
+            for (int i = 0; i < counts.length; i++) {
+                if (i > 0) sb.append(' ');
+                sb.append(i < BUCKETS_MS.length ? "≤" + BUCKETS_MS[i] : ">" + BUCKETS_MS[BUCKETS_MS.length - 1])
+                        .append(':').append(counts[i]);
+            }
+            sb.append(']');
+        }
+    }
+}
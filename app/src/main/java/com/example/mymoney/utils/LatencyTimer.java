@@ -0,0 +1,82 @@
+package com.example.mymoney.utils;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures user-visible latencies (e.g. "home.cold_start": fragment created → first render).
+ * {@link #start} marks the beginning of an event, {@link #stop} logs the elapsed time and adds it
+ * to per-event stats (count / last / average / max), readable through {@link #getStats()}.
+ */
+public final class LatencyTimer {
+
+    private static final String TAG = "LatencyTimer";
+
+    private static final Map<String, Long> started = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private LatencyTimer() {
+    }
+
+    /** Starts (or restarts) timing {@code event}. */
+    public static void start(@NonNull String event) {
+        started.put(event, SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * Stops timing {@code event} and records it.
+     *
+     * @return elapsed ms, or -1 if the event was not started
+     */
+    public static long stop(@NonNull String event) {
+        Long startedAt = started.remove(event);
+        if (startedAt == null) return -1;
+
+        long elapsed = SystemClock.elapsedRealtime() - startedAt;
+        record(event, elapsed);
+        return elapsed;
+    }
+
+    /** Records a latency measured elsewhere (e.g. across threads, where start/stop would race). */
+    public static void record(@NonNull String event, long elapsedMs) {
+        Stats s = stats.computeIfAbsent(event, k -> new Stats());
+        synchronized (s) {
+            s.count++;
+            s.totalMs += elapsedMs;
+            s.lastMs = elapsedMs;
+            s.maxMs = Math.max(s.maxMs, elapsedMs);
+        }
+        Log.d(TAG, event + ": " + elapsedMs + " ms");
+    }
+
+    /** One line per event: count, last, average and max in ms. */
+    public static String getStats() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            Stats s = entry.getValue();
+            synchronized (s) {
+                if (sb.length() > 0) sb.append('\n');
+                sb.append(entry.getKey())
+                        .append(": n=").append(s.count)
+                        .append(" last=").append(s.lastMs)
+                        .append(" avg=").append(s.count > 0 ? s.totalMs / s.count : 0)
+                        .append(" max=").append(s.maxMs)
+                        .append(" ms");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class Stats {
+        int count;
+        long totalMs;
+        long lastMs;
+        long maxMs;
+    }
+}
@@ -19,7 +19,6 @@ import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
 import java.util.Random;
-import java.util.concurrent.Executors;
 
 /**
  * Generates test data for budgets, expenses, and income to test the spending pattern analyzer
@@ -94,7 +93,7 @@ public class TestDataGenerator {
      * @param excludeCurrentMonth if true, only generates data up to last month (useful for testing)
      */
     public void generateTestData(int userId, int walletId, boolean excludeCurrentMonth, GeneratorCallback callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 Log.d(TAG, "Starting test data generation for user: " + userId + ", wallet: " + walletId + ", excludeCurrentMonth: " + excludeCurrentMonth);
 
@@ -134,8 +133,8 @@ public class TestDataGenerator {
                 // Step 3: Generate budgets
                 int budgetCount = generateBudgets(userId, walletId);
 
-                // Step 4: Recalculate and update wallet balance
-                double newBalance = recalculateWalletBalance(walletId);
+                // Step 4: Wallet balance already includes the new transactions (maintained by triggers)
+                double newBalance = walletDao.getWalletById(walletId).getBalance();
                 Log.d(TAG, "Wallet balance updated to: " + newBalance);
 
                 // Get wallet currency
@@ -467,12 +466,12 @@ public class TestDataGenerator {
             }
         }
 
-        // Insert all transactions
-        for (Transaction t : transactions) {
-            transactionDao.insert(t);
-        }
+        // Insert all transactions in one batch (single SQLite transaction)
+        long insertStart = System.currentTimeMillis();
+        transactionDao.insertAll(transactions);
 
-        Log.d(TAG, "Generated " + transactions.size() + " transactions");
+        Log.d(TAG, "Generated " + transactions.size() + " transactions, batch insert took "
+                + (System.currentTimeMillis() - insertStart) + " ms");
         return transactions.size();
     }
 
@@ -698,54 +697,14 @@ public class TestDataGenerator {
         return entertainment[random.nextInt(entertainment.length)];
     }
 
-    /**
-     * Recalculate wallet balance based on all transactions
-     */
-    private double recalculateWalletBalance(int walletId) {
-        Wallet wallet = walletDao.getWalletById(walletId);
-        if (wallet == null) {
-            Log.e(TAG, "Wallet not found: " + walletId);
-            return 0;
-        }
-
-        // Get all transactions for this wallet
-        List<Transaction> transactions = transactionDao.getTransactionsByWalletId(walletId);
-
-        double totalIncome = 0;
-        double totalExpense = 0;
-
-        for (Transaction t : transactions) {
-            if ("income".equals(t.getType())) {
-                totalIncome += t.getAmount();
-            } else if ("expense".equals(t.getType())) {
-                totalExpense += t.getAmount();
-            }
-        }
-
-        double newBalance = totalIncome - totalExpense;
-
-        // Update wallet balance using entity update for better reliability
-        wallet.setBalance(newBalance);
-        wallet.setUpdatedAt(System.currentTimeMillis());
-        walletDao.update(wallet);
-
-        Log.d(TAG, String.format("Wallet %d balance recalculated: Income=%.0f, Expense=%.0f, Balance=%.0f",
-                walletId, totalIncome, totalExpense, newBalance));
-
-        return newBalance;
-    }
-
     /**
      * Clear all test data for a wallet
      */
     public void clearTestData(int walletId, GeneratorCallback callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
-                // Delete all transactions for this wallet
-                List<Transaction> transactions = transactionDao.getTransactionsByWalletId(walletId);
-                for (Transaction t : transactions) {
-                    transactionDao.delete(t);
-                }
+                // Delete all transactions for this wallet (the balance returns to its opening value)
+                transactionDao.deleteByWalletId(walletId);
 
                 // Delete all budgets for this wallet
                 List<Budget> budgets = budgetDao.getBudgetsByWalletId(walletId);
@@ -753,14 +712,6 @@ public class TestDataGenerator {
                     budgetDao.delete(b);
                 }
 
-                // Reset wallet balance to 0 using entity update
-                Wallet wallet = walletDao.getWalletById(walletId);
-                if (wallet != null) {
-                    wallet.setBalance(0);
-                    wallet.setUpdatedAt(System.currentTimeMillis());
-                    walletDao.update(wallet);
-                }
-
                 callback.onComplete("✅ Đã xóa tất cả dữ liệu test cho ví này.\n\n⚠️ Hãy quay lại Home để xem số dư cập nhật.");
 
             } catch (Exception e) {
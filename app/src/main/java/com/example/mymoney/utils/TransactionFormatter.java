@@ -0,0 +1,155 @@
+package com.example.mymoney.utils;
+
+import android.util.LongSparseArray;
+
+import androidx.annotation.NonNull;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Day grouping and display strings for transaction lists, without per-row allocations.
+ * <p>
+ * Days are local epoch days (same arithmetic as
+ * {@link com.example.mymoney.database.TransactionRollups#localEpochDay(long)}), so grouping
+ * compares longs instead of formatted date keys. Formatters are created once, and formatted
+ * strings are cached (per day, per minute, per amount) so rebinding a row returns the same String.
+ * <p>
+ * Instances are not thread-safe: use {@link #get()} for the calling thread's instance.
+ * Caches are dropped when the default locale changes, or when {@link #syncTimeZone()} sees a
+ * new default time zone (checking it allocates, so it is not done per row).
+ */
+public final class TransactionFormatter {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final long MINUTE_MS = 60L * 1000;
+
+    /** Each cache is cleared once it grows past this many entries. */
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private static final ThreadLocal<TransactionFormatter> INSTANCE =
+            ThreadLocal.withInitial(TransactionFormatter::new);
+
+    private Locale locale;
+    private TimeZone timeZone;
+    private ZoneId zoneId;
+    private DateTimeFormatter dayFormat;
+    private DateTimeFormatter fullDayFormat;
+    private DateTimeFormatter dateTimeFormat;
+    private DecimalFormat amountFormat;
+
+    private final LongSparseArray<String> dayLabels = new LongSparseArray<>();
+    private final LongSparseArray<String> fullDayLabels = new LongSparseArray<>();
+    private final LongSparseArray<String> dateTimes = new LongSparseArray<>();
+    // currency -> signed amount bits -> "-1,234.00 VND"
+    private final Map<String, LongSparseArray<String>> amounts = new HashMap<>();
+
+    private TransactionFormatter() {
+        refresh();
+    }
+
+    /** The calling thread's formatter. */
+    public static TransactionFormatter get() {
+        TransactionFormatter formatter = INSTANCE.get();
+        if (!Locale.getDefault().equals(formatter.locale)) {
+            formatter.refresh();
+        }
+        return formatter;
+    }
+
+    /** Picks up a changed default time zone; call once per batch (e.g. per screen load). */
+    public TransactionFormatter syncTimeZone() {
+        if (!TimeZone.getDefault().hasSameRules(timeZone)) {
+            refresh();
+        }
+        return this;
+    }
+
+    /** Local epoch day of a timestamp. */
+    public long epochDay(long millis) {
+        return Math.floorDiv(millis + timeZone.getOffset(millis), DAY_MS);
+    }
+
+    /** "EEE, dd/MM" for a local epoch day, e.g. "Mon, 03/11". */
+    public String dayLabel(long epochDay) {
+        String label = dayLabels.get(epochDay);
+        if (label == null) {
+            label = dayFormat.format(LocalDate.ofEpochDay(epochDay));
+            put(dayLabels, epochDay, label);
+        }
+        return label;
+    }
+
+    /** "EEEE, MMMM dd, yyyy" for a local epoch day. */
+    public String fullDayLabel(long epochDay) {
+        String label = fullDayLabels.get(epochDay);
+        if (label == null) {
+            label = fullDayFormat.format(LocalDate.ofEpochDay(epochDay));
+            put(fullDayLabels, epochDay, label);
+        }
+        return label;
+    }
+
+    /** "dd/MM/yyyy HH:mm" for a timestamp. */
+    public String dateTime(long millis) {
+        long minute = Math.floorDiv(millis, MINUTE_MS);
+        String text = dateTimes.get(minute);
+        if (text == null) {
+            text = dateTimeFormat.format(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(minute * MINUTE_MS), zoneId));
+            put(dateTimes, minute, text);
+        }
+        return text;
+    }
+
+    /** "-1,234.00 VND" for an expense, "+1,234.00 VND" otherwise (same output as "%,.2f"). */
+    public String amount(double amount, boolean expense, @NonNull String currency) {
+        LongSparseArray<String> cache = amounts.get(currency);
+        if (cache == null) {
+            cache = new LongSparseArray<>();
+            amounts.put(currency, cache);
+        }
+
+        long key = Double.doubleToLongBits(expense ? -amount : amount);
+        String text = cache.get(key);
+        if (text == null) {
+            text = (expense ? "-" : "+") + amountFormat.format(amount) + " " + currency;
+            put(cache, key, text);
+        }
+        return text;
+    }
+
+    private void refresh() {
+        locale = Locale.getDefault();
+        timeZone = TimeZone.getDefault();
+        zoneId = timeZone.toZoneId();
+        dayFormat = DateTimeFormatter.ofPattern("EEE, dd/MM", locale);
+        fullDayFormat = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy", locale);
+        dateTimeFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", locale);
+        amountFormat = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(locale));
+        // DecimalFormat defaults to HALF_EVEN; "%,.2f" rounds half up
+        amountFormat.setRoundingMode(RoundingMode.HALF_UP);
+
+        dayLabels.clear();
+        fullDayLabels.clear();
+        dateTimes.clear();
+        amounts.clear();
+    }
+
+    private static void put(LongSparseArray<String> cache, long key, String value) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+}
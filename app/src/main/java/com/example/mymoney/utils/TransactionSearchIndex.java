@@ -0,0 +1,83 @@
+package com.example.mymoney.utils;
+
+import androidx.annotation.NonNull;
+
+import com.example.mymoney.database.CategoryCache;
+import com.example.mymoney.database.entity.Category;
+import com.example.mymoney.database.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Precomputed search text for the history screen.
+ * <p>
+ * Built once per data load: each transaction gets one lowercase string holding its description,
+ * whole amount and category name, so a keystroke is a plain {@code contains} scan with no
+ * per-row lowercasing, formatting or category lookups.
+ */
+public final class TransactionSearchIndex {
+
+    /** Polled while scanning so a newer keystroke can abort an older search. */
+    public interface CancellationSignal {
+        boolean isCancelled();
+    }
+
+    private static final char SEPARATOR = '\u0000';
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final List<Transaction> transactions;
+    private final String[] haystacks;
+
+    private TransactionSearchIndex(List<Transaction> transactions, String[] haystacks) {
+        this.transactions = transactions;
+        this.haystacks = haystacks;
+    }
+
+    /**
+     * @param categoryCache must already be loaded
+     */
+    public static TransactionSearchIndex build(@NonNull List<Transaction> transactions,
+                                               @NonNull CategoryCache categoryCache) {
+        String[] haystacks = new String[transactions.size()];
+        StringBuilder sb = new StringBuilder(64);
+
+        for (int i = 0; i < haystacks.length; i++) {
+            Transaction t = transactions.get(i);
+            sb.setLength(0);
+            if (t.getDescription() != null) {
+                sb.append(t.getDescription());
+            }
+            sb.append(SEPARATOR).append((int) t.getAmount()).append(SEPARATOR);
+            Category category = categoryCache.get(t.getCategoryId());
+            if (category != null && category.getName() != null) {
+                sb.append(category.getName());
+            }
+            haystacks[i] = sb.toString().toLowerCase(Locale.getDefault());
+        }
+        return new TransactionSearchIndex(transactions, haystacks);
+    }
+
+    public int size() {
+        return haystacks.length;
+    }
+
+    /**
+     * @return matching transactions in index order, or null if cancelled
+     */
+    public List<Transaction> search(@NonNull String query, @NonNull CancellationSignal signal) {
+        String needle = query.toLowerCase(Locale.getDefault());
+        List<Transaction> result = new ArrayList<>();
+
+        for (int i = 0; i < haystacks.length; i++) {
+            if ((i % CANCEL_CHECK_INTERVAL) == 0 && signal.isCancelled()) {
+                return null;
+            }
+            if (haystacks[i].contains(needle)) {
+                result.add(transactions.get(i));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.mymoney.viewmodel;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.mymoney.budget.BudgetNotificationService;
+import com.example.mymoney.budget.BudgetRuleEngine;
+import com.example.mymoney.budget.BudgetSpendCalculator;
+import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.TableVersions;
+import com.example.mymoney.database.entity.Budget;
+import com.example.mymoney.database.entity.Category;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Budget screen state: the wallet's budgets, the amount spent against each one and the
+ * category names shown on the cards. Query is the selected wallet id (0 or -1: all budgets).
+ */
+public class BudgetViewModel extends ScreenStateViewModel<Integer, BudgetViewModel.State> {
+
+    private static final String TAG = "BudgetViewModel";
+
+    public static final class State {
+        public final List<Budget> budgets;
+        public final Map<Integer, Double> spentAmounts;
+        public final Map<Integer, String> categoryNames;
+
+        State(List<Budget> budgets, Map<Integer, Double> spentAmounts, Map<Integer, String> categoryNames) {
+            this.budgets = budgets;
+            this.spentAmounts = spentAmounts;
+            this.categoryNames = categoryNames;
+        }
+    }
+
+    private final BudgetNotificationService notificationService;
+
+    public BudgetViewModel(@NonNull Application application) {
+        super(application, TableVersions.BUDGET, TableVersions.DAILY_TOTAL, TableVersions.CATEGORY);
+        notificationService = new BudgetNotificationService(application);
+    }
+
+    @Override
+    protected State compute(@NonNull Integer walletId) {
+        AppDatabase db = getDatabase();
+
+        // Load budgets for current wallet
+        List<Budget> budgets;
+        if (walletId > 0) {
+            budgets = db.budgetDao().getBudgetsByWalletId(walletId);
+        } else {
+            budgets = db.budgetDao().getAllBudgets();
+        }
+
+        // Pre-calculate expenses for all budgets in one query (filtered by wallet and category)
+        Map<Integer, Double> expensesMap = new BudgetSpendCalculator(db).calculate(budgets);
+        Log.d(TAG, "Spent amounts for " + budgets.size() + " budgets: " + expensesMap);
+
+        // Run rule-based analysis and check for notifications (only when the data changed)
+        if (!budgets.isEmpty()) {
+            BudgetRuleEngine.BudgetAnalysisResult analysisResult =
+                    BudgetRuleEngine.analyzeBudgets(budgets, expensesMap);
+            notificationService.checkAndNotify(analysisResult);
+        }
+
+        // Build category names map for display
+        Map<Integer, String> categoryNamesMap = new HashMap<>();
+        for (Category category : db.categoryDao().getAllCategories()) {
+            categoryNamesMap.put(category.getId(), category.getName());
+        }
+
+        return new State(budgets, expensesMap, categoryNamesMap);
+    }
+}
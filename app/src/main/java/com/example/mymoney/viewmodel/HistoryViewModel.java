@@ -0,0 +1,195 @@
+package com.example.mymoney.viewmodel;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.CategoryCache;
+import com.example.mymoney.database.TableVersions;
+import com.example.mymoney.database.TransactionFilter;
+import com.example.mymoney.database.entity.Transaction;
+import com.example.mymoney.paging.PageList;
+import com.example.mymoney.paging.TransactionPager;
+import com.example.mymoney.utils.AppExecutors;
+import com.example.mymoney.utils.TransactionSearchIndex;
+
+import java.util.List;
+
+/**
+ * History screen state: the keyset-paged list for the current filter, or search results.
+ * <p>
+ * The pages held by the pager (at most {@link TransactionPager#MAX_PAGES}, around the scroll
+ * position) are kept here (the ViewModel is activity-scoped), so coming back to the tab re-renders
+ * them without a query unless the filter changed or transactions were written; pages dropped
+ * from the top are reloaded when the list is scrolled back up.
+ * The search index is built once per wallet/user and data version.
+ */
+public class HistoryViewModel extends AndroidViewModel {
+
+    private static final String TAG = "HistoryViewModel";
+    private static final String[] TABLES = {TableVersions.TRANSACTION, TableVersions.CATEGORY};
+
+    /** Immutable snapshot of the list; a new one is emitted for every page or search result. */
+    public static final class ListState {
+        public final List<Transaction> items;
+
+        ListState(List<Transaction> items) {
+            this.items = items;
+        }
+    }
+
+    private final MutableLiveData<ListState> transactions = new MutableLiveData<>();
+    private final TransactionPager pager;
+    // Pages held for the current filter; each snapshot shares the pages of the previous one
+    private PageList<Transaction> loaded = PageList.empty();
+
+    private TransactionFilter loadedFilter;
+    private long loadedVersion = -1;
+    private boolean searching = false;
+    private volatile int searchGeneration = 0;
+
+    // Search index for (wallet, user, data version); loaded and built on demand on the disk pool
+    private TransactionSearchIndex searchIndex;
+    private String searchIndexKey;
+
+    public HistoryViewModel(@NonNull Application application) {
+        super(application);
+        pager = new TransactionPager(pages -> {
+            loaded = pages;
+            transactions.setValue(new ListState(loaded));
+        });
+    }
+
+    public LiveData<ListState> getTransactions() {
+        return transactions;
+    }
+
+    /** Emits whenever transactions or categories are written. */
+    public LiveData<Long> dataChanges() {
+        return versions().observe(TABLES);
+    }
+
+    /** Filter of the current paged list, to restore the filter dialog after a tab switch. */
+    @Nullable
+    public TransactionFilter getFilter() {
+        return loadedFilter;
+    }
+
+    /** Loads the next (or a dropped previous) page when {@code recyclerView} nears an end. */
+    public void attachTo(@NonNull RecyclerView recyclerView) {
+        pager.attachTo(recyclerView);
+    }
+
+    /**
+     * Shows the paged list for {@code filter}. Keeps the pages already loaded if the filter is
+     * the same and no transaction/category was written since. Main thread only.
+     */
+    public void loadTransactions(@NonNull TransactionFilter filter) {
+        long version = versions().getVersion(TABLES);
+        if (!searching && filter.equals(loadedFilter) && version == loadedVersion
+                && transactions.getValue() != null) {
+            Log.d(TAG, "Using cached pages: " + loaded.pageCount() + " pages, " + loaded.size() + " rows");
+            return;
+        }
+
+        searching = false;
+        searchGeneration++;
+        loadedFilter = filter;
+        loadedVersion = version;
+
+        AppDatabase db = getDatabase();
+        CategoryCache categoryCache = CategoryCache.getInstance(db);
+        pager.reset((cursorCreatedAt, cursorId, limit, newer) -> {
+            categoryCache.ensureLoaded();
+            return db.transactionDao().getTransactionsPage(newer
+                    ? filter.toNewerPageQuery(cursorCreatedAt, cursorId, limit)
+                    : filter.toPageQuery(cursorCreatedAt, cursorId, limit));
+        });
+    }
+
+    /**
+     * Replaces the list with the rows matching {@code query} (description, amount or category).
+     * A newer call, {@link #cancelSearch()} or {@link #loadTransactions} supersedes it. Main thread only.
+     */
+    public void search(@NonNull String query, int walletId, int userId) {
+        searching = true;
+        pager.cancel();
+        final int generation = ++searchGeneration;
+        final long version = versions().getVersion(TABLES);
+
+        // Index load reads the database: disk pool; matching is in-memory: computation pool
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            TransactionSearchIndex index;
+            try {
+                index = getSearchIndex(walletId, userId, version);
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading search index", e);
+                return;
+            }
+            if (generation != searchGeneration) return;
+
+            AppExecutors.getInstance().computation().execute(() -> {
+                try {
+                    List<Transaction> filtered = index.search(query.trim(),
+                            () -> generation != searchGeneration);
+                    if (filtered == null) return; // superseded by a newer query
+
+                    AppExecutors.getInstance().mainThread().execute(() -> {
+                        if (generation == searchGeneration) {
+                            transactions.setValue(new ListState(filtered));
+                        }
+                    });
+                } catch (Exception e) {
+                    Log.e(TAG, "Error searching transactions", e);
+                }
+            });
+        });
+    }
+
+    /** Drops the search still running, if any. */
+    public void cancelSearch() {
+        searchGeneration++;
+    }
+
+    private synchronized TransactionSearchIndex getSearchIndex(int walletId, int userId, long version) {
+        String key = walletId + ":" + userId + ":" + version;
+        if (searchIndex != null && key.equals(searchIndexKey)) return searchIndex;
+
+        AppDatabase db = getDatabase();
+        CategoryCache categoryCache = CategoryCache.getInstance(db);
+        categoryCache.ensureLoaded();
+
+        long start = System.currentTimeMillis();
+        List<Transaction> all = walletId == -1
+                ? db.transactionDao().getTransactionsByUserId(userId)
+                : db.transactionDao().getTransactionsByWalletId(walletId);
+        TransactionSearchIndex index = TransactionSearchIndex.build(all, categoryCache);
+        Log.d(TAG, "Search index built: " + index.size() + " rows in "
+                + (System.currentTimeMillis() - start) + " ms");
+
+        searchIndex = index;
+        searchIndexKey = key;
+        return index;
+    }
+
+    private AppDatabase getDatabase() {
+        return AppDatabase.getInstance(getApplication());
+    }
+
+    private TableVersions versions() {
+        return TableVersions.getInstance(getDatabase());
+    }
+
+    @Override
+    protected void onCleared() {
+        pager.shutdown();
+        searchGeneration++;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.mymoney.viewmodel;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+import com.example.mymoney.database.DashboardRepository;
+import com.example.mymoney.database.TableVersions;
+
+import java.util.Objects;
+
+/**
+ * Home screen state: wallet balance, expense/income totals for the selected period,
+ * the first saving goals and the most recent days of transactions
+ * (one {@link DashboardRepository.Snapshot}).
+ */
+public class HomeViewModel extends ScreenStateViewModel<HomeViewModel.Query, DashboardRepository.Snapshot> {
+
+    private static final int RECENT_DAY_GROUPS = 5;
+
+    public enum Period { TODAY, THIS_WEEK, THIS_MONTH, THIS_YEAR, CUSTOM }
+
+    // Selected period: kept here so a tab switch comes back to it (and to the cached query)
+    private Period period = Period.THIS_MONTH;
+    private long customStartDate = 0;
+    private long customEndDate = 0;
+
+    public static final class Query {
+        final int userId;
+        final int walletId;   // -1: pick the user's first active wallet
+        final long startDate;
+        final long endDate;
+
+        public Query(int userId, int walletId, long startDate, long endDate) {
+            this.userId = userId;
+            this.walletId = walletId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Query)) return false;
+            Query other = (Query) o;
+            return userId == other.userId && walletId == other.walletId
+                    && startDate == other.startDate && endDate == other.endDate;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, walletId, startDate, endDate);
+        }
+    }
+
+    public HomeViewModel(@NonNull Application application) {
+        super(application, TableVersions.TRANSACTION, TableVersions.DAILY_TOTAL, TableVersions.WALLET,
+                TableVersions.SAVING_GOAL, TableVersions.CATEGORY);
+    }
+
+    public Period getPeriod() {
+        return period;
+    }
+
+    public long getCustomStartDate() {
+        return customStartDate;
+    }
+
+    public long getCustomEndDate() {
+        return customEndDate;
+    }
+
+    public void setPeriod(@NonNull Period period) {
+        this.period = period;
+    }
+
+    public void setCustomRange(long startDate, long endDate) {
+        this.period = Period.CUSTOM;
+        this.customStartDate = startDate;
+        this.customEndDate = endDate;
+    }
+
+    @Override
+    protected DashboardRepository.Snapshot compute(@NonNull Query query) {
+        return new DashboardRepository(getDatabase())
+                .load(query.userId, query.walletId, query.startDate, query.endDate, RECENT_DAY_GROUPS);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.mymoney.viewmodel;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.TableVersions;
+import com.example.mymoney.utils.AppExecutors;
+
+/**
+ * Base for the tab screens' ViewModels: holds the last computed screen state and recomputes it
+ * (on the disk executor) only when the query changes or one of the observed tables is written.
+ * <p>
+ * ViewModels are scoped to the activity, so switching tabs or rotating re-renders the cached
+ * state without touching the database.
+ *
+ * @param <Q> query parameters (must implement equals)
+ * @param <S> computed screen state
+ */
+public abstract class ScreenStateViewModel<Q, S> extends AndroidViewModel {
+
+    private final String tag = getClass().getSimpleName();
+    private final String[] tables;
+    private final MutableLiveData<S> state = new MutableLiveData<>();
+
+    private Q loadedQuery;
+    private long loadedVersion = -1;
+    private int generation = 0;
+
+    protected ScreenStateViewModel(@NonNull Application application, @NonNull String... tables) {
+        super(application);
+        this.tables = tables;
+    }
+
+    public LiveData<S> getState() {
+        return state;
+    }
+
+    /** Query of the cached (or loading) state; lets a recreated fragment restore its inputs. */
+    @Nullable
+    public Q getQuery() {
+        return loadedQuery;
+    }
+
+    /** Emits whenever one of the tables this screen reads is written (see {@link TableVersions}). */
+    public LiveData<Long> dataChanges() {
+        return TableVersions.getInstance(getDatabase()).observe(tables);
+    }
+
+    /**
+     * Makes {@link #getState()} reflect {@code query}. Does nothing if the cached state was
+     * computed for the same query and no observed table changed since. Main thread only.
+     */
+    public void load(@NonNull Q query) {
+        long version = TableVersions.getInstance(getDatabase()).getVersion(tables);
+        if (state.getValue() != null && query.equals(loadedQuery) && version == loadedVersion) {
+            Log.d(tag, "Using cached state");
+            return;
+        }
+
+        loadedQuery = query;
+        loadedVersion = version;
+        final int requestGeneration = ++generation;
+
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            S result;
+            try {
+                result = compute(query);
+            } catch (Exception e) {
+                Log.e(tag, "Error computing state", e);
+                AppExecutors.getInstance().mainThread().execute(() -> {
+                    // Retry on the next load instead of serving a stale cache
+                    if (requestGeneration == generation) loadedVersion = -1;
+                });
+                return;
+            }
+            AppExecutors.getInstance().mainThread().execute(() -> {
+                if (requestGeneration == generation) {
+                    state.setValue(result);
+                }
+            });
+        });
+    }
+
+    protected AppDatabase getDatabase() {
+        return AppDatabase.getInstance(getApplication());
+    }
+
+    /** Computes the screen state; runs on a background thread. */
+    protected abstract S compute(@NonNull Q query) throws Exception;
+}
@@ -0,0 +1,106 @@
+package com.example.mymoney.viewmodel;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+import com.example.mymoney.CategoryTotal;
+import com.example.mymoney.MonthTotal;
+import com.example.mymoney.database.AppDatabase;
+import com.example.mymoney.database.StatsCache;
+import com.example.mymoney.database.TableVersions;
+import com.example.mymoney.database.TransactionRollups;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Statistics screen state: expenses by category for the selected date range (pie chart and
+ * top expenses) and expenses by month for the selected year (bar chart).
+ * <p>
+ * Both come from the precomputed monthly cache ({@link StatsCache}); only months written since the
+ * last background refresh are recomputed here. A range that does not cover whole months is read
+ * from the daily rollup instead.
+ */
+public class StatisticsViewModel extends ScreenStateViewModel<StatisticsViewModel.Query, StatisticsViewModel.State> {
+
+    public static final class Query {
+        public final int userId;
+        public final int walletId;
+        public final long startDate;
+        public final long endDate;
+        public final int year;
+
+        public Query(int userId, int walletId, long startDate, long endDate, int year) {
+            this.userId = userId;
+            this.walletId = walletId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.year = year;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Query)) return false;
+            Query other = (Query) o;
+            return userId == other.userId && walletId == other.walletId
+                    && startDate == other.startDate && endDate == other.endDate
+                    && year == other.year;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, walletId, startDate, endDate, year);
+        }
+    }
+
+    public static final class State {
+        public final List<CategoryTotal> categoryTotals;
+        public final List<MonthTotal> monthlyTotals;
+
+        State(List<CategoryTotal> categoryTotals, List<MonthTotal> monthlyTotals) {
+            this.categoryTotals = categoryTotals;
+            this.monthlyTotals = monthlyTotals;
+        }
+    }
+
+    public StatisticsViewModel(@NonNull Application application) {
+        super(application, TableVersions.DAILY_TOTAL, TableVersions.CATEGORY);
+    }
+
+    @Override
+    protected State compute(@NonNull Query query) {
+        AppDatabase db = getDatabase();
+        LocalDate start = LocalDate.ofEpochDay(TransactionRollups.localEpochDay(query.startDate));
+        LocalDate end = LocalDate.ofEpochDay(TransactionRollups.localEpochDay(query.endDate));
+
+        // Dữ liệu cho PieChart - wallet-specific
+        List<CategoryTotal> categoryTotals;
+        boolean wholeMonths = start.getDayOfMonth() == 1
+                && end.getDayOfMonth() == end.lengthOfMonth() && !end.isBefore(start);
+        if (wholeMonths) {
+            for (int year = start.getYear(); year <= end.getYear(); year++) {
+                StatsCache.refresh(db, query.walletId, year);
+            }
+            categoryTotals = db.statsCacheDao().getExpensesByCategory(query.walletId,
+                    start.getYear(), end.getYear(), monthIndex(start), monthIndex(end));
+        } else {
+            // khoảng ngày lẻ: đọc từ bảng rollup theo ngày
+            categoryTotals = db.dailyCategoryTotalDao()
+                    .getExpensesByCategory(query.userId, query.walletId,
+                            start.toEpochDay(), end.toEpochDay());
+        }
+
+        // Dữ liệu cho BarChart - wallet-specific
+        StatsCache.refresh(db, query.walletId, query.year);
+        List<MonthTotal> monthlyTotals = db.statsCacheDao().getMonthlyExpenses(query.walletId, query.year);
+
+        return new State(categoryTotals, monthlyTotals);
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.mymoney.chatbot;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link LocalIntentParser} on a labelled corpus of Vietnamese and English questions: accuracy,
+ * accuracy of the answers confident enough to skip the backend /parse, and p50/p95 latency.
+ * An intent counts as correct when time range (type, month/year/days as relevant), query type
+ * and category all match the label.
+ */
+public class LocalIntentParserTest {
+
+    // Default categories created by AppDatabase
+    private static final List<String> CATEGORY_NAMES = Arrays.asList("Food", "Home", "Transport",
+            "Relationship", "Entertainment", "Medical", "Tax", "Gym & Fitness", "Beauty", "Clothing",
+            "Education", "Childcare", "Groceries", "Others", "Salary", "Business", "Gifts");
+
+    private static final int WARM_UP_RUNS = 20;
+
+    private final LocalIntentParser parser = new LocalIntentParser();
+
+    private static final class Sample {
+        final String question;
+        final QueryIntent expected;
+
+        Sample(String question, QueryIntent expected) {
+            this.question = question;
+            this.expected = expected;
+        }
+    }
+
+    @Test
+    public void corpus_accuracyAndLatency() {
+        List<Sample> corpus = corpus(LocalDate.now());
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            for (Sample sample : corpus) parser.parse(sample.question, CATEGORY_NAMES);
+        }
+
+        int correct = 0, confident = 0, confidentCorrect = 0;
+        List<String> confidentMistakes = new ArrayList<>();
+        double[] elapsedMs = new double[corpus.size()];
+        for (int i = 0; i < corpus.size(); i++) {
+            Sample sample = corpus.get(i);
+            long start = System.nanoTime();
+            LocalIntentParser.Result result = parser.parse(sample.question, CATEGORY_NAMES);
+            elapsedMs[i] = (System.nanoTime() - start) / 1e6;
+
+            boolean ok = matches(sample.expected, result.intent);
+            if (ok) correct++;
+            if (result.confidence >= LocalIntentParser.CONFIDENT) {
+                confident++;
+                if (ok) {
+                    confidentCorrect++;
+                } else {
+                    confidentMistakes.add("\"" + sample.question + "\" expected " + describe(sample.expected)
+                            + ", got " + describe(result.intent));
+                }
+            }
+        }
+
+        Arrays.sort(elapsedMs);
+        int n = corpus.size();
+        String stats = String.format(Locale.ROOT,
+                "%d/%d correct, %d confident (%d correct), p50 %.3f ms, p95 %.3f ms",
+                correct, n, confident, confidentCorrect, percentile(elapsedMs, 50), percentile(elapsedMs, 95));
+
+        // A confident answer skips /parse, so it must be right
+        assertEquals(stats + "\n" + String.join("\n", confidentMistakes), confident, confidentCorrect);
+        assertTrue("accuracy: " + stats, correct >= n * 0.9);
+        assertTrue("confident: " + stats, confident >= n * 0.8);
+        assertTrue("latency: " + stats, percentile(elapsedMs, 95) < 5);
+    }
+
+    @Test
+    public void parse_amountIsNotAYear() {
+        QueryIntent intent = parser.parse("tiêu 2000 cho ăn uống", CATEGORY_NAMES).intent;
+
+        assertEquals(QueryIntent.TimeRangeType.CURRENT_MONTH, intent.getTimeRangeType());
+        assertEquals(QueryIntent.QueryType.SPENDING, intent.getQueryType());
+        assertEquals("Food", intent.getCategoryName());
+    }
+
+    @Test
+    public void parse_yearNeedsYearWordOrMonth() {
+        assertYear(2024, parser.parse("Lương năm 2024", CATEGORY_NAMES).intent);
+        assertYear(2023, parser.parse("spending in 2023", CATEGORY_NAMES).intent);
+        assertYear(2022, parser.parse("income for the year 2022", CATEGORY_NAMES).intent);
+
+        QueryIntent month = parser.parse("ăn uống tháng 10/2024", CATEGORY_NAMES).intent;
+        assertEquals(QueryIntent.TimeRangeType.SPECIFIC_MONTH, month.getTimeRangeType());
+        assertEquals(10, month.getMonth());
+        assertEquals(2024, month.getYear());
+
+        QueryIntent amount = parser.parse("chi 1500 tiền xăng", CATEGORY_NAMES).intent;
+        assertEquals(QueryIntent.TimeRangeType.CURRENT_MONTH, amount.getTimeRangeType());
+    }
+
+    @Test
+    public void parse_customCategoryName() {
+        List<String> names = new ArrayList<>(CATEGORY_NAMES);
+        names.add("Trà sữa");
+
+        QueryIntent intent = parser.parse("Tôi tiêu bao nhiêu cho tra sua?", names).intent;
+        assertEquals("Trà sữa", intent.getCategoryName());
+        assertNull(parser.parse("Tôi tiêu bao nhiêu cho trà sữa?", Collections.emptyList()).intent.getCategoryName());
+    }
+
+    private static void assertYear(int year, QueryIntent intent) {
+        assertEquals(QueryIntent.TimeRangeType.YEAR, intent.getTimeRangeType());
+        assertEquals(year, intent.getYear());
+    }
+
+    private static boolean matches(QueryIntent expected, QueryIntent actual) {
+        if (expected.getTimeRangeType() != actual.getTimeRangeType()) return false;
+        switch (expected.getTimeRangeType()) {
+            case SPECIFIC_MONTH:
+                if (expected.getMonth() != actual.getMonth() || expected.getYear() != actual.getYear()) return false;
+                break;
+            case YEAR:
+                if (expected.getYear() != actual.getYear()) return false;
+                break;
+            case LAST_N_DAYS:
+                if (expected.getDays() != actual.getDays()) return false;
+                break;
+            default:
+                break;
+        }
+        if (expected.getQueryType() != actual.getQueryType()) return false;
+        String expectedCategory = expected.getCategoryName();
+        String actualCategory = actual.getCategoryName();
+        return expectedCategory == null ? actualCategory == null
+                : actualCategory != null && expectedCategory.equalsIgnoreCase(actualCategory);
+    }
+
+    private static String describe(QueryIntent intent) {
+        return intent.getTimeRangeType() + "(" + intent.getMonth() + "/" + intent.getYear() + "/" + intent.getDays()
+                + ") " + intent.getQueryType() + " " + Objects.toString(intent.getCategoryName(), "-");
+    }
+
+    private static double percentile(double[] sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // ─── Corpus ───────────────────────────────────────────────
+
+    private static List<Sample> corpus(LocalDate today) {
+        LocalDate lastMonth = today.minusMonths(1);
+        int year = today.getYear();
+        List<Sample> c = new ArrayList<>();
+
+        // Vietnamese
+        c.add(currentMonth("Tháng này tiêu bao nhiêu", QueryIntent.QueryType.SPENDING, null));
+        c.add(currentMonth("tháng này tôi đã chi tiêu bao nhiêu tiền?", QueryIntent.QueryType.SPENDING, null));
+        c.add(currentMonth("Tháng này ăn uống hết bao nhiêu", QueryIntent.QueryType.SPENDING, "Food"));
+        c.add(currentMonth("thu nhập tháng này", QueryIntent.QueryType.INCOME, null));
+        c.add(month("Tháng trước tiêu bao nhiêu", lastMonth.getMonthValue(), lastMonth.getYear(), QueryIntent.QueryType.SPENDING, null));
+        c.add(month("Chi tiêu di chuyển tháng trước", lastMonth.getMonthValue(), lastMonth.getYear(), QueryIntent.QueryType.SPENDING, "Transport"));
+        c.add(month("tháng 3 tiêu bao nhiêu", 3, year, QueryIntent.QueryType.SPENDING, null));
+        c.add(month("Chi tiêu tháng 10/2024", 10, 2024, QueryIntent.QueryType.SPENDING, null));
+        c.add(month("tiền thuê nhà tháng 5 năm 2025", 5, 2025, QueryIntent.QueryType.SPENDING, "Home"));
+        c.add(days("7 ngày qua tôi tiêu bao nhiêu", 7, QueryIntent.QueryType.SPENDING, null));
+        c.add(days("Chi tiêu ăn uống 30 ngày gần đây", 30, QueryIntent.QueryType.SPENDING, "Food"));
+        c.add(days("tuần này chi tiêu thế nào", 7, QueryIntent.QueryType.SPENDING, null));
+        c.add(year("Năm nay thu nhập bao nhiêu", year, QueryIntent.QueryType.INCOME, null));
+        c.add(year("Năm ngoái tiêu bao nhiêu cho quần áo", year - 1, QueryIntent.QueryType.SPENDING, "Clothing"));
+        c.add(year("Lương năm 2024", 2024, QueryIntent.QueryType.INCOME, "Salary"));
+        c.add(allTime("Tổng chi tiêu từ trước đến nay", QueryIntent.QueryType.SPENDING, null));
+        c.add(currentMonth("Tháng này tôi tiêu nhiều nhất vào danh mục nào", QueryIntent.QueryType.CATEGORY_LIST, null));
+        c.add(currentMonth("So sánh chi tiêu tháng này với tháng trước", QueryIntent.QueryType.COMPARISON, null));
+        c.add(currentMonth("Chi tiêu trung bình mỗi tháng", QueryIntent.QueryType.TREND, null));
+        c.add(currentMonth("Cho tôi lời khuyên tiết kiệm", QueryIntent.QueryType.GENERAL, null));
+        c.add(currentMonth("tiêu 2000 cho ăn uống", QueryIntent.QueryType.SPENDING, "Food"));
+
+        // English
+        c.add(currentMonth("How much did I spend this month?", QueryIntent.QueryType.SPENDING, null));
+        c.add(currentMonth("food spending this month", QueryIntent.QueryType.SPENDING, "Food"));
+        c.add(month("What was my income last month", lastMonth.getMonthValue(), lastMonth.getYear(), QueryIntent.QueryType.INCOME, null));
+        c.add(month("spending in March 2025", 3, 2025, QueryIntent.QueryType.SPENDING, null));
+        c.add(days("How much did I spend in the last 14 days", 14, QueryIntent.QueryType.SPENDING, null));
+        c.add(days("transport costs this week", 7, QueryIntent.QueryType.SPENDING, "Transport"));
+        c.add(year("How much did I earn this year", year, QueryIntent.QueryType.INCOME, null));
+        c.add(year("spending in 2023", 2023, QueryIntent.QueryType.SPENDING, null));
+        c.add(allTime("total spending of all time", QueryIntent.QueryType.SPENDING, null));
+        c.add(currentMonth("Which categories did I spend the most on?", QueryIntent.QueryType.CATEGORY_LIST, null));
+        c.add(currentMonth("Give me some tips to save money", QueryIntent.QueryType.GENERAL, null));
+        return c;
+    }
+
+    private static Sample currentMonth(String q, QueryIntent.QueryType type, String category) {
+        return label(q, QueryIntent.TimeRangeType.CURRENT_MONTH, 0, 0, 0, type, category);
+    }
+
+    private static Sample month(String q, int month, int year, QueryIntent.QueryType type, String category) {
+        return label(q, QueryIntent.TimeRangeType.SPECIFIC_MONTH, month, year, 0, type, category);
+    }
+
+    private static Sample year(String q, int year, QueryIntent.QueryType type, String category) {
+        return label(q, QueryIntent.TimeRangeType.YEAR, 0, year, 0, type, category);
+    }
+
+    private static Sample days(String q, int days, QueryIntent.QueryType type, String category) {
+        return label(q, QueryIntent.TimeRangeType.LAST_N_DAYS, 0, 0, days, type, category);
+    }
+
+    private static Sample allTime(String q, QueryIntent.QueryType type, String category) {
+        return label(q, QueryIntent.TimeRangeType.ALL_TIME, 0, 0, 0, type, category);
+    }
+
+    private static Sample label(String q, QueryIntent.TimeRangeType range, int month, int year, int days,
+                                QueryIntent.QueryType type, String category) {
+        QueryIntent expected = new QueryIntent();
+        expected.setTimeRangeType(range);
+        expected.setMonth(month);
+        expected.setYear(year);
+        expected.setDays(days);
+        expected.setQueryType(type);
+        expected.setCategoryName(category);
+        return new Sample(q, expected);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.mymoney.database;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs EXPLAIN QUERY PLAN on every {@code @Query} of TransactionDao against the latest exported
+ * schema (plain SQLite over JDBC) and fails when one reads the whole `transaction` table instead
+ * of searching an index.
+ * <p>
+ * The queries are read from the DAO source, so a new query is covered without touching this test.
+ * Queries that have to visit every row on purpose are listed in {@link #FULL_SCAN_ALLOWED}.
+ */
+@RunWith(Parameterized.class)
+public class TransactionDaoQueryPlanTest {
+
+    private static final String SCHEMA = "schemas/com.example.mymoney.database.AppDatabase/21.json";
+    private static final String DAO_SOURCE = "src/main/java/com/example/mymoney/database/dao/TransactionDao.java";
+
+    /** Method signature -> why a full scan is expected. */
+    private static final Map<String, String> FULL_SCAN_ALLOWED = new HashMap<>();
+
+    static {
+        FULL_SCAN_ALLOWED.put("getAllTransactions()", "reads every row by definition");
+        FULL_SCAN_ALLOWED.put("getRecentTransactions(int)", "newest rows of all wallets; stops after LIMIT");
+        FULL_SCAN_ALLOWED.put("getRecurringTransactions()", "is_recurring is not indexed; read once per app start");
+        FULL_SCAN_ALLOWED.put("getTransactionsByDateRange(long, long)", "date range over every user and wallet");
+    }
+
+    private static final Pattern QUERY_ANNOTATION = Pattern.compile("@Query\\s*\\(");
+    private static final Pattern METHOD = Pattern.compile("(\\w+)\\s*\\(([^)]*)\\)");
+    private static final Pattern PARAMETER_NAME = Pattern.compile("\\s+\\w+\\s*(?=,|$)");
+    private static final Pattern BIND_PARAMETER = Pattern.compile(":[A-Za-z_]\\w*");
+    private static final Pattern TABLE_ALIAS = Pattern.compile("`transaction`\\s+(?:AS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> NOT_AN_ALIAS = new HashSet<>(java.util.Arrays.asList(
+            "WHERE", "ORDER", "GROUP", "JOIN", "LEFT", "INNER", "ON", "LIMIT", "SET", "HAVING"));
+
+    private static Connection connection;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> queries() throws IOException {
+        String source = new String(Files.readAllBytes(moduleFile(DAO_SOURCE).toPath()), StandardCharsets.UTF_8);
+        List<Object[]> queries = new ArrayList<>();
+        Matcher annotation = QUERY_ANNOTATION.matcher(source);
+        while (annotation.find()) {
+            int[] end = new int[1];
+            String sql = readStringLiterals(source, annotation.end(), end);
+            Matcher method = METHOD.matcher(source);
+            if (!method.find(end[0])) throw new IllegalStateException("No method after @Query at " + annotation.start());
+            // "getRecentTransactions(int limit)" -> "getRecentTransactions(int)", so overloads stay apart
+            String signature = method.group(1) + "("
+                    + PARAMETER_NAME.matcher(method.group(2).trim()).replaceAll("").replaceAll(",\\s*", ", ") + ")";
+            queries.add(new Object[]{signature, sql});
+        }
+        return queries;
+    }
+
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        JsonObject database = JsonParser.parseString(new String(
+                Files.readAllBytes(moduleFile(SCHEMA).toPath()), StandardCharsets.UTF_8))
+                .getAsJsonObject().getAsJsonObject("database");
+        try (Statement statement = connection.createStatement()) {
+            for (JsonElement element : database.getAsJsonArray("entities")) {
+                JsonObject entity = element.getAsJsonObject();
+                String table = entity.get("tableName").getAsString();
+                statement.execute(entity.get("createSql").getAsString().replace("${TABLE_NAME}", table));
+                for (JsonElement index : entity.getAsJsonArray("indices")) {
+                    statement.execute(index.getAsJsonObject().get("createSql").getAsString()
+                            .replace("${INDEX_NAME}", index.getAsJsonObject().get("name").getAsString())
+                            .replace("${TABLE_NAME}", table));
+                }
+            }
+        }
+    }
+
+    @AfterClass
+    public static void close() throws SQLException {
+        if (connection != null) connection.close();
+    }
+
+    private final String method;
+    private final String sql;
+
+    public TransactionDaoQueryPlanTest(String method, String sql) {
+        this.method = method;
+        this.sql = sql;
+    }
+
+    @Test
+    public void doesNotScanTransactionTable() throws SQLException {
+        Set<String> names = transactionTableNames(sql);
+        List<String> plan = new ArrayList<>();
+        boolean fullScan = false;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "EXPLAIN QUERY PLAN " + BIND_PARAMETER.matcher(sql).replaceAll("?"));
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                String detail = rows.getString("detail");
+                plan.add(detail);
+                String[] words = detail.split(" ");
+                if (words.length >= 2 && words[0].equals("SCAN")
+                        && names.contains(words[1].replace("`", "").toLowerCase(Locale.ROOT))) {
+                    fullScan = true;
+                }
+            }
+        }
+
+        String allowed = FULL_SCAN_ALLOWED.get(method);
+        if (allowed != null) {
+            assertTrue(method + " is allowed a full scan but no longer needs one; drop it from FULL_SCAN_ALLOWED",
+                    fullScan);
+        } else if (fullScan) {
+            fail(method + " scans `transaction`:\n  " + sql + "\nplan:\n  " + String.join("\n  ", plan));
+        }
+    }
+
+    /** `transaction` plus every alias the query gives it, lower case. */
+    private static Set<String> transactionTableNames(String sql) {
+        Set<String> names = new HashSet<>();
+        names.add("transaction");
+        Matcher alias = TABLE_ALIAS.matcher(sql);
+        while (alias.find()) {
+            if (!NOT_AN_ALIAS.contains(alias.group(1).toUpperCase(Locale.ROOT))) {
+                names.add(alias.group(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+
+    /** Concatenates the string literals from {@code start} to the annotation's closing parenthesis. */
+    private static String readStringLiterals(String source, int start, int[] end) {
+        StringBuilder sql = new StringBuilder();
+        int depth = 1;
+        int i = start;
+        while (depth > 0) {
+            char c = source.charAt(i++);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '"') {
+                while ((c = source.charAt(i++)) != '"') {
+                    if (c == '\\') {
+                        char escaped = source.charAt(i++);
+                        sql.append(escaped == 'n' ? '\n' : escaped == 't' ? '\t' : escaped);
+                    } else {
+                        sql.append(c);
+                    }
+                }
+            }
+        }
+        end[0] = i;
+        return sql.toString();
+    }
+
+    /** Unit tests run from the module directory; IDEs sometimes use the project root. */
+    private static File moduleFile(String path) {
+        File file = new File(path);
+        return file.exists() ? file : new File("app", path);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.mymoney.paging;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PageListTest {
+
+    @Test
+    public void plus_appendsPagesInOrder() {
+        PageList<Integer> list = PageList.<Integer>empty()
+                .plus(Arrays.asList(0, 1, 2))
+                .plus(Collections.singletonList(3))
+                .plus(Arrays.asList(4, 5));
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), list);
+        assertEquals(3, list.pageCount());
+        for (int i = 0; i < list.size(); i++) assertEquals(i, (int) list.get(i));
+    }
+
+    @Test
+    public void plus_leavesEarlierSnapshotUnchanged() {
+        PageList<Integer> first = PageList.<Integer>empty().plus(Arrays.asList(1, 2));
+        PageList<Integer> second = first.plus(Arrays.asList(3, 4));
+
+        assertNotSame(first, second);
+        assertEquals(Arrays.asList(1, 2), first);
+        assertEquals(Arrays.asList(1, 2, 3, 4), second);
+    }
+
+    @Test
+    public void plus_emptyPageKeepsInstance() {
+        PageList<Integer> list = PageList.<Integer>empty().plus(Arrays.asList(1, 2));
+
+        assertSame(list, list.plus(Collections.emptyList()));
+        assertTrue(PageList.empty().isEmpty());
+    }
+
+    @Test
+    public void get_manyPages() {
+        PageList<Integer> list = PageList.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int page = 0; page < 200; page++) {
+            List<Integer> rows = new ArrayList<>();
+            for (int i = 0; i < 1 + page % 50; i++) rows.add(expected.size() + i);
+            expected.addAll(rows);
+            list = list.plus(rows);
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void plusFirst_prependsPage() {
+        PageList<Integer> list = PageList.<Integer>empty()
+                .plus(Arrays.asList(3, 4))
+                .plusFirst(Arrays.asList(0, 1, 2));
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), list);
+        assertEquals(2, list.pageCount());
+        assertEquals(3, (int) list.get(3));
+    }
+
+    @Test
+    public void minusFirstAndLast_slideWindow() {
+        PageList<Integer> list = PageList.<Integer>empty()
+                .plus(Arrays.asList(0, 1, 2))
+                .plus(Arrays.asList(3, 4))
+                .plus(Arrays.asList(5, 6, 7));
+
+        PageList<Integer> down = list.minusFirst();
+        assertEquals(Arrays.asList(3, 4, 5, 6, 7), down);
+        assertEquals(5, (int) down.get(2));
+
+        PageList<Integer> up = list.minusLast();
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), up);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), list);
+
+        assertEquals(Arrays.asList(3, 4), down.minusLast());
+        assertTrue(up.minusFirst().minusFirst().isEmpty());
+        assertSame(PageList.empty(), PageList.empty().minusFirst());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_outOfRange() {
+        PageList.<Integer>empty().plus(Arrays.asList(1, 2)).get(2);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.mymoney.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HttpClientsTest {
+
+    private final HttpClients httpClients = HttpClients.getInstance();
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void client_sameTimeoutsReuseClient_otherTimeoutsSharePoolAndDispatcher() {
+        OkHttpClient a = httpClients.client(new HttpClients.Timeouts(5, 10, 10, 20));
+        OkHttpClient b = httpClients.client(new HttpClients.Timeouts(5, 10, 10, 20));
+        OkHttpClient c = httpClients.client(new HttpClients.Timeouts(5, 60, 10, 90));
+
+        assertSame(a, b);
+        assertNotSame(a, c);
+        assertSame(a.connectionPool(), c.connectionPool());
+        assertSame(a.dispatcher(), c.dispatcher());
+        assertEquals(10_000, a.readTimeoutMillis());
+        assertEquals(60_000, c.readTimeoutMillis());
+        assertEquals(90_000, c.callTimeoutMillis());
+    }
+
+    @Test
+    public void client_readTimeoutFailsSilentServer() throws IOException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        OkHttpClient client = httpClients.client(new HttpClients.Timeouts(5, 1, 5, 0));
+
+        long start = System.nanoTime();
+        try {
+            client.newCall(get("/read-timeout")).execute().close();
+            fail("expected a read timeout");
+        } catch (SocketTimeoutException expected) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3_000);
+        }
+    }
+
+    @Test
+    public void client_callTimeoutBoundsWholeCall() throws IOException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        // No read limit: only the call timeout can end this call
+        OkHttpClient client = httpClients.client(new HttpClients.Timeouts(5, 0, 5, 1));
+
+        long start = System.nanoTime();
+        try {
+            client.newCall(get("/call-timeout")).execute().close();
+            fail("expected a call timeout");
+        } catch (InterruptedIOException expected) {
+            assertEquals("timeout", expected.getMessage());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3_000);
+        }
+    }
+
+    @Test
+    public void client_requestsAndDecodesGzip() throws Exception {
+        String json = "{\"reply\":\"" + repeat("Chi tiêu tháng này ", 200) + "\"}";
+        Buffer gzipped = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(gzipped))) {
+            sink.writeUtf8(json);
+        }
+        long compressedSize = gzipped.size();
+        server.enqueue(new MockResponse().addHeader("Content-Encoding", "gzip").setBody(gzipped));
+
+        OkHttpClient client = httpClients.client(new HttpClients.Timeouts(5, 5, 5, 10));
+        try (Response response = client.newCall(get("/gzip")).execute()) {
+            assertEquals(json, response.body().string());
+            // Decoded transparently: the encoding header is gone from what the caller sees
+            assertNull(response.header("Content-Encoding"));
+        }
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("gzip", request.getHeader("Accept-Encoding"));
+        assertTrue(compressedSize < json.getBytes(StandardCharsets.UTF_8).length / 4);
+    }
+
+    @Test
+    public void getStats_recordsCallsMadeThroughSharedClient() throws IOException {
+        server.enqueue(new MockResponse().setBody("ok"));
+        OkHttpClient client = httpClients.client(new HttpClients.Timeouts(5, 5, 5, 10));
+        try (Response response = client.newCall(get("/stats-probe")).execute()) {
+            assertEquals("ok", response.body().string());
+        }
+
+        assertTrue(httpClients.getStats(), httpClients.getStats().contains("GET /stats-probe: n=1 err=0"));
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) sb.append(text);
+        return sb.toString();
+    }
+}
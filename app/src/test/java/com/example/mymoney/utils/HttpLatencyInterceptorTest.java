@@ -0,0 +1,88 @@
+package com.example.mymoney.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HttpLatencyInterceptorTest {
+
+    private final HttpLatencyInterceptor interceptor = new HttpLatencyInterceptor();
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void getStats_bucketsLatencyPerEndpoint() throws IOException {
+        server.enqueue(new MockResponse().setBody("fast"));
+        server.enqueue(new MockResponse().setBody("fast"));
+        server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("{}"));
+        for (int i = 0; i < 3; i++) execute(new Request.Builder().url(server.url("/parse?q=" + i)).build());
+        execute(new Request.Builder().url(server.url("/generate"))
+                .post(RequestBody.create(MediaType.get("application/json"), "{}")).build());
+
+        String[] lines = interceptor.getStats().split("\n");
+        assertEquals(2, lines.length);
+        // Sorted by endpoint; the query string is not part of it
+        assertTrue(lines[0], lines[0].startsWith("GET /parse: n=3 err=0 "));
+        assertTrue(lines[0], lines[0].endsWith("[≤100:2 ≤250:0 ≤500:1 ≤1000:0 ≤2500:0 ≤5000:0 ≤10000:0 ≤30000:0 >30000:0]"));
+        assertTrue(lines[0], maxMs(lines[0]) >= 300);
+        assertTrue(lines[1], lines[1].startsWith("POST /generate: n=1 err=0 "));
+    }
+
+    @Test
+    public void getStats_countsErrorResponsesAndIoFailures() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        execute(new Request.Builder().url(server.url("/ocr")).build());
+        try {
+            execute(new Request.Builder().url(server.url("/ocr")).build());
+            fail("expected the dropped connection to fail the call");
+        } catch (IOException expected) {
+            // recorded as a failed sample
+        }
+
+        assertTrue(interceptor.getStats(), interceptor.getStats().startsWith("GET /ocr: n=2 err=2 "));
+    }
+
+    private void execute(Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            response.body().string();
+        }
+    }
+
+    private static long maxMs(String line) {
+        int start = line.indexOf("max=") + 4;
+        return Long.parseLong(line.substring(start, line.indexOf(' ', start)));
+    }
+}